@@ -0,0 +1,99 @@
+package com.ug.codec;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCode;
+import com.ug.response.ContentHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary and JSON encoding of a response output, its content hash, and the encoding of an error envelope.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar CodecBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+    private final Map<String, Object> output = Map.of(
+        "status", "success",
+        "code", 200,
+        "message", "success.response",
+        "data", Map.of(
+            "name", "Ulrich",
+            "address", Map.of("city", "Cotonou", "zip_code", "229"),
+            "roles", List.of("admin", "user")
+        )
+    );
+
+    private final BinaryCodec codec = new BinaryCodec(CodecDictionary.of(List.of("status", "code", "message", "data")));
+    private final BaseException error = new BadRequestContentException(ErrorCode.ILLEGAL_FIELDS, Map.of("unrequired_fields", List.of("field_3")));
+    private final JsonWriter writer = new JsonWriter(OutputStream.nullOutputStream());
+    private ByteBuffer encoded;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        this.encoded = this.codec.encode(this.output);
+        this.json = new String(JsonWriter.toBytes(this.output));
+    }
+
+    @Benchmark
+    public ByteBuffer binaryEncode() {
+        return this.codec.encode(this.output);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return this.codec.decode(this.encoded.duplicate());
+    }
+
+    @Benchmark
+    public byte[] jsonWrite() {
+        return JsonWriter.toBytes(this.output);
+    }
+
+    @Benchmark
+    public Object jsonRead() {
+        return JsonReader.parse(this.json);
+    }
+
+    @Benchmark
+    public void jsonWriteReused() {
+        this.writer.write(this.output).flush();
+    }
+
+    @Benchmark
+    public long contentHash() {
+        return ContentHash.of(this.output);
+    }
+
+    @Benchmark
+    public void errorFormatWrite() {
+        this.writer.write(this.error.format()).flush();
+    }
+
+    @Benchmark
+    public void errorEnvelope() {
+        ErrorEnvelope.write(this.writer, this.error).flush();
+    }
+}
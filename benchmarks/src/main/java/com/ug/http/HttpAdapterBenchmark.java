@@ -0,0 +1,113 @@
+package com.ug.http;
+
+import com.ug.loadtest.LatencyHistogram;
+import com.ug.request.Request;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local throughput benchmark of the HTTP adapter: closed-loop clients post a small JSON payload to an echo usecase.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.ug.http.HttpAdapterBenchmark [clients] [seconds]
+ * </pre>
+ */
+public class HttpAdapterBenchmark {
+    static class EchoRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("name", true, "address", Map.of("city", true, "zip_code", false), "roles", true);
+        }
+    }
+
+    static class EchoUsecase extends Usecase {
+        @Override
+        public void execute() {
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", this.getRequestData()));
+        }
+    }
+
+    private static final String PAYLOAD = "{\"name\":\"Ulrich\",\"address\":{\"city\":\"Cotonou\",\"zip_code\":\"229\"},\"roles\":[\"admin\",\"user\"]}";
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 10);
+        HttpAdapter.enableNoDelay();
+
+        try (HttpAdapter adapter = new HttpAdapter(new InetSocketAddress("127.0.0.1", 0))
+            .withRoute("POST", "/echo", EchoRequest::new, EchoUsecase::new)
+            .start()) {
+            URI uri = URI.create("http://127.0.0.1:" + adapter.getAddress().getPort() + "/echo");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            run(client, uri, clients, duration.dividedBy(5));
+            Result result = run(client, uri, clients, duration);
+            System.out.println(String.format(
+                Locale.ROOT,
+                "clients=%d requests=%d errors=%d throughput=%.0f/s p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+                clients,
+                result.latencies.getTotalCount(),
+                result.errors,
+                result.latencies.getTotalCount() / (duration.toNanos() / 1e9),
+                result.latencies.getValueAtPercentile(50) / 1e6,
+                result.latencies.getValueAtPercentile(99) / 1e6,
+                result.latencies.getValueAtPercentile(99.9) / 1e6,
+                result.latencies.getMaxValue() / 1e6
+            ));
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int clients, Duration duration) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                LatencyHistogram local = new LatencyHistogram();
+                HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(PAYLOAD)).build();
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    } catch (Exception error) {
+                        errors.increment();
+                    }
+                    local.record(System.nanoTime() - start);
+                }
+                synchronized (latencies) {
+                    latencies.add(local);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new Result(latencies, errors.sum());
+    }
+
+    private static final class Result {
+        private final LatencyHistogram latencies;
+        private final long errors;
+
+        private Result(LatencyHistogram latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+}
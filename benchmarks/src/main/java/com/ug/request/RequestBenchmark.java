@@ -0,0 +1,83 @@
+package com.ug.request;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.presenter.Presenter;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation, field access and response output, the per-request work of every usecase.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar RequestBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBenchmark {
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("name", true, "address", Map.of("city", true, "zip_code", false), "roles", true);
+        }
+    }
+
+    private final Map<String, Object> payload = Map.of(
+        "name", "Ulrich",
+        "address", Map.of("city", "Cotonou", "zip_code", "229"),
+        "roles", List.of("admin", "user")
+    );
+
+    private RequestInterface request;
+    private Response response;
+
+    @Setup
+    public void setUp() throws BadRequestContentException {
+        this.request = new CustomRequest().createFromPayload(this.payload);
+        this.response = Response.create(true, StatusCode.OK.getValue(), "success.response", this.request.toArray());
+    }
+
+    @Benchmark
+    public RequestInterface createFromPayload() throws BadRequestContentException {
+        return new CustomRequest().createFromPayload(this.payload);
+    }
+
+    @Benchmark
+    public Object get() {
+        return this.request.get("name");
+    }
+
+    @Benchmark
+    public Object getNested() {
+        return this.request.get("address.city");
+    }
+
+    @Benchmark
+    public Map<String, Object> output() {
+        return this.response.output();
+    }
+
+    @Benchmark
+    public Map<String, Object> present() {
+        Presenter presenter = new Presenter();
+        presenter.present(this.response);
+        return presenter.getFormattedResponse();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ug.response;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response data variants built from a common base, by copying {@link HashMap}s or with a {@link PersistentMap}.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ResponseDataBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseDataBenchmark {
+    private static final int STEPS = 16;
+
+    @Param({"16", "256"})
+    private int size;
+
+    private Map<String, Object> hashMap;
+    private PersistentMap<String, Object> persistentMap;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        this.hashMap = new HashMap<>();
+        for (int i = 0; i < this.size; i++) {
+            this.hashMap.put("field_" + i, "value_" + i);
+        }
+        this.hashMap.put("user", new HashMap<>(Map.of("name", "Ulrich", "address", new HashMap<>(Map.of("city", "Cotonou")))));
+        this.persistentMap = PersistentMap.<String, Object>empty().withPath("user.name", "Ulrich").withPath("user.address.city", "Cotonou");
+        for (int i = 0; i < this.size; i++) {
+            this.persistentMap = this.persistentMap.with("field_" + i, "value_" + i);
+        }
+        this.keys = new String[STEPS];
+        for (int i = 0; i < STEPS; i++) {
+            this.keys[i] = "step_" + i;
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> hashMapWith() {
+        Map<String, Object> variant = new HashMap<>(this.hashMap);
+        variant.put("total", 42);
+        return variant;
+    }
+
+    @Benchmark
+    public Map<String, Object> persistentMapWith() {
+        return this.persistentMap.with("total", 42);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> hashMapWithPath() {
+        Map<String, Object> variant = new HashMap<>(this.hashMap);
+        Map<String, Object> user = new HashMap<>((Map<String, Object>) variant.get("user"));
+        Map<String, Object> address = new HashMap<>((Map<String, Object>) user.get("address"));
+        address.put("city", "Porto-Novo");
+        user.put("address", address);
+        variant.put("user", user);
+        return variant;
+    }
+
+    @Benchmark
+    public Map<String, Object> persistentMapWithPath() {
+        return this.persistentMap.withPath("user.address.city", "Porto-Novo");
+    }
+
+    /**
+     * Incremental assembly keeping every intermediate version, as a usecase enriching its response step by step.
+     */
+    @Benchmark
+    public Map<String, Object> hashMapSteps() {
+        Map<String, Object> version = this.hashMap;
+        for (int i = 0; i < STEPS; i++) {
+            version = new HashMap<>(version);
+            version.put(this.keys[i], i);
+        }
+        return version;
+    }
+
+    @Benchmark
+    public Map<String, Object> persistentMapSteps() {
+        PersistentMap<String, Object> version = this.persistentMap;
+        for (int i = 0; i < STEPS; i++) {
+            version = version.with(this.keys[i], i);
+        }
+        return version;
+    }
+
+    @Benchmark
+    public Object hashMapGet() {
+        return this.hashMap.get("field_7");
+    }
+
+    @Benchmark
+    public Object persistentMapGet() {
+        return this.persistentMap.get("field_7");
+    }
+}
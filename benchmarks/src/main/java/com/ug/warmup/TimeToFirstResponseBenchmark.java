@@ -0,0 +1,166 @@
+package com.ug.warmup;
+
+import com.ug.codec.JsonWriter;
+import com.ug.loadtest.PayloadSource;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.schema.RequestField;
+import com.ug.schema.RequestSchema;
+import com.ug.usecase.Usecase;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Time-to-first-response of fresh JVMs, cold or warmed up in-process, with or without a CDS archive
+ * produced by a {@link TrainingRun}. Each child JVM handles one request then exits; the time to first response is
+ * measured from process spawn to its response line, the first request latency inside the child.
+ * Class directories are packaged into temporary jars first, as CDS only archives classes loaded from jars.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.ug.warmup.TimeToFirstResponseBenchmark [runs]
+ * </pre>
+ */
+public class TimeToFirstResponseBenchmark {
+    @RequestSchema({
+        @RequestField(name = "name"),
+        @RequestField(name = "address.city"),
+        @RequestField(name = "address.zip_code", required = false),
+        @RequestField(name = "roles")
+    })
+    public static class EchoRequest extends Request {}
+
+    public static class EchoUsecase extends Usecase {
+        @Override
+        public void execute() {
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", this.getRequestData()));
+        }
+    }
+
+    public static class EchoWarmupProvider implements WarmupProvider {
+        @Override
+        public void configure(Warmup warmup) {
+            warmup.withUsecase(EchoRequest::new, EchoUsecase::new, PayloadSource.cycle(List.of(
+                payload(),
+                Map.of("name", "Ulrich", "address", Map.of("zip_code", "229"))
+            )));
+        }
+    }
+
+    private static Map<String, Object> payload() {
+        return Map.of("name", "Ulrich", "address", Map.of("city", "Cotonou", "zip_code", "229"), "roles", List.of("admin"));
+    }
+
+    private static String classPath = System.getProperty("java.class.path");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("child")) {
+            child(args.length > 1 && args[1].equals("warmup"));
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path workDirectory = Files.createTempDirectory("ttfr");
+        classPath = jarClassPath(workDirectory);
+        Path archive = workDirectory.resolve("app.jsa");
+        spawn(List.of("-XX:ArchiveClassesAtExit=" + archive), TrainingRun.class.getName(), EchoWarmupProvider.class.getName());
+
+        measure("cold", runs, List.of(), false);
+        measure("warmup", runs, List.of(), true);
+        measure("cds", runs, List.of("-XX:SharedArchiveFile=" + archive), false);
+        measure("cds+warmup", runs, List.of("-XX:SharedArchiveFile=" + archive), true);
+
+        try (Stream<Path> files = Files.list(workDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(workDirectory);
+    }
+
+    private static String jarClassPath(Path workDirectory) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+                continue;
+            }
+            Path jar = workDirectory.resolve(entries.size() + ".jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar)); Stream<Path> files = Files.walk(path)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    out.putNextEntry(new JarEntry(path.relativize(file).toString().replace(File.separatorChar, '/')));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            entries.add(jar.toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void child(boolean warmup) throws Exception {
+        if (warmup) {
+            Warmup instance = new Warmup();
+            new EchoWarmupProvider().configure(instance);
+            instance.run();
+        }
+        long start = System.nanoTime();
+        Presenter presenter = new Presenter();
+        new EchoUsecase().withRequest(new EchoRequest().createFromPayload(payload())).withPresenter(presenter).execute();
+        byte[] body = JsonWriter.toBytes(presenter.getFormattedResponse());
+        long latency = System.nanoTime() - start;
+        System.out.write(body);
+        System.out.println();
+        System.out.println(latency);
+        System.out.flush();
+    }
+
+    private static void measure(String name, int runs, List<String> jvmOptions, boolean warmup) throws Exception {
+        long[] ttfr = new long[runs];
+        long[] latency = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            List<String> lines = spawn(jvmOptions, TimeToFirstResponseBenchmark.class.getName(), "child", warmup ? "warmup" : "cold");
+            ttfr[i] = System.nanoTime() - start;
+            latency[i] = Long.parseLong(lines.get(1).trim());
+        }
+        Arrays.sort(ttfr);
+        Arrays.sort(latency);
+        System.out.printf(Locale.ROOT, "%-11s time-to-first-response p50=%.1fms  first request p50=%.2fms%n",
+            name, ttfr[runs / 2] / 1e6, latency[runs / 2] / 1e6);
+    }
+
+    private static List<String> spawn(List<String> jvmOptions, String... mainAndArgs) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-Xshare:auto");
+        command.add("-cp");
+        command.add(classPath);
+        command.addAll(Arrays.asList(mainAndArgs));
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Child JVM failed: " + command);
+        }
+        return lines;
+    }
+}
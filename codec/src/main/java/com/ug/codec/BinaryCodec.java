@@ -0,0 +1,361 @@
+package com.ug.codec;
+
+import com.ug.response.LazyValue;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format for the nested map/list/scalar values produced by
+ * {@link com.ug.request.RequestInterface#toArray()} and {@link ResponseInterface#output()}.
+ * <p>
+ * Every value is a one byte tag followed by its content: integers are zigzag varints, strings and byte arrays are
+ * length-prefixed UTF-8/raw bytes, maps and lists are count-prefixed. Map keys found into the {@link CodecDictionary}
+ * are written as their index. Arrays and iterables are decoded as lists, bytes and shorts as integers.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class BinaryCodec {
+    public static final byte FORMAT_VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte FLOAT = 6;
+    static final byte STRING = 7;
+    static final byte KEY = 8;
+    static final byte BYTES = 9;
+    static final byte MAP = 10;
+    static final byte LIST = 11;
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final CodecDictionary dictionary;
+
+    public BinaryCodec() {
+        this(CodecDictionary.EMPTY);
+    }
+
+    public BinaryCodec(CodecDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Encode the given value into a new heap buffer.
+     *
+     * @param value The value to encode.
+     * @return The buffer, flipped and ready to be read.
+     */
+    public ByteBuffer encode(Object value) {
+        Writer writer = new Writer(ByteBuffer.allocate(INITIAL_BUFFER_SIZE), true);
+        writer.buffer.put(FORMAT_VERSION);
+        writer.writeValue(value);
+        return writer.buffer.flip();
+    }
+
+    /**
+     * Encode the given value at the current position of the given buffer.
+     *
+     * @param value The value to encode.
+     * @param out The destination buffer.
+     * @throws BufferOverflowException If the buffer is too small.
+     */
+    public void encode(Object value, ByteBuffer out) {
+        Writer writer = new Writer(out, false);
+        writer.ensure(1);
+        out.put(FORMAT_VERSION);
+        writer.writeValue(value);
+    }
+
+    /**
+     * Decode a value from the current position of the given buffer.
+     * The buffer position is moved after the decoded value.
+     *
+     * @param in The source buffer.
+     * @return The decoded value.
+     * @throws CodecException If the buffer does not hold a valid value.
+     */
+    public Object decode(ByteBuffer in) {
+        try {
+            byte version = in.get();
+            if (version != FORMAT_VERSION) {
+                throw new CodecException("Unsupported format version " + version + ".");
+            }
+            return this.readValue(in);
+        } catch (BufferUnderflowException error) {
+            throw new CodecException("Truncated value.", error);
+        }
+    }
+
+    /**
+     * Encode a usecase response with its context, as returned by {@link ResponseInterface#output()}.
+     *
+     * @param response The response.
+     * @return The buffer, flipped and ready to be read.
+     */
+    public ByteBuffer encodeResponse(ResponseInterface response) {
+        return this.encode(response.output());
+    }
+
+    /**
+     * Decode a usecase response encoded with {@link #encodeResponse(ResponseInterface)}.
+     *
+     * @param in The source buffer.
+     * @return The response.
+     */
+    @SuppressWarnings("unchecked")
+    public Response decodeResponse(ByteBuffer in) {
+        Object value = this.decode(in);
+        if (!(value instanceof Map)) {
+            throw new CodecException("Encoded value is not a response.");
+        }
+        return Response.fromOutput((Map<String, Object>) value);
+    }
+
+    private Object readValue(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case NULL -> null;
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case INT -> zigzagDecode(readVarLong(in), true);
+            case LONG -> zigzagDecode(readVarLong(in), false);
+            case DOUBLE -> in.getDouble();
+            case FLOAT -> in.getFloat();
+            case STRING -> readString(in);
+            case KEY -> this.dictionary.keyAt(readLength(in));
+            case BYTES -> {
+                byte[] bytes = new byte[readLength(in)];
+                in.get(bytes);
+                yield bytes;
+            }
+            case MAP -> {
+                int size = readLength(in);
+                Map<String, Object> map = new HashMap<>((int) (size / 0.75f) + 1);
+                for (int i = 0; i < size; i++) {
+                    Object key = this.readValue(in);
+                    if (!(key instanceof String)) {
+                        throw new CodecException("Map keys must be strings.");
+                    }
+                    map.put((String) key, this.readValue(in));
+                }
+                yield map;
+            }
+            case LIST -> {
+                int size = readLength(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(this.readValue(in));
+                }
+                yield list;
+            }
+            default -> throw new CodecException("Unknown value tag " + tag + ".");
+        };
+    }
+
+    private static Object zigzagDecode(long value, boolean asInt) {
+        long decoded = (value >>> 1) ^ -(value & 1);
+        return asInt ? (Object) (int) decoded : (Object) decoded;
+    }
+
+    private static int readLength(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length < 0 || length > in.limit()) {
+            throw new CodecException("Invalid length " + length + ".");
+        }
+        return (int) length;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte current = in.get();
+            value |= (long) (current & 0x7F) << shift;
+            if (current >= 0) {
+                return value;
+            }
+        }
+        throw new CodecException("Malformed varint.");
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in);
+        if (length > in.remaining()) {
+            throw new CodecException("Truncated string.");
+        }
+        String value;
+        if (in.hasArray()) {
+            // Decode straight from the backing array, without intermediate copy.
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private final class Writer {
+        private ByteBuffer buffer;
+        private final boolean growable;
+
+        private Writer(ByteBuffer buffer, boolean growable) {
+            this.buffer = buffer;
+            this.growable = growable;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(Object value) {
+            value = LazyValue.resolve(value);
+            if (value == null) {
+                this.writeTag(NULL);
+            } else if (value instanceof String string) {
+                this.writeString(STRING, string);
+            } else if (value instanceof Boolean bool) {
+                this.writeTag(bool ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                this.writeTag(INT);
+                this.writeVarLong(zigzag(((Number) value).longValue()));
+            } else if (value instanceof Long longValue) {
+                this.writeTag(LONG);
+                this.writeVarLong(zigzag(longValue));
+            } else if (value instanceof Double doubleValue) {
+                this.ensure(9);
+                this.buffer.put(DOUBLE).putDouble(doubleValue);
+            } else if (value instanceof Float floatValue) {
+                this.ensure(5);
+                this.buffer.put(FLOAT).putFloat(floatValue);
+            } else if (value instanceof Character character) {
+                this.writeString(STRING, character.toString());
+            } else if (value instanceof Map<?, ?> map) {
+                this.writeTag(MAP);
+                this.writeVarLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!(entry.getKey() instanceof String key)) {
+                        throw new CodecException("Map keys must be strings.");
+                    }
+                    int index = dictionary.indexOf(key);
+                    if (index >= 0) {
+                        this.writeTag(KEY);
+                        this.writeVarLong(index);
+                    } else {
+                        this.writeString(STRING, key);
+                    }
+                    this.writeValue(entry.getValue());
+                }
+            } else if (value instanceof List<?> list) {
+                this.writeTag(LIST);
+                this.writeVarLong(list.size());
+                for (Object item : list) {
+                    this.writeValue(item);
+                }
+            } else if (value instanceof byte[] bytes) {
+                this.writeTag(BYTES);
+                this.writeVarLong(bytes.length);
+                this.ensure(bytes.length);
+                this.buffer.put(bytes);
+            } else if (value instanceof Object[] array) {
+                this.writeValue(Arrays.asList(array));
+            } else if (value instanceof Iterable<?> iterable) {
+                List<Object> items = new ArrayList<>();
+                iterable.forEach(items::add);
+                this.writeValue(items);
+            } else {
+                throw new CodecException("Unsupported value type " + value.getClass().getName() + ".");
+            }
+        }
+
+        private void writeTag(byte tag) {
+            this.ensure(1);
+            this.buffer.put(tag);
+        }
+
+        private void writeVarLong(long value) {
+            this.ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                this.buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.buffer.put((byte) value);
+        }
+
+        private void writeString(byte tag, String value) {
+            int length = value.length();
+            int encodedLength = utf8Length(value);
+            this.writeTag(tag);
+            this.writeVarLong(encodedLength);
+            this.ensure(encodedLength);
+            for (int i = 0; i < length; i++) {
+                char character = value.charAt(i);
+                if (character < 0x80) {
+                    this.buffer.put((byte) character);
+                } else if (character < 0x800) {
+                    this.buffer.put((byte) (0xC0 | (character >> 6)));
+                    this.buffer.put((byte) (0x80 | (character & 0x3F)));
+                } else if (Character.isHighSurrogate(character) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(character, value.charAt(++i));
+                    this.buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    this.buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    this.buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    this.buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else if (Character.isSurrogate(character)) {
+                    this.buffer.put((byte) '?');
+                } else {
+                    this.buffer.put((byte) (0xE0 | (character >> 12)));
+                    this.buffer.put((byte) (0x80 | ((character >> 6) & 0x3F)));
+                    this.buffer.put((byte) (0x80 | (character & 0x3F)));
+                }
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (this.buffer.remaining() >= bytes) {
+                return;
+            }
+            if (!this.growable) {
+                throw new BufferOverflowException();
+            }
+            int capacity = Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            this.buffer.flip();
+            grown.put(this.buffer);
+            this.buffer = grown;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int encodedLength = length;
+        for (int i = 0; i < length; i++) {
+            char character = value.charAt(i);
+            if (character >= 0x80) {
+                if (character < 0x800) {
+                    encodedLength += 1;
+                } else if (Character.isHighSurrogate(character) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    encodedLength += 2;
+                    i++;
+                } else if (!Character.isSurrogate(character)) {
+                    encodedLength += 2;
+                }
+            }
+        }
+        return encodedLength;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ug.codec;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Map keys known by both sides of a transport, encoded as a small index instead of their characters.
+ * Both sides must build the dictionary from the same keys, in the same order.
+ */
+public final class CodecDictionary {
+    public static final CodecDictionary EMPTY = new CodecDictionary(new String[0]);
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes;
+
+    private CodecDictionary(String[] keys) {
+        this.keys = keys;
+        this.indexes = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            this.indexes.put(keys[i], i);
+        }
+    }
+
+    /**
+     * Create a dictionary from the given keys.
+     *
+     * @param keys The dictionary keys, duplicates are ignored.
+     * @return The dictionary.
+     */
+    public static CodecDictionary of(Collection<String> keys) {
+        return new CodecDictionary(new LinkedHashSet<>(keys).stream().map(String::intern).toArray(String[]::new));
+    }
+
+    /**
+     * Create a dictionary from every key of a request schema, as returned by getRequestPossibleFields().
+     * Keys are sorted, so the dictionary does not depend on the schema map iteration order.
+     *
+     * @param possibleFields The request possible fields.
+     * @param extraKeys Other keys to add, e.g. the response output keys.
+     * @return The dictionary.
+     */
+    public static CodecDictionary fromPossibleFields(Map<String, Object> possibleFields, String... extraKeys) {
+        Set<String> keys = new TreeSet<>();
+        collectKeys(possibleFields, keys);
+        keys.addAll(List.of(extraKeys));
+        return of(keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectKeys(Map<String, Object> fields, Set<String> keys) {
+        for (Map.Entry<String, Object> entry : fields.entrySet()) {
+            keys.add(entry.getKey());
+            if (entry.getValue() instanceof Map) {
+                collectKeys((Map<String, Object>) entry.getValue(), keys);
+            }
+        }
+    }
+
+    /**
+     * Get the index of the given key.
+     *
+     * @param key The key.
+     * @return The key index, or -1 if the key is not into the dictionary.
+     */
+    public int indexOf(String key) {
+        Integer index = this.indexes.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get the key at the given index.
+     *
+     * @param index The key index.
+     * @return The key.
+     */
+    public String keyAt(int index) {
+        if (index < 0 || index >= this.keys.length) {
+            throw new CodecException("Unknown dictionary key index " + index + ".");
+        }
+        return this.keys[index];
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+}
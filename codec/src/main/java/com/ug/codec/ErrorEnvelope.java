@@ -0,0 +1,126 @@
+package com.ug.codec;
+
+import com.ug.enums.Status;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCodeInterface;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Write error responses as the JSON form of {@link BaseException#format()}:
+ * <pre>
+ * {"status":"error","error_code":400,"message":"illegal.fields","details":{...}}
+ * </pre>
+ * Everything before the details is encoded once per catalog entry and cached, so writing an error raised from the
+ * catalog only appends that prefix, then serializes its details. Catalog entries are enum constants: their prefixes are
+ * cached per enum class, so the cache is bounded by the declared constants and never retains a class loader. Other
+ * errors, including error codes which are not enum constants, have their prefix encoded on each write.
+ * Exceptions overriding {@link BaseException#format()} or {@link BaseException#getMessage()} are written as their
+ * formatted content instead.
+ */
+public final class ErrorEnvelope {
+    private static final byte[] STATUS = ("{\"status\":\"" + Status.ERROR.getValue() + "\",\"error_code\":").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGE = ",\"message\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DETAILS = ",\"details\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = {'}'};
+    private static final byte[] EMPTY_DETAILS = "{}}".getBytes(StandardCharsets.UTF_8);
+
+    private static final ClassValue<byte[][]> PREFIXES = new ClassValue<>() {
+        @Override
+        protected byte[][] computeValue(Class<?> type) {
+            Object[] constants = type.getEnumConstants();
+            byte[][] prefixes = new byte[constants.length][];
+            for (int i = 0; i < constants.length; i++) {
+                ErrorCodeInterface errorCode = (ErrorCodeInterface) constants[i];
+                prefixes[i] = encodePrefix(errorCode.getStatusCode().getValue(), errorCode.getMessage());
+            }
+            return prefixes;
+        }
+    };
+    private static final ClassValue<Boolean> STANDARD_FORMAT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("format").getDeclaringClass() == BaseException.class
+                    && type.getMethod("getMessage").getDeclaringClass() == BaseException.class;
+            } catch (NoSuchMethodException error) {
+                return false;
+            }
+        }
+    };
+
+    private ErrorEnvelope() {
+    }
+
+    /**
+     * Write the envelope of the given exception.
+     *
+     * @param writer The destination.
+     * @param error The exception.
+     * @return The writer.
+     */
+    public static JsonWriter write(JsonWriter writer, BaseException error) {
+        if (!STANDARD_FORMAT.get(error.getClass())) {
+            return writer.write(error.format());
+        }
+        ErrorCodeInterface errorCode = error.getErrorCode();
+        if (errorCode != null && errorCode.getStatusCode().getValue() == error.getStatusCode()) {
+            return write(writer, prefix(errorCode), error.getDetails());
+        }
+        return write(writer, encodePrefix(error.getStatusCode(), error.getMessage()), error.getDetails());
+    }
+
+    /**
+     * Write the envelope of the given catalog entry.
+     *
+     * @param writer The destination.
+     * @param errorCode The catalog entry.
+     * @param details The error details.
+     * @return The writer.
+     */
+    public static JsonWriter write(JsonWriter writer, ErrorCodeInterface errorCode, Map<String, Object> details) {
+        return write(writer, prefix(errorCode), details);
+    }
+
+    /**
+     * Encode the envelope of the given exception.
+     *
+     * @param error The exception.
+     * @return The UTF-8 JSON bytes.
+     */
+    public static byte[] toBytes(BaseException error) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(out);
+        write(writer, error).flush();
+        return out.toByteArray();
+    }
+
+    private static JsonWriter write(JsonWriter writer, byte[] prefix, Map<String, Object> details) {
+        writer.writeRaw(prefix);
+        if (details == null || details.isEmpty()) {
+            return writer.writeRaw(EMPTY_DETAILS);
+        }
+        return writer.write(details).writeRaw(END);
+    }
+
+    private static byte[] prefix(ErrorCodeInterface errorCode) {
+        if (errorCode instanceof Enum<?> constant) {
+            return PREFIXES.get(constant.getDeclaringClass())[constant.ordinal()];
+        }
+        return encodePrefix(errorCode.getStatusCode().getValue(), errorCode.getMessage());
+    }
+
+    private static byte[] encodePrefix(int statusCode, String message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        new JsonWriter(out)
+            .writeRaw(STATUS)
+            .write(statusCode)
+            .writeRaw(MESSAGE)
+            .write(message)
+            .writeRaw(DETAILS)
+            .flush();
+        return out.toByteArray();
+    }
+}
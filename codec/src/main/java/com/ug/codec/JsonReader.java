@@ -0,0 +1,294 @@
+package com.ug.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming JSON parser, reading UTF-8 bytes straight from an input stream through a small buffer,
+ * so a body is parsed while it is received, without being copied first.
+ * <p>
+ * Objects are read as maps, arrays as lists, and numbers as integers, longs or doubles,
+ * like the values decoded by {@link BinaryCodec}. Not thread-safe.
+ */
+public class JsonReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_DEPTH = 256;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int depth;
+    private final StringBuilder chars = new StringBuilder(32);
+
+    public JsonReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Parse the given JSON text.
+     *
+     * @param json The JSON text.
+     * @return The parsed value.
+     * @throws CodecException If the text is not valid JSON.
+     */
+    public static Object parse(String json) {
+        return new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).read();
+    }
+
+    /**
+     * Read a single JSON value, which must be followed by the end of the stream.
+     *
+     * @return The parsed value, or null if the stream only holds whitespaces.
+     * @throws CodecException If the stream does not hold valid JSON.
+     * @throws UncheckedIOException If reading the stream fails.
+     */
+    public Object read() {
+        int first = this.nextNonWhitespace();
+        if (first < 0) {
+            return null;
+        }
+        Object value = this.readValue(first);
+        if (this.nextNonWhitespace() >= 0) {
+            throw new CodecException("Unexpected content after the JSON value.");
+        }
+        return value;
+    }
+
+    private Object readValue(int current) {
+        return switch (current) {
+            case '{' -> this.readObject();
+            case '[' -> this.readArray();
+            case '"' -> this.readString();
+            case 't' -> this.readLiteral("rue", Boolean.TRUE);
+            case 'f' -> this.readLiteral("alse", Boolean.FALSE);
+            case 'n' -> this.readLiteral("ull", null);
+            default -> {
+                if (current == '-' || (current >= '0' && current <= '9')) {
+                    yield this.readNumber(current);
+                }
+                throw this.unexpected(current);
+            }
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        this.enter();
+        Map<String, Object> object = new HashMap<>();
+        int current = this.nextNonWhitespace();
+        if (current == '}') {
+            this.depth--;
+            return object;
+        }
+        while (true) {
+            if (current != '"') {
+                throw this.unexpected(current);
+            }
+            String key = this.readString();
+            if (this.nextNonWhitespace() != ':') {
+                throw new CodecException("Expected ':' after object key.");
+            }
+            object.put(key, this.readValue(this.nextNonWhitespace()));
+            current = this.nextNonWhitespace();
+            if (current == '}') {
+                this.depth--;
+                return object;
+            }
+            if (current != ',') {
+                throw this.unexpected(current);
+            }
+            current = this.nextNonWhitespace();
+        }
+    }
+
+    private List<Object> readArray() {
+        this.enter();
+        List<Object> array = new ArrayList<>();
+        int current = this.nextNonWhitespace();
+        if (current == ']') {
+            this.depth--;
+            return array;
+        }
+        while (true) {
+            array.add(this.readValue(current));
+            current = this.nextNonWhitespace();
+            if (current == ']') {
+                this.depth--;
+                return array;
+            }
+            if (current != ',') {
+                throw this.unexpected(current);
+            }
+            current = this.nextNonWhitespace();
+        }
+    }
+
+    private String readString() {
+        StringBuilder value = this.chars;
+        value.setLength(0);
+        while (true) {
+            int current = this.next();
+            if (current == '"') {
+                return value.toString();
+            }
+            if (current == '\\') {
+                this.readEscape(value);
+            } else if (current < 0x20) {
+                throw current < 0 ? new CodecException("Unterminated string.") : this.unexpected(current);
+            } else if (current < 0x80) {
+                value.append((char) current);
+            } else {
+                value.appendCodePoint(this.readUtf8(current));
+            }
+        }
+    }
+
+    private void readEscape(StringBuilder value) {
+        int escaped = this.next();
+        switch (escaped) {
+            case '"', '\\', '/' -> value.append((char) escaped);
+            case 'b' -> value.append('\b');
+            case 'f' -> value.append('\f');
+            case 'n' -> value.append('\n');
+            case 'r' -> value.append('\r');
+            case 't' -> value.append('\t');
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(this.next(), 16);
+                    if (digit < 0) {
+                        throw new CodecException("Invalid unicode escape.");
+                    }
+                    code = (code << 4) | digit;
+                }
+                value.append((char) code);
+            }
+            default -> throw this.unexpected(escaped);
+        }
+    }
+
+    private int readUtf8(int first) {
+        int continuations;
+        int codePoint;
+        if ((first & 0xE0) == 0xC0) {
+            continuations = 1;
+            codePoint = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            continuations = 2;
+            codePoint = first & 0x0F;
+        } else if ((first & 0xF8) == 0xF0) {
+            continuations = 3;
+            codePoint = first & 0x07;
+        } else {
+            throw new CodecException("Invalid UTF-8 sequence.");
+        }
+        for (int i = 0; i < continuations; i++) {
+            int next = this.next();
+            if ((next & 0xC0) != 0x80) {
+                throw new CodecException("Invalid UTF-8 sequence.");
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw new CodecException("Invalid UTF-8 sequence.");
+        }
+        return codePoint;
+    }
+
+    private Object readNumber(int first) {
+        StringBuilder number = this.chars;
+        number.setLength(0);
+        number.append((char) first);
+        boolean decimal = false;
+        while (true) {
+            int current = this.peek();
+            if ((current >= '0' && current <= '9') || current == '-' || current == '+') {
+                number.append((char) current);
+            } else if (current == '.' || current == 'e' || current == 'E') {
+                decimal = true;
+                number.append((char) current);
+            } else {
+                break;
+            }
+            this.position++;
+        }
+        try {
+            if (decimal) {
+                return Double.parseDouble(number.toString());
+            }
+            long value = Long.parseLong(number, 0, number.length(), 10);
+            return value == (int) value ? (Object) (int) value : (Object) value;
+        } catch (NumberFormatException error) {
+            if (!decimal && number.length() > 1) {
+                try {
+                    return Double.parseDouble(number.toString());
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            throw new CodecException("Invalid number " + number + ".", error);
+        }
+    }
+
+    private Object readLiteral(String rest, Object value) {
+        for (int i = 0; i < rest.length(); i++) {
+            if (this.next() != rest.charAt(i)) {
+                throw new CodecException("Invalid literal.");
+            }
+        }
+        return value;
+    }
+
+    private void enter() {
+        if (++this.depth > MAX_DEPTH) {
+            throw new CodecException("JSON nesting is too deep.");
+        }
+    }
+
+    private CodecException unexpected(int current) {
+        return new CodecException(current < 0 ? "Unexpected end of JSON." : "Unexpected character '" + (char) current + "'.");
+    }
+
+    private int nextNonWhitespace() {
+        while (true) {
+            int current = this.next();
+            if (current != ' ' && current != '\n' && current != '\r' && current != '\t') {
+                return current;
+            }
+        }
+    }
+
+    private int next() {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private int peek() {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position] & 0xFF;
+    }
+
+    private boolean fill() {
+        try {
+            int read = this.in.read(this.buffer, 0, BUFFER_SIZE);
+            if (read <= 0) {
+                return false;
+            }
+            this.position = 0;
+            this.limit = read;
+            return true;
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+}
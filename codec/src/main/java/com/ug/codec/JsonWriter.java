@@ -0,0 +1,222 @@
+package com.ug.codec;
+
+import com.ug.response.LazyValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Streaming JSON serializer, encoding values to UTF-8 straight into an output stream through a small buffer,
+ * without building the text first. Supports the values produced by {@link JsonReader} and {@link BinaryCodec},
+ * plus lazy values, arrays, iterables, byte arrays as base64 strings, and throwables as their message.
+ * Other values are written as their string representation. Not thread-safe.
+ */
+public class JsonWriter implements Flushable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public JsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Serialize the given value.
+     *
+     * @param value The value.
+     * @return The UTF-8 JSON bytes.
+     */
+    public static byte[] toBytes(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(out);
+        writer.write(value);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * Write the given value.
+     *
+     * @param value The value.
+     * @return The current instance.
+     */
+    public JsonWriter write(Object value) {
+        value = LazyValue.resolve(value);
+        if (value == null) {
+            this.writeRaw(NULL);
+        } else if (value instanceof String string) {
+            this.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            this.writeRaw(bool ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            this.writeAscii(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                this.writeRaw(NULL);
+            } else {
+                this.writeAscii(value.toString());
+            }
+        } else if (value instanceof Number number) {
+            this.writeAscii(number.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            this.writeByte('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    this.writeByte(',');
+                }
+                first = false;
+                this.writeString(String.valueOf(entry.getKey()));
+                this.writeByte(':');
+                this.write(entry.getValue());
+            }
+            this.writeByte('}');
+        } else if (value instanceof Iterable<?> iterable) {
+            this.writeByte('[');
+            boolean first = true;
+            for (Object item : iterable) {
+                if (!first) {
+                    this.writeByte(',');
+                }
+                first = false;
+                this.write(item);
+            }
+            this.writeByte(']');
+        } else if (value instanceof byte[] bytes) {
+            this.writeString(Base64.getEncoder().encodeToString(bytes));
+        } else if (value instanceof Object[] array) {
+            this.write(Arrays.asList(array));
+        } else if (value instanceof Throwable throwable) {
+            this.writeString(String.valueOf(throwable.getMessage()));
+        } else {
+            this.writeString(value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Write the given bytes as they are, such as a pre-encoded JSON fragment.
+     *
+     * @param bytes The bytes.
+     * @return The current instance.
+     */
+    public JsonWriter writeRaw(byte[] bytes) {
+        if (bytes.length > BUFFER_SIZE - this.position) {
+            this.flushBuffer();
+            if (bytes.length > BUFFER_SIZE) {
+                this.writeOut(bytes, bytes.length);
+                return this;
+            }
+        }
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+        return this;
+    }
+
+    /**
+     * Write the buffered bytes to the stream, and flush it.
+     */
+    @Override
+    public void flush() {
+        this.flushBuffer();
+        try {
+            this.out.flush();
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private void writeString(String value) {
+        this.writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char character = value.charAt(i);
+            if (character < 0x80) {
+                if (character == '"' || character == '\\') {
+                    this.writeByte('\\');
+                    this.writeByte(character);
+                } else if (character < 0x20) {
+                    this.writeControl(character);
+                } else {
+                    this.writeByte(character);
+                }
+            } else if (character < 0x800) {
+                this.writeByte(0xC0 | (character >> 6));
+                this.writeByte(0x80 | (character & 0x3F));
+            } else if (Character.isHighSurrogate(character) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(character, value.charAt(++i));
+                this.writeByte(0xF0 | (codePoint >> 18));
+                this.writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                this.writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                this.writeByte(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(character)) {
+                this.writeByte('?');
+            } else {
+                this.writeByte(0xE0 | (character >> 12));
+                this.writeByte(0x80 | ((character >> 6) & 0x3F));
+                this.writeByte(0x80 | (character & 0x3F));
+            }
+        }
+        this.writeByte('"');
+    }
+
+    private void writeControl(char character) {
+        this.writeByte('\\');
+        switch (character) {
+            case '\n' -> this.writeByte('n');
+            case '\r' -> this.writeByte('r');
+            case '\t' -> this.writeByte('t');
+            case '\b' -> this.writeByte('b');
+            case '\f' -> this.writeByte('f');
+            default -> {
+                this.writeByte('u');
+                this.writeByte('0');
+                this.writeByte('0');
+                this.writeByte(HEX[character >> 4]);
+                this.writeByte(HEX[character & 0xF]);
+            }
+        }
+    }
+
+    private void writeAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            this.writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int value) {
+        if (this.position == BUFFER_SIZE) {
+            this.flushBuffer();
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void flushBuffer() {
+        if (this.position > 0) {
+            this.writeOut(this.buffer, this.position);
+            this.position = 0;
+        }
+    }
+
+    private void writeOut(byte[] bytes, int length) {
+        try {
+            this.out.write(bytes, 0, length);
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.ug.codec;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.LazyValue;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BinaryCodecTest {
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of(
+                "firstname", true,
+                "address", Map.of(
+                    "city", true,
+                    "zip_code", false
+                ),
+                "roles", true
+            );
+        }
+    }
+
+    private static Map<String, Object> payload() {
+        Map<String, Object> withNull = new HashMap<>();
+        withNull.put("zip_code", null);
+        withNull.put("city", "Cotonou");
+
+        return Map.of(
+            "firstname", "Ulrich é中😀",
+            "address", withNull,
+            "roles", List.of("admin", "user"),
+            "age", 32,
+            "id", 9_000_000_000L,
+            "score", -1.5d,
+            "ratio", 0.25f,
+            "active", true,
+            "deleted", false,
+            "avatar", new byte[]{1, 2, 3}
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRoundTripNestedValues() {
+        BinaryCodec codec = new BinaryCodec();
+        Map<String, Object> payload = payload();
+        Map<String, Object> decoded = (Map<String, Object>) codec.decode(codec.encode(payload));
+
+        assertEquals(payload.keySet(), decoded.keySet());
+        for (String key : payload.keySet()) {
+            if (!key.equals("avatar")) {
+                assertEquals(payload.get(key), decoded.get(key));
+            }
+        }
+        assertArrayEquals((byte[]) payload.get("avatar"), (byte[]) decoded.get("avatar"));
+        assertEquals(Integer.class, decoded.get("age").getClass());
+        assertEquals(Long.class, decoded.get("id").getClass());
+    }
+
+    @Test
+    public void shouldRoundTripScalarsAtBoundaries() {
+        BinaryCodec codec = new BinaryCodec();
+        for (Object value : List.of(0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, "", "\ud800", Double.NaN)) {
+            Object decoded = codec.decode(codec.encode(value));
+            if ("\ud800".equals(value)) {
+                assertEquals("?", decoded);
+            } else {
+                assertEquals(value, decoded);
+            }
+        }
+        assertNull(codec.decode(codec.encode(null)));
+        assertEquals(List.of("nice", "good"), codec.decode(codec.encode(new String[]{"nice", "good"})));
+        assertEquals(Arrays.asList("nice", null), codec.decode(codec.encode(new Object[]{"nice", null})));
+    }
+
+    @Test
+    public void shouldEncodeSchemaKeysAsDictionaryIndexes() throws BadRequestContentException {
+        RequestInterface request = new CustomRequest().createFromPayload(Map.of(
+            "firstname", "Ulrich",
+            "address", Map.of("city", "Cotonou"),
+            "roles", List.of()
+        ));
+        CodecDictionary dictionary = CodecDictionary.fromPossibleFields(new CustomRequest().getRequestPossibleFields());
+        BinaryCodec dictionaryCodec = new BinaryCodec(dictionary);
+
+        ByteBuffer withDictionary = dictionaryCodec.encode(request.toArray());
+        ByteBuffer withoutDictionary = new BinaryCodec().encode(request.toArray());
+
+        assertTrue(withDictionary.remaining() < withoutDictionary.remaining());
+        assertEquals(request.toArray(), dictionaryCodec.decode(withDictionary));
+        assertEquals(5, dictionary.size());
+    }
+
+    @Test
+    public void shouldEncodeIntoAndDecodeFromDirectBuffers() {
+        BinaryCodec codec = new BinaryCodec();
+        Map<String, Object> payload = Map.of("field_1", "yes", "field_2", List.of(1, 2L, "é"));
+        ByteBuffer direct = ByteBuffer.allocateDirect(128);
+        direct.putInt(42);
+        codec.encode(payload, direct);
+        direct.flip();
+
+        assertEquals(42, direct.getInt());
+        assertEquals(payload, codec.decode(direct));
+        assertFalse(direct.hasRemaining());
+
+        try {
+            codec.encode(payload, ByteBuffer.allocate(4));
+            fail();
+        } catch (BufferOverflowException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldRoundTripResponses() {
+        BinaryCodec codec = new BinaryCodec();
+        Response success = Response.lazy(true, StatusCode.OK.getValue(), "success.response", () -> Map.of(
+            "users", LazyValue.of(() -> List.of(Map.of("id", 1)))
+        ));
+        Response decodedSuccess = codec.decodeResponse(codec.encodeResponse(success));
+        assertTrue(decodedSuccess.isSuccess());
+        assertEquals(StatusCode.OK.getValue(), decodedSuccess.getStatusCode());
+        assertEquals("success.response", decodedSuccess.getMessage());
+        assertEquals(Map.of("users", List.of(Map.of("id", 1))), decodedSuccess.getData());
+
+        Response failure = Response.create(false, StatusCode.BAD_REQUEST.getValue(), "illegal.fields", Map.of("field", "yes"));
+        Response decodedFailure = codec.decodeResponse(codec.encodeResponse(failure));
+        assertFalse(decodedFailure.isSuccess());
+        assertEquals(failure.output(), decodedFailure.output());
+    }
+
+    @Test
+    public void shouldRejectMalformedInput() {
+        BinaryCodec codec = new BinaryCodec();
+        ByteBuffer encoded = codec.encode(Map.of("field_1", "a long enough value"));
+        byte[] truncated = Arrays.copyOf(encoded.array(), encoded.remaining() - 3);
+
+        for (ByteBuffer malformed : List.of(
+            ByteBuffer.wrap(truncated),
+            ByteBuffer.wrap(new byte[]{BinaryCodec.FORMAT_VERSION, 99}),
+            ByteBuffer.wrap(new byte[]{2, BinaryCodec.NULL}),
+            ByteBuffer.wrap(new byte[]{BinaryCodec.FORMAT_VERSION, BinaryCodec.KEY, 3})
+        )) {
+            try {
+                codec.decode(malformed);
+                fail();
+            } catch (CodecException ignored) {
+            }
+        }
+
+        try {
+            codec.encode(Map.of("field_1", new Object()));
+            fail();
+        } catch (CodecException ignored) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ug.codec;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCode;
+import com.ug.exception.ErrorCodeInterface;
+import com.ug.response.StatusCode;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JsonTest {
+    enum CustomErrorCode implements ErrorCodeInterface {
+        USER_NOT_FOUND("user.not.found", StatusCode.NOT_FOUND);
+
+        private final String message;
+        private final StatusCode statusCode;
+
+        CustomErrorCode(String message, StatusCode statusCode) {
+            this.message = message;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public String getMessage() {
+            return this.message;
+        }
+
+        @Override
+        public StatusCode getStatusCode() {
+            return this.statusCode;
+        }
+    }
+
+    @Test
+    public void shouldRoundTripJson() {
+        Map<String, Object> value = Map.of(
+            "string", "quote \" backslash \\ newline \n control \u0001 é 中 😀",
+            "numbers", List.of(0, -1, 2147483648L, 1.5, -2.5e-3),
+            "nested", Map.of("empty", Map.of(), "list", List.of()),
+            "booleans", List.of(true, false)
+        );
+
+        assertEquals(value, JsonReader.parse(new String(JsonWriter.toBytes(value), StandardCharsets.UTF_8)));
+        assertEquals("aé😀", JsonReader.parse("\"a\\u00e9\\ud83d\\ude00\""));
+        assertNull(JsonReader.parse("  "));
+        for (String invalid : List.of("{", "[1,]", "{\"a\" 1}", "tru", "\"abc", "1 2", "{\"a\":1,}", "[".repeat(300))) {
+            try {
+                JsonReader.parse(invalid);
+                fail(invalid);
+            } catch (CodecException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteErrorEnvelopesAsFormattedExceptions() {
+        List<BaseException> errors = List.of(
+            new BaseException(CustomErrorCode.USER_NOT_FOUND, Map.of("user_id", 42)),
+            new BadRequestContentException(ErrorCode.ILLEGAL_FIELDS, Map.of()),
+            new BadRequestContentException(Map.of("message", "custom \"error\"", "details", Map.of("field_1", "yes"))),
+            new BaseException(ErrorCode.ILLEGAL_FIELDS, Map.of()) {
+                @Override
+                public String getMessage() {
+                    return "localized.illegal.fields";
+                }
+            },
+            new BaseException(CustomErrorCode.USER_NOT_FOUND, Map.of("user_id", 42)) {
+                @Override
+                public Map<String, Object> format() {
+                    return Map.of("status", "error", "error_code", 404, "user_id", 42);
+                }
+            }
+        );
+        for (BaseException error : errors) {
+            assertEquals(error.format(), JsonReader.parse(new String(ErrorEnvelope.toBytes(error), StandardCharsets.UTF_8)));
+        }
+
+        assertEquals(
+            "{\"status\":\"error\",\"error_code\":404,\"message\":\"user.not.found\",\"details\":{\"user_id\":42}}",
+            new String(ErrorEnvelope.toBytes(errors.get(0)), StandardCharsets.UTF_8)
+        );
+        assertEquals(404, errors.get(0).getStatusCode());
+        assertEquals(CustomErrorCode.USER_NOT_FOUND, errors.get(0).getErrorCode());
+        assertNull(errors.get(2).getErrorCode());
+        assertTrue(new String(ErrorEnvelope.toBytes(errors.get(3)), StandardCharsets.UTF_8).contains("localized.illegal.fields"));
+    }
+
+    @Test
+    public void shouldWriteErrorCodesWhichAreNotEnumConstants() {
+        for (int i = 0; i < 3; i++) {
+            String message = "dynamic.error." + i;
+            ErrorCodeInterface errorCode = new ErrorCodeInterface() {
+                @Override
+                public String getMessage() {
+                    return message;
+                }
+
+                @Override
+                public StatusCode getStatusCode() {
+                    return StatusCode.CONFLICT;
+                }
+            };
+            BaseException error = new BaseException(errorCode, Map.of());
+            assertEquals(error.format(), JsonReader.parse(new String(ErrorEnvelope.toBytes(error), StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ug.context;
+
+/**
+ * Phases of a request handling, timed by the {@link SpanRecorder}.
+ */
+public enum Phase {
+    FILTER("filter"),
+    CONSTRAINT("constraint"),
+    EXECUTE("execute"),
+    PRESENT("present");
+
+    private final String value;
+
+    Phase(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+}
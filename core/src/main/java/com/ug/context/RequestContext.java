@@ -0,0 +1,177 @@
+package com.ug.context;
+
+import com.ug.usecase.Deadline;
+
+/**
+ * Request-scoped values, reachable from any code running while the context is bound, without passing them around:
+ * the request id, its deadline and the recorder of its phases.
+ * <p>
+ * Bindings follow {@code ScopedValue} semantics: a context is bound for the duration of {@link #run(Runnable)} or
+ * {@link #call(ScopedCall)}, bindings nest, and the previous one is restored on exit. They are kept into a
+ * thread local because {@code ScopedValue} is still a preview API on Java 21, but never outlive their scope,
+ * so nothing leaks across pooled or virtual threads. Use {@link #wrap(Runnable)} to propagate the current
+ * context to another thread.
+ */
+public final class RequestContext {
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final String requestId;
+    private final Deadline deadline;
+    private final SpanRecorder spans;
+
+    public RequestContext(String requestId, Deadline deadline, SpanRecorder spans) {
+        this.requestId = requestId;
+        this.deadline = deadline;
+        this.spans = spans;
+    }
+
+    /**
+     * Create an untraced context.
+     *
+     * @param requestId The request unique id.
+     * @return The context.
+     */
+    public static RequestContext of(String requestId) {
+        return new RequestContext(requestId, null, SpanRecorder.DISABLED);
+    }
+
+    /**
+     * Get the context bound to the current thread.
+     *
+     * @return The context, or null if none is bound.
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Check if a context is bound to the current thread.
+     */
+    public static boolean isBound() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run the given action with this context bound. The recorded spans are exported when the outermost
+     * binding of this context ends.
+     *
+     * @param action The action.
+     */
+    public void run(Runnable action) {
+        this.call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Call the given action with this context bound. The recorded spans are exported when the outermost
+     * binding of this context ends.
+     *
+     * @param action The action.
+     * @return The action result.
+     * @throws E The action error.
+     */
+    public <T, E extends Exception> T call(ScopedCall<T, E> action) throws E {
+        RequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.call();
+        } finally {
+            restore(previous);
+            if (previous == null || previous.spans != this.spans) {
+                this.spans.export();
+            }
+        }
+    }
+
+    /**
+     * Capture the current context, to bind it while the given action runs on another thread.
+     * The spans are exported by the thread which bound the context first.
+     *
+     * @param action The action.
+     * @return The action bound to the current context, or the action itself if none is bound.
+     */
+    public static Runnable wrap(Runnable action) {
+        RequestContext captured = CURRENT.get();
+        if (captured == null) {
+            return action;
+        }
+        return () -> {
+            RequestContext previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                action.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Start timing a phase of the current request.
+     *
+     * @return The start token to give to {@link #endSpan(Phase, long, boolean)}.
+     */
+    public static long startSpan() {
+        RequestContext context = CURRENT.get();
+        return context == null ? 0 : context.spans.start();
+    }
+
+    /**
+     * Record a phase of the current request. Does nothing if no context is bound.
+     *
+     * @param phase The phase.
+     * @param start The token returned by {@link #startSpan()}.
+     * @param success Whether the phase completed successfully.
+     */
+    public static void endSpan(Phase phase, long start, boolean success) {
+        RequestContext context = CURRENT.get();
+        if (context != null) {
+            context.spans.end(phase, start, success);
+        }
+    }
+
+    private static void restore(RequestContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Get a copy of this context with the given deadline, recording into the same spans.
+     *
+     * @param deadline The deadline.
+     * @return The context.
+     */
+    public RequestContext withDeadline(Deadline deadline) {
+        return new RequestContext(this.requestId, deadline, this.spans);
+    }
+
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    /**
+     * Get the request deadline.
+     *
+     * @return The deadline, or null if there is none.
+     */
+    public Deadline getDeadline() {
+        return this.deadline;
+    }
+
+    public SpanRecorder getSpans() {
+        return this.spans;
+    }
+
+    /**
+     * Action run with a bound context.
+     */
+    @FunctionalInterface
+    public interface ScopedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+}
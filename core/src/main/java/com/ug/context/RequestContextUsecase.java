@@ -0,0 +1,127 @@
+package com.ug.context;
+
+import com.ug.exception.BaseException;
+import com.ug.presenter.PresenterInterface;
+import com.ug.presenter.StreamingPresenterInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+
+/**
+ * Execute the decorated usecase with a request context bound, and record its execute and present phases.
+ * The context already bound by the caller is used when there is one, so the filter and constraint phases
+ * of the request creation are recorded too. Otherwise a new context is created by the tracer.
+ */
+public class RequestContextUsecase extends UsecaseDecorator {
+    private final Tracer tracer;
+
+    public RequestContextUsecase(UsecaseInterface usecase) {
+        this(usecase, Tracer.NOOP);
+    }
+
+    public RequestContextUsecase(UsecaseInterface usecase, Tracer tracer) {
+        super(usecase);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            this.executeWithin(context);
+            return;
+        }
+
+        String requestId = this.request == null ? UUID.randomUUID().toString() : this.request.getRequestId();
+        RequestContext newContext = this.tracer.newContext(requestId, this.deadline);
+        newContext.call(() -> {
+            this.executeWithin(newContext);
+            return null;
+        });
+    }
+
+    private void executeWithin(RequestContext context) throws BaseException {
+        SpanRecorder spans = context.getSpans();
+        if (this.deadline == null && context.getDeadline() != null) {
+            this.usecase.withDeadline(context.getDeadline());
+        }
+        if (this.presenter != null && spans.isEnabled()) {
+            this.usecase.withPresenter(this.presenter instanceof StreamingPresenterInterface streamingPresenter
+                ? new TimedStreamingPresenter(streamingPresenter, spans)
+                : new TimedPresenter(this.presenter, spans));
+        }
+
+        long start = spans.start();
+        boolean success = false;
+        try {
+            this.usecase.execute();
+            success = true;
+        } finally {
+            spans.end(Phase.EXECUTE, start, success);
+            this.usecase.withDeadline(this.deadline);
+            this.usecase.withPresenter(this.presenter);
+        }
+    }
+
+    /**
+     * Presenter recording the time spent presenting responses.
+     */
+    private static class TimedPresenter implements PresenterInterface {
+        protected final PresenterInterface presenter;
+        protected final SpanRecorder spans;
+
+        private TimedPresenter(PresenterInterface presenter, SpanRecorder spans) {
+            this.presenter = presenter;
+            this.spans = spans;
+        }
+
+        @Override
+        public void present(ResponseInterface response) {
+            long start = this.spans.start();
+            boolean success = false;
+            try {
+                this.presenter.present(response);
+                success = true;
+            } finally {
+                this.spans.end(Phase.PRESENT, start, success);
+            }
+        }
+
+        @Override
+        public ResponseInterface getResponse() {
+            return this.presenter.getResponse();
+        }
+
+        @Override
+        public Map<String, Object> getFormattedResponse() {
+            return this.presenter.getFormattedResponse();
+        }
+    }
+
+    private static final class TimedStreamingPresenter extends TimedPresenter implements StreamingPresenterInterface {
+        private TimedStreamingPresenter(StreamingPresenterInterface presenter, SpanRecorder spans) {
+            super(presenter, spans);
+        }
+
+        @Override
+        public void presentStream(ResponseInterface envelope, Flow.Publisher<?> data) {
+            long start = this.spans.start();
+            boolean success = false;
+            try {
+                ((StreamingPresenterInterface) this.presenter).presentStream(envelope, data);
+                success = this.getStreamError() == null;
+            } finally {
+                this.spans.end(Phase.PRESENT, start, success);
+            }
+        }
+
+        @Override
+        public Throwable getStreamError() {
+            return ((StreamingPresenterInterface) this.presenter).getStreamError();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ug.context;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Timed phase of a request handling.
+ */
+public final class Span {
+    private final String requestId;
+    private final Phase phase;
+    private final Instant start;
+    private final Duration duration;
+    private final boolean success;
+
+    public Span(String requestId, Phase phase, Instant start, Duration duration, boolean success) {
+        this.requestId = requestId;
+        this.phase = phase;
+        this.start = start;
+        this.duration = duration;
+        this.success = success;
+    }
+
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    public Phase getPhase() {
+        return this.phase;
+    }
+
+    public Instant getStart() {
+        return this.start;
+    }
+
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    public boolean isSuccess() {
+        return this.success;
+    }
+
+    @Override
+    public String toString() {
+        return this.requestId + " " + this.phase.getValue() + " " + this.duration.toNanos() + "ns" + (this.success ? "" : " failed");
+    }
+}
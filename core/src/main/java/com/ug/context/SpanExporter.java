@@ -0,0 +1,19 @@
+package com.ug.context;
+
+import java.util.List;
+
+/**
+ * Receive the spans of a request once its context scope has ended.
+ * Called on the request thread: implementations should hand spans over rather than block.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    SpanExporter NOOP = spans -> {};
+
+    /**
+     * Export the spans of a single request.
+     *
+     * @param spans The spans, in recording order.
+     */
+    void export(List<Span> spans);
+}
@@ -0,0 +1,130 @@
+package com.ug.context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Record the timed phases of a single request. Phases are kept as primitive values until they are exported,
+ * and a disabled recorder, used for requests which are not sampled, does not read the clock at all.
+ */
+public final class SpanRecorder {
+    static final SpanRecorder DISABLED = new SpanRecorder(null, SpanExporter.NOOP, false);
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String requestId;
+    private final SpanExporter exporter;
+    private final boolean enabled;
+    private final long originNanos;
+    private final Instant origin;
+    private Phase[] phases;
+    private long[] starts;
+    private long[] durations;
+    private boolean[] successes;
+    private int size;
+
+    public SpanRecorder(String requestId, SpanExporter exporter) {
+        this(requestId, exporter, true);
+    }
+
+    private SpanRecorder(String requestId, SpanExporter exporter, boolean enabled) {
+        this.requestId = requestId;
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.originNanos = enabled ? System.nanoTime() : 0;
+        this.origin = enabled ? Instant.now() : Instant.EPOCH;
+        int capacity = enabled ? INITIAL_CAPACITY : 0;
+        this.phases = new Phase[capacity];
+        this.starts = new long[capacity];
+        this.durations = new long[capacity];
+        this.successes = new boolean[capacity];
+    }
+
+    /**
+     * Get the disabled recorder, which records nothing.
+     */
+    public static SpanRecorder disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Start timing a phase.
+     *
+     * @return The start token to give to {@link #end(Phase, long, boolean)}.
+     */
+    public long start() {
+        return this.enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a phase started with {@link #start()}.
+     *
+     * @param phase The phase.
+     * @param start The start token.
+     * @param success Whether the phase completed successfully.
+     */
+    public void end(Phase phase, long start, boolean success) {
+        if (!this.enabled) {
+            return;
+        }
+        long end = System.nanoTime();
+        synchronized (this) {
+            if (this.size == this.phases.length) {
+                int capacity = this.size * 2;
+                this.phases = Arrays.copyOf(this.phases, capacity);
+                this.starts = Arrays.copyOf(this.starts, capacity);
+                this.durations = Arrays.copyOf(this.durations, capacity);
+                this.successes = Arrays.copyOf(this.successes, capacity);
+            }
+            this.phases[this.size] = phase;
+            this.starts[this.size] = start;
+            this.durations[this.size] = end - start;
+            this.successes[this.size] = success;
+            this.size++;
+        }
+    }
+
+    /**
+     * Get the recorded spans.
+     *
+     * @return The spans, in recording order.
+     */
+    public synchronized List<Span> getSpans() {
+        List<Span> spans = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            spans.add(new Span(
+                this.requestId,
+                this.phases[i],
+                this.origin.plusNanos(this.starts[i] - this.originNanos),
+                Duration.ofNanos(this.durations[i]),
+                this.successes[i]
+            ));
+        }
+        return spans;
+    }
+
+    /**
+     * Send the recorded spans to the exporter and forget them.
+     */
+    public void export() {
+        if (!this.enabled) {
+            return;
+        }
+        List<Span> spans;
+        synchronized (this) {
+            if (this.size == 0) {
+                return;
+            }
+            spans = this.getSpans();
+            this.size = 0;
+        }
+        this.exporter.export(spans);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ug.context;
+
+/**
+ * Decide which requests have their phases recorded.
+ */
+@FunctionalInterface
+public interface SpanSampler {
+    SpanSampler ALWAYS = requestId -> true;
+    SpanSampler NEVER = requestId -> false;
+
+    /**
+     * Check if the phases of the given request must be recorded.
+     *
+     * @param requestId The request unique id.
+     * @return true to record the request phases.
+     */
+    boolean sample(String requestId);
+
+    /**
+     * Sample the given ratio of requests. The decision only depends on the request id,
+     * so every service seeing the same request takes the same decision.
+     *
+     * @param ratio The ratio of sampled requests, between 0 and 1.
+     * @return The sampler.
+     */
+    static SpanSampler ratio(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1.");
+        }
+        long threshold = (long) (ratio * (1L << 32));
+        return requestId -> (Integer.toUnsignedLong(mix(requestId.hashCode()))) < threshold;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+}
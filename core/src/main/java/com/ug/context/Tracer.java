@@ -0,0 +1,30 @@
+package com.ug.context;
+
+import com.ug.usecase.Deadline;
+
+/**
+ * Create request contexts whose phases are recorded according to a sampler, and exported to an exporter.
+ */
+public final class Tracer {
+    public static final Tracer NOOP = new Tracer(SpanSampler.NEVER, SpanExporter.NOOP);
+
+    private final SpanSampler sampler;
+    private final SpanExporter exporter;
+
+    public Tracer(SpanSampler sampler, SpanExporter exporter) {
+        this.sampler = sampler;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Create the context of a new request.
+     *
+     * @param requestId The request unique id.
+     * @param deadline The request deadline, or null for no deadline.
+     * @return The context, with a disabled span recorder if the request is not sampled.
+     */
+    public RequestContext newContext(String requestId, Deadline deadline) {
+        SpanRecorder spans = this.sampler.sample(requestId) ? new SpanRecorder(requestId, this.exporter) : SpanRecorder.DISABLED;
+        return new RequestContext(requestId, deadline, spans);
+    }
+}
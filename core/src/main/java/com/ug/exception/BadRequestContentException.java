@@ -6,4 +6,8 @@ public class BadRequestContentException extends BaseException {
     public BadRequestContentException(Map<String, Object> errors) {
         super(errors);
     }
+
+    public BadRequestContentException(ErrorCodeInterface errorCode, Map<String, Object> details) {
+        super(errorCode, details);
+    }
 }
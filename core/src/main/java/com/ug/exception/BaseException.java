@@ -0,0 +1,161 @@
+package com.ug.exception;
+
+import com.ug.enums.Status;
+import com.ug.response.StatusCode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+public class BaseException extends Exception implements ExceptionInterface {
+    /**
+     * Exception status code.
+     */
+    protected int statusCode = StatusCode.BAD_REQUEST.getValue();
+
+    /**
+     * Custom data into the exception.
+     */
+    protected Map<String, Object> errors;
+
+    /**
+     * Catalog entry the exception was raised with, if any.
+     */
+    protected ErrorCodeInterface errorCode;
+
+    /**
+     * The given errors are neither copied nor changed, so immutable maps are accepted.
+     * Their message is exposed through {@link #getMessage()} rather than {@link #getErrors()}.
+     *
+     * @param errors The exception message and custom data.
+     */
+    public BaseException(Map<String, Object> errors) {
+        super((String) errors.getOrDefault("message", ""));
+        this.errors = errors.containsKey("message") ? new ErrorsWithoutMessage(errors) : errors;
+    }
+
+    /**
+     * The message and status code are the ones of the catalog entry.
+     *
+     * @param errorCode The catalog entry.
+     * @param details The exception details.
+     */
+    public BaseException(ErrorCodeInterface errorCode, Map<String, Object> details) {
+        super(errorCode.getMessage());
+        this.errorCode = errorCode;
+        this.statusCode = errorCode.getStatusCode().getValue();
+        this.errors = details.isEmpty() ? Map.of() : Map.of("details", details);
+    }
+
+    /**
+     * Format exception as array.
+     *
+     * @return A map representing the formatted exception.
+     */
+    @Override
+    public Map<String, Object> format() {
+        return Map.of(
+            "status", Status.ERROR.getValue(),
+            "error_code", this.statusCode,
+            "message", this.getMessage(),
+            "details", this.getDetails()
+        );
+    }
+
+    /**
+     * Get custom exception errors details.
+     *
+     * @return A map representing the custom exception errors details.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String, Object> getDetails() {
+        return (Map<String, Object>) this.errors.getOrDefault("details", Map.of());
+    }
+
+    /**
+     * Get custom exception errors details message.
+     *
+     * @return A string representing the custom exception errors details message.
+     */
+    @Override
+    public String getDetailsMessage() {
+        return (String) this.getDetails().getOrDefault("error", "");
+    }
+
+    /**
+     * Get custom exception errors.
+     *
+     * @return A map representing the custom exception errors.
+     */
+    @Override
+    public Map<String, Object> getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Get the catalog entry the exception was raised with.
+     *
+     * @return The catalog entry, or null if the exception was created from an errors map.
+     */
+    @Override
+    public ErrorCodeInterface getErrorCode() {
+        return this.errorCode;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    @Override
+    public String getMessage() {
+        return super.getMessage();
+    }
+
+    /**
+     * Read-only view of exception errors, hiding their message.
+     */
+    private static final class ErrorsWithoutMessage extends AbstractMap<String, Object> {
+        private final Map<String, Object> errors;
+
+        private ErrorsWithoutMessage(Map<String, Object> errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return "message".equals(key) ? null : this.errors.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return !"message".equals(key) && this.errors.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.errors.size() - 1;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return Collections.unmodifiableMap(errors).entrySet().stream()
+                        .filter(entry -> !"message".equals(entry.getKey()))
+                        .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return ErrorsWithoutMessage.this.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ug.exception;
+
+import com.ug.response.StatusCode;
+
+import java.util.Map;
+
+public class BulkheadFullException extends BaseException {
+    public BulkheadFullException(Map<String, Object> errors) {
+        super(errors);
+        this.statusCode = StatusCode.TOO_MANY_REQUESTS.getValue();
+    }
+
+    public BulkheadFullException(ErrorCodeInterface errorCode, Map<String, Object> details) {
+        super(errorCode, details);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ug.exception;
+
+import com.ug.response.StatusCode;
+
+import java.util.Map;
+
+public class ConcurrencyLimitExceededException extends BaseException {
+    public ConcurrencyLimitExceededException(Map<String, Object> errors) {
+        super(errors);
+        this.statusCode = StatusCode.SERVICE_UNAVAILABLE.getValue();
+    }
+
+    public ConcurrencyLimitExceededException(ErrorCodeInterface errorCode, Map<String, Object> details) {
+        super(errorCode, details);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ug.exception;
+
+import com.ug.response.StatusCode;
+
+/**
+ * Errors raised by the library itself.
+ */
+public enum ErrorCode implements ErrorCodeInterface {
+    INVALID_REQUEST_FIELDS("invalid.request.fields", StatusCode.BAD_REQUEST),
+    MISSING_REQUIRED_FIELDS("missing.required.fields", StatusCode.BAD_REQUEST),
+    ILLEGAL_FIELDS("illegal.fields", StatusCode.BAD_REQUEST),
+    INVALID_JSON_PAYLOAD("invalid.json.payload", StatusCode.BAD_REQUEST),
+    ROUTE_NOT_FOUND("route.not.found", StatusCode.NOT_FOUND),
+    METHOD_NOT_ALLOWED("method.not.allowed", StatusCode.METHOD_NOT_ALLOWED),
+    PAYLOAD_TOO_LARGE("payload.too.large", StatusCode.PAYLOAD_TOO_LARGE),
+    BULKHEAD_FULL("bulkhead.full", StatusCode.TOO_MANY_REQUESTS),
+    BULKHEAD_WAIT_TIMEOUT("bulkhead.wait.timeout", StatusCode.TOO_MANY_REQUESTS),
+    CONCURRENCY_LIMIT_EXCEEDED("concurrency.limit.exceeded", StatusCode.SERVICE_UNAVAILABLE),
+    INTERNAL_ERROR("internal.error", StatusCode.INTERNAL_SERVER_ERROR),
+    USECASE_TIMEOUT("usecase.timeout", StatusCode.GATEWAY_TIMEOUT);
+
+    private final String message;
+    private final StatusCode statusCode;
+
+    ErrorCode(String message, StatusCode statusCode) {
+        this.message = message;
+        this.statusCode = statusCode;
+    }
+
+    @Override
+    public String getMessage() {
+        return this.message;
+    }
+
+    @Override
+    public StatusCode getStatusCode() {
+        return this.statusCode;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ug.exception;
+
+import com.ug.response.StatusCode;
+
+/**
+ * Entry of an error catalog. Applications declare their own catalog as an enum implementing this interface,
+ * so each entry is a constant whose encoded envelope can be cached.
+ */
+public interface ErrorCodeInterface {
+    /**
+     * Get the error message key.
+     *
+     * @return A string representing the error message key.
+     */
+    String getMessage();
+
+    /**
+     * Get the status code of the error responses.
+     *
+     * @return The status code.
+     */
+    StatusCode getStatusCode();
+}
@@ -1,5 +1,7 @@
 package com.ug.exception;
 
+import com.ug.response.StatusCode;
+
 import java.util.Map;
 
 public interface ExceptionInterface {
@@ -31,6 +33,24 @@ public interface ExceptionInterface {
      */
     String getDetailsMessage();
 
+    /**
+     * Get the catalog entry the exception was raised with.
+     *
+     * @return The catalog entry, or null if the exception was created from an errors map.
+     */
+    default ErrorCodeInterface getErrorCode() {
+        return null;
+    }
+
+    /**
+     * Get the exception status code.
+     *
+     * @return The status code value.
+     */
+    default int getStatusCode() {
+        return StatusCode.BAD_REQUEST.getValue();
+    }
+
     /**
      * Get error message.
      *
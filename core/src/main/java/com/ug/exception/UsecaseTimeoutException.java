@@ -0,0 +1,16 @@
+package com.ug.exception;
+
+import com.ug.response.StatusCode;
+
+import java.util.Map;
+
+public class UsecaseTimeoutException extends BaseException {
+    public UsecaseTimeoutException(Map<String, Object> errors) {
+        super(errors);
+        this.statusCode = StatusCode.GATEWAY_TIMEOUT.getValue();
+    }
+
+    public UsecaseTimeoutException(ErrorCodeInterface errorCode, Map<String, Object> details) {
+        super(errorCode, details);
+    }
+}
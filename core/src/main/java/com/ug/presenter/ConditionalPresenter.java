@@ -0,0 +1,86 @@
+package com.ug.presenter;
+
+import com.ug.response.ContentHash;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+import com.ug.response.StatusCode;
+
+import java.util.Map;
+
+/**
+ * Presenter answering conditional requests. The entity tag of each successful response is computed from its content
+ * hash; when it matches one of the tags sent by the client, usually its {@code If-None-Match} header, a compact
+ * {@code not.modified} response without data is presented instead, so the unchanged data is never serialized.
+ */
+public class ConditionalPresenter implements PresenterInterface {
+    private final PresenterInterface presenter;
+    private final String ifNoneMatch;
+    private String entityTag;
+    private boolean notModified;
+
+    /**
+     * @param presenter The presenter to present responses to.
+     * @param ifNoneMatch The entity tags known by the client, comma separated, or {@code *}, or null.
+     */
+    public ConditionalPresenter(PresenterInterface presenter, String ifNoneMatch) {
+        this.presenter = presenter;
+        this.ifNoneMatch = ifNoneMatch;
+    }
+
+    @Override
+    public void present(ResponseInterface response) {
+        this.entityTag = null;
+        this.notModified = false;
+        if (response.isSuccess()) {
+            this.entityTag = ContentHash.entityTag(response);
+            if (this.ifNoneMatch != null && matches(this.ifNoneMatch, this.entityTag)) {
+                this.notModified = true;
+                this.presenter.present(Response.create(true, StatusCode.NOT_MODIFIED.getValue(), "not.modified", Map.of()));
+                return;
+            }
+        }
+        this.presenter.present(response);
+    }
+
+    @Override
+    public ResponseInterface getResponse() {
+        return this.presenter.getResponse();
+    }
+
+    @Override
+    public Map<String, Object> getFormattedResponse() {
+        return this.presenter.getFormattedResponse();
+    }
+
+    /**
+     * Get the entity tag of the presented response.
+     *
+     * @return The entity tag, or null if no successful response was presented.
+     */
+    public String getEntityTag() {
+        return this.entityTag;
+    }
+
+    /**
+     * Check if the presented response was replaced by a not modified one.
+     */
+    public boolean isNotModified() {
+        return this.notModified;
+    }
+
+    /**
+     * Weak comparison of the given entity tags with the response one, as required for {@code If-None-Match}.
+     */
+    private static boolean matches(String ifNoneMatch, String entityTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ug.presenter;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publish the items of an iterator to a single subscriber, only as fast as they are requested.
+ * Items are pulled lazily, on the requesting thread, so a database cursor or a generator can be streamed
+ * without materializing the whole result.
+ *
+ * @param <T> The item type.
+ */
+public class IteratorPublisher<T> implements Flow.Publisher<T> {
+    private final Iterator<? extends T> iterator;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public IteratorPublisher(Iterator<? extends T> iterator) {
+        this.iterator = iterator;
+    }
+
+    public static <T> IteratorPublisher<T> of(Iterable<? extends T> items) {
+        return new IteratorPublisher<>(items.iterator());
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("An iterator can only be published once."));
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription(subscriber));
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+        private boolean completed;
+
+        private IteratorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.subscriber.onError(new IllegalArgumentException("Requested items must be positive."));
+                return;
+            }
+            // Only the caller moving demand away from zero emits, nested requests only add demand.
+            if (this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added) == 0) {
+                this.emit();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        private void emit() {
+            long emitted = 0;
+            long requested = this.demand.get();
+            while (!this.cancelled && !this.completed) {
+                while (emitted < requested && !this.cancelled) {
+                    T item;
+                    try {
+                        if (!iterator.hasNext()) {
+                            this.completed = true;
+                            this.subscriber.onComplete();
+                            return;
+                        }
+                        item = iterator.next();
+                    } catch (RuntimeException error) {
+                        this.cancelled = true;
+                        this.subscriber.onError(error);
+                        return;
+                    }
+                    this.subscriber.onNext(item);
+                    emitted++;
+                }
+                requested = this.demand.addAndGet(-emitted);
+                emitted = 0;
+                if (requested == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ug.presenter;
+
+import com.ug.response.ResponseInterface;
+
+/**
+ * Destination of a streamed usecase response, e.g. an HTTP response body.
+ * Methods are called in order: open once, write for each chunk, then either close or fail.
+ * Implementations wrap their I/O errors into unchecked exceptions, which cancel the stream.
+ */
+public interface ResponseChunkSink {
+    /**
+     * Write the response envelope (status, code, message) before any chunk.
+     *
+     * @param envelope The response envelope.
+     */
+    void open(ResponseInterface envelope);
+
+    /**
+     * Write a single data chunk.
+     *
+     * @param chunk The chunk to write.
+     */
+    void write(Object chunk);
+
+    /**
+     * Terminate the response once every chunk was written.
+     */
+    void close();
+
+    /**
+     * Terminate the response when the data stream failed.
+     *
+     * @param error The stream error.
+     */
+    void fail(Throwable error);
+}
@@ -0,0 +1,137 @@
+package com.ug.presenter;
+
+import com.ug.response.ResponseInterface;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * Presenter writing usecase responses to a {@link ResponseChunkSink}.
+ * Streamed data is requested by batches, so at most one batch of chunks is in flight,
+ * whatever the size of the whole result.
+ */
+public class StreamingPresenter extends Presenter implements StreamingPresenterInterface {
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final ResponseChunkSink sink;
+    private final int batchSize;
+    private volatile Throwable streamError;
+
+    public StreamingPresenter(ResponseChunkSink sink) {
+        this(sink, DEFAULT_BATCH_SIZE);
+    }
+
+    public StreamingPresenter(ResponseChunkSink sink, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than 0.");
+        }
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Write the whole response: the envelope, then its data, if any, as a single chunk.
+     *
+     * @param response The response to be presented.
+     */
+    @Override
+    public void present(ResponseInterface response) {
+        super.present(response);
+        this.streamError = null;
+        this.sink.open(response);
+        if (response.getData() != null) {
+            this.sink.write(response.getData());
+        }
+        this.sink.close();
+    }
+
+    @Override
+    public void presentStream(ResponseInterface envelope, Flow.Publisher<?> data) {
+        super.present(envelope);
+        this.streamError = null;
+        this.sink.open(envelope);
+
+        ChunkSubscriber subscriber = new ChunkSubscriber();
+        data.subscribe(subscriber);
+        try {
+            subscriber.done.await();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            subscriber.cancel(error);
+        }
+    }
+
+    @Override
+    public Throwable getStreamError() {
+        return this.streamError;
+    }
+
+    private final class ChunkSubscriber implements Flow.Subscriber<Object> {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private int received;
+        private boolean terminated;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(Object chunk) {
+            if (this.terminated) {
+                return;
+            }
+            try {
+                sink.write(chunk);
+            } catch (RuntimeException error) {
+                this.cancel(error);
+                return;
+            }
+            if (++this.received == batchSize) {
+                this.received = 0;
+                this.subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.terminate(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.terminated) {
+                return;
+            }
+            try {
+                sink.close();
+            } catch (RuntimeException error) {
+                streamError = error;
+            }
+            this.terminated = true;
+            this.done.countDown();
+        }
+
+        private void cancel(Throwable error) {
+            if (this.subscription != null) {
+                this.subscription.cancel();
+            }
+            this.terminate(error);
+        }
+
+        private synchronized void terminate(Throwable error) {
+            if (this.terminated) {
+                return;
+            }
+            this.terminated = true;
+            streamError = error;
+            try {
+                sink.fail(error);
+            } finally {
+                this.done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ug.presenter;
+
+import com.ug.response.ResponseInterface;
+
+import java.util.concurrent.Flow;
+
+public interface StreamingPresenterInterface extends PresenterInterface {
+    /**
+     * Use by use case to send an application response whose data is streamed.
+     * The envelope is presented first, then data chunks are pulled from the publisher with backpressure.
+     * Returns once the stream has completed, failed or was cancelled.
+     *
+     * @param envelope The response envelope: status, code, message and optional metadata.
+     * @param data The data chunks publisher.
+     */
+    void presentStream(ResponseInterface envelope, Flow.Publisher<?> data);
+
+    /**
+     * Get the error which terminated the last streamed response.
+     *
+     * @return The stream error, or null if the stream completed.
+     */
+    Throwable getStreamError();
+}
@@ -0,0 +1,143 @@
+package com.ug.request;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Deeply immutable copy of a request payload, taken once it is validated, so the caller can no longer change it.
+ * <p>
+ * Nested maps and lists are copied once. Keys matching a declared field name are interned, so the snapshots of a
+ * request type share them; other keys, whose number depends on the callers, are kept as they are. Empty containers
+ * are replaced by shared instances, and containers already snapshotted, such as the data of another request, are
+ * shared instead of copied. Strings, numbers, booleans and any other value are kept by reference. Null values are
+ * supported.
+ */
+public final class PayloadSnapshot {
+    private static final Map<String, Object> EMPTY_MAP = Collections.emptyMap();
+    private static final List<Object> EMPTY_LIST = Collections.emptyList();
+
+    private PayloadSnapshot() {
+    }
+
+    /**
+     * Take an immutable snapshot of the given payload.
+     *
+     * @param payload The payload.
+     * @return The snapshot, or the payload itself if it is already one.
+     */
+    public static Map<String, Object> of(Map<String, Object> payload) {
+        return of(payload, Map.of());
+    }
+
+    /**
+     * Take an immutable snapshot of the given payload, interning the keys of the declared fields.
+     *
+     * @param payload The payload.
+     * @param fields The declared fields, in the format of {@code Request#getRequestPossibleFields()}.
+     * @return The snapshot, or the payload itself if it is already one.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> of(Map<String, Object> payload, Map<String, Object> fields) {
+        return (Map<String, Object>) snapshot(payload, fields == null ? Map.of() : fields);
+    }
+
+    /**
+     * Check if the given value is an immutable snapshot, which can be shared.
+     *
+     * @param value The value.
+     * @return true if the value is a snapshot map or list.
+     */
+    public static boolean isSnapshot(Object value) {
+        return value instanceof SnapshotMap || value instanceof SnapshotList || value == EMPTY_MAP || value == EMPTY_LIST;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object snapshot(Object value, Map<?, ?> fields) {
+        if (value == null || isSnapshot(value)) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                return EMPTY_MAP;
+            }
+            HashMap<Object, Object> copy = new HashMap<>((int) (map.size() / 0.75f) + 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object key = entry.getKey();
+                Object field = null;
+                if (key instanceof String name && fields.containsKey(name)) {
+                    key = name.intern();
+                    field = fields.get(name);
+                }
+                copy.put(key, snapshot(entry.getValue(), field instanceof Map<?, ?> nested ? nested : Map.of()));
+            }
+            return new SnapshotMap((HashMap<String, Object>) (HashMap<?, ?>) copy);
+        }
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            Object[] items = list.toArray();
+            for (int i = 0; i < items.length; i++) {
+                items[i] = snapshot(items[i], fields);
+            }
+            return new SnapshotList(items);
+        }
+        return value;
+    }
+
+    private static final class SnapshotMap extends AbstractMap<String, Object> {
+        private final HashMap<String, Object> entries;
+        private Set<Entry<String, Object>> entrySet;
+
+        private SnapshotMap(HashMap<String, Object> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return this.entries.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.entries.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.entries.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (this.entrySet == null) {
+                this.entrySet = Collections.unmodifiableMap(this.entries).entrySet();
+            }
+            return this.entrySet;
+        }
+    }
+
+    private static final class SnapshotList extends AbstractList<Object> implements RandomAccess {
+        private final Object[] items;
+
+        private SnapshotList(Object[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public Object get(int index) {
+            return this.items[index];
+        }
+
+        @Override
+        public int size() {
+            return this.items.length;
+        }
+    }
+}
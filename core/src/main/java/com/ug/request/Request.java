@@ -1,6 +1,9 @@
 package com.ug.request;
 
+import com.ug.context.Phase;
+import com.ug.context.RequestContext;
 import com.ug.exception.BadRequestContentException;
+import com.ug.exception.ErrorCode;
 
 import java.util.Map;
 import java.util.HashMap;
@@ -14,23 +17,33 @@ public abstract class Request extends RequestFilter implements RequestInterface
     @Override
     @SuppressWarnings("unchecked")
     public RequestInterface createFromPayload(Map<String, Object> payload) throws BadRequestContentException {
-        Map<String, Object> requestValidationResult = this.requestPayloadFilter(payload);
-        this.throwMissingFieldsExceptionIfNeeded((Map<String, String>) requestValidationResult.get("missing_fields"));
-        this.throwUnRequiredFieldsExceptionIfNeeded((List<String>) requestValidationResult.get("unauthorized_fields"));
+        long filterStart = RequestContext.startSpan();
+        boolean filtered = false;
+        try {
+            Map<String, Object> requestValidationResult = this.requestPayloadFilter(payload);
+            this.throwMissingFieldsExceptionIfNeeded((Map<String, String>) requestValidationResult.get("missing_fields"));
+            this.throwUnRequiredFieldsExceptionIfNeeded((List<String>) requestValidationResult.get("unauthorized_fields"));
+            filtered = true;
+        } finally {
+            RequestContext.endSpan(Phase.FILTER, filterStart, filtered);
+        }
 
+        Map<String, Object> snapshot = PayloadSnapshot.of(payload, this.getDeclaredFields());
+        long constraintStart = RequestContext.startSpan();
+        boolean constrained = false;
         try {
-            this.applyConstraintsOnRequestFields(payload);
+            this.applyConstraintsOnRequestFields(snapshot);
+            constrained = true;
         } catch (Exception error) {
-            throw new BadRequestContentException(new HashMap<>() {{
-                put("message", "invalid.request.fields");
-                put("details", new HashMap<String, Object>() {{
-                    put("error", error);
-                }});
-            }});
+            throw new BadRequestContentException(ErrorCode.INVALID_REQUEST_FIELDS, Map.of("error", error));
+        } finally {
+            RequestContext.endSpan(Phase.CONSTRAINT, constraintStart, constrained);
         }
 
-        this.requestId = UUID.randomUUID().toString();
-        this.requestParams = payload;
+        // Share the id of the bound request context, so code down the stack sees the same one.
+        RequestContext context = RequestContext.current();
+        this.requestId = context == null ? UUID.randomUUID().toString() : context.getRequestId();
+        this.requestParams = snapshot;
         
         return this;
     }
@@ -40,12 +53,7 @@ public abstract class Request extends RequestFilter implements RequestInterface
      */
     protected void throwMissingFieldsExceptionIfNeeded(Map<String, String> missingFields) throws BadRequestContentException {
         if (!missingFields.isEmpty()) {
-            throw new BadRequestContentException(new HashMap<>() {{
-                put("message", "missing.required.fields");
-                put("details", new HashMap<String, Map<String, String>>() {{
-                    put("missing_fields", missingFields);
-                }});
-            }});
+            throw new BadRequestContentException(ErrorCode.MISSING_REQUIRED_FIELDS, Map.of("missing_fields", missingFields));
         }
     }
 
@@ -54,12 +62,7 @@ public abstract class Request extends RequestFilter implements RequestInterface
      */
     protected void throwUnRequiredFieldsExceptionIfNeeded(List<String> unauthorizedFields) throws BadRequestContentException {
         if (!unauthorizedFields.isEmpty()) {
-            throw new BadRequestContentException(new HashMap<>() {{
-                put("message", "illegal.fields");
-                put("details", new HashMap<String, List<String>>() {{
-                    put("unrequired_fields", unauthorizedFields);
-                }});
-            }});
+            throw new BadRequestContentException(ErrorCode.ILLEGAL_FIELDS, Map.of("unrequired_fields", unauthorizedFields));
         }
     }
 
@@ -106,7 +109,11 @@ public abstract class Request extends RequestFilter implements RequestInterface
     @Override
     public Object get(String fieldName, Object defaultValue) {
         Object data = this.requestParams;
-        for (String key : fieldName.split("\\.")) {
+        int start = 0;
+        while (true) {
+            // Walk the dotted path without splitting it, top-level fields are looked up without allocation.
+            int end = fieldName.indexOf('.', start);
+            String key = start == 0 && end < 0 ? fieldName : fieldName.substring(start, end < 0 ? fieldName.length() : end);
             if (!(data instanceof Map)) {
                 return defaultValue;
             }
@@ -114,7 +121,10 @@ public abstract class Request extends RequestFilter implements RequestInterface
             if (data == null) {
                 return defaultValue;
             }
+            if (end < 0) {
+                return data;
+            }
+            start = end + 1;
         }
-        return data;
     }
 }
\ No newline at end of file
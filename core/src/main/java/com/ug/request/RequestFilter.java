@@ -1,5 +1,8 @@
 package com.ug.request;
 
+import com.ug.schema.RequestSchemaValidator;
+import com.ug.schema.RequestSchemas;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,12 +12,21 @@ public abstract class RequestFilter {
 
     /**
      * Filter request data to identify missing/unauthorized fields.
+     * The schema generated from {@link com.ug.schema.RequestSchema} is used when available,
+     * otherwise the fields returned by {@link #getRequestPossibleFields()} are used.
      *
      * @param requestPayload The request payload.
      * @return A map containing unauthorized and missing fields.
      */
     protected Map<String, Object> requestPayloadFilter(Map<String, Object> requestPayload) {
         Map<String, Object> result = new HashMap<>();
+        RequestSchemaValidator validator = RequestSchemas.validatorFor(this.getClass());
+        if (validator != null) {
+            result.put("unauthorized_fields", validator.findUnAuthorizedFields(requestPayload));
+            result.put("missing_fields", validator.findMissingFields(requestPayload));
+            return result;
+        }
+
         result.put("unauthorized_fields", findUnAuthorizedFields(requestPayload, this.getRequestPossibleFields(), ""));
         result.put("missing_fields", findMissingFields(this.getRequestPossibleFields(), requestPayload, ""));
         return result;
@@ -92,6 +104,16 @@ public abstract class RequestFilter {
         return value instanceof Map;
     }
 
+    /**
+     * Get the declared request fields: the ones of the generated schema when available, otherwise the possible ones.
+     *
+     * @return A map of the declared fields, nested objects being maps.
+     */
+    Map<String, Object> getDeclaredFields() {
+        RequestSchemaValidator validator = RequestSchemas.validatorFor(this.getClass());
+        return validator != null ? validator.getFields() : this.getRequestPossibleFields();
+    }
+
     /**
      * All possible request fields. Set field value to null by default.
      * Even if the field is not required, you have to register it into the fields list.
@@ -0,0 +1,119 @@
+package com.ug.response;
+
+import java.util.Map;
+
+/**
+ * Stable 64-bit hash of response content, computed by walking nested maps, lists and scalars the way they are
+ * serialized, without building the serialized form. Map entries are combined with a commutative sum, so the hash
+ * does not depend on the iteration order of the maps, while lists keep their order. The hash only depends on the
+ * content, so it is the same across JVMs and can be shared as an entity tag by several instances of a service.
+ * Lazy values are resolved, other objects are hashed as their string representation, as they are serialized.
+ */
+public final class ContentHash {
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long NULL = 0x6E756C6CL;
+    private static final long TRUE = 0x74727565L;
+    private static final long FALSE = 0x66616C73L;
+    private static final long INTEGER = 0x1L;
+    private static final long DECIMAL = 0x2L;
+    private static final long MAP = 0x3L;
+    private static final long LIST = 0x4L;
+    private static final long BYTES = 0x5L;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hash the given value.
+     *
+     * @param value The value, such as response data.
+     * @return The hash.
+     */
+    public static long of(Object value) {
+        value = LazyValue.resolve(value);
+        if (value == null) {
+            return NULL;
+        } else if (value instanceof String string) {
+            return ofString(string);
+        } else if (value instanceof Boolean bool) {
+            return bool ? TRUE : FALSE;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue() * MULTIPLIER + INTEGER);
+        } else if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()) * MULTIPLIER + DECIMAL);
+        } else if (value instanceof Map<?, ?> map) {
+            long sum = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sum += mix(ofString(String.valueOf(entry.getKey())) + Long.rotateLeft(of(entry.getValue()), 23) * MULTIPLIER);
+            }
+            return mix(sum + map.size() * MULTIPLIER + MAP);
+        } else if (value instanceof Iterable<?> iterable) {
+            long hash = LIST;
+            for (Object item : iterable) {
+                hash = mix(hash * MULTIPLIER + of(item));
+            }
+            return hash;
+        } else if (value instanceof Object[] array) {
+            long hash = LIST;
+            for (Object item : array) {
+                hash = mix(hash * MULTIPLIER + of(item));
+            }
+            return hash;
+        } else if (value instanceof byte[] bytes) {
+            long hash = FNV_OFFSET;
+            for (byte current : bytes) {
+                hash = (hash ^ (current & 0xFF)) * FNV_PRIME;
+            }
+            return mix(hash + BYTES);
+        } else if (value instanceof Throwable throwable) {
+            return ofString(String.valueOf(throwable.getMessage()));
+        }
+        return ofString(value.toString());
+    }
+
+    /**
+     * Hash the content of the given response: its status, status code, message and data.
+     *
+     * @param response The response.
+     * @return The hash.
+     */
+    public static long of(ResponseInterface response) {
+        long hash = response.isSuccess() ? TRUE : FALSE;
+        hash = mix(hash * MULTIPLIER + response.getStatusCode());
+        hash = mix(hash * MULTIPLIER + of(response.getMessage()));
+        return mix(hash * MULTIPLIER + of(response.getData()));
+    }
+
+    /**
+     * Get the strong entity tag of the given response, its quoted content hash.
+     *
+     * @param response The response.
+     * @return The entity tag, such as {@code "8f14e45fceea167a"}.
+     */
+    public static String entityTag(ResponseInterface response) {
+        String hex = Long.toHexString(of(response));
+        return "\"" + "0".repeat(16 - hex.length()) + hex + "\"";
+    }
+
+    private static long ofString(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Murmur3 finalizer, spreading every input bit over the whole hash.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ug.response;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Read-only list view of response data holding lazy values, resolving them on access, like {@link LazyDataMap}.
+ */
+final class LazyDataList extends AbstractList<Object> {
+    private final List<?> list;
+
+    LazyDataList(List<?> list) {
+        this.list = list;
+    }
+
+    @Override
+    public Object get(int index) {
+        return LazyDataMap.view(this.list.get(index));
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<?> elements = this.list.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return LazyDataMap.view(elements.next());
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.list.size();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ug.response;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-only map view of response data holding lazy values, resolving them on access at any depth: nested maps and
+ * lists are exposed as views too, so the data reads as plain maps, lists and scalars. When the data itself is lazy,
+ * it is only built on first access to any of its entries. A null data is seen as an empty map.
+ */
+final class LazyDataMap extends AbstractMap<String, Object> {
+    private final Supplier<? extends Map<String, Object>> data;
+
+    LazyDataMap(Supplier<? extends Map<String, Object>> data) {
+        this.data = data;
+    }
+
+    /**
+     * Get the view of a response data value: lazy values are resolved, maps and lists wrapped into views.
+     *
+     * @param value The response data value.
+     * @return The value view.
+     */
+    @SuppressWarnings("unchecked")
+    static Object view(Object value) {
+        value = LazyValue.resolve(value);
+        if (value instanceof Map<?, ?> map) {
+            return new LazyDataMap(() -> (Map<String, Object>) map);
+        }
+        if (value instanceof List<?> list) {
+            return new LazyDataList(list);
+        }
+        return value;
+    }
+
+    /**
+     * Check if the given response data value holds a lazy value, without resolving any.
+     *
+     * @param value The response data value.
+     * @return true if a lazy value was found, false otherwise.
+     */
+    static boolean containsLazy(Object value) {
+        if (value instanceof LazyValue<?>) {
+            return true;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return containsLazy(map.values());
+        }
+        if (value instanceof Collection<?> collection) {
+            for (Object element : collection) {
+                if (containsLazy(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> resolved = this.resolve();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> entries = resolved.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, Object> entry = entries.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), view(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return resolved.size();
+            }
+        };
+    }
+
+    @Override
+    public Object get(Object key) {
+        return view(this.resolve().get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.resolve().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.resolve().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.resolve().isEmpty();
+    }
+
+    private Map<String, Object> resolve() {
+        Map<String, Object> resolved = this.data.get();
+        return resolved == null ? Map.of() : resolved;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ug.response;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Response data value computed on first access only, then memoized.
+ * Use it for expensive response branches, so nothing is built when the response is never serialized,
+ * or when only another branch is read.
+ *
+ * @param <T> The value type.
+ */
+public final class LazyValue<T> implements Supplier<T> {
+    private Supplier<? extends T> supplier;
+    private volatile boolean resolved;
+    private T value;
+
+    private LazyValue(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Create a lazy value from the given supplier.
+     *
+     * @param supplier The value supplier, called at most once.
+     * @return The lazy value.
+     */
+    public static <T> LazyValue<T> of(Supplier<? extends T> supplier) {
+        return new LazyValue<>(supplier);
+    }
+
+    /**
+     * Create a lazy value from a stream supplier, collected into a list on first access.
+     *
+     * @param supplier The stream supplier, called at most once.
+     * @return The lazy value.
+     */
+    public static <T> LazyValue<List<T>> ofStream(Supplier<? extends Stream<T>> supplier) {
+        return new LazyValue<>(() -> {
+            try (Stream<T> stream = supplier.get()) {
+                return stream.toList();
+            }
+        });
+    }
+
+    /**
+     * Create an already resolved value.
+     *
+     * @param value The value.
+     * @return The resolved lazy value.
+     */
+    public static <T> LazyValue<T> resolved(T value) {
+        LazyValue<T> lazyValue = new LazyValue<>(null);
+        lazyValue.value = value;
+        lazyValue.resolved = true;
+        return lazyValue;
+    }
+
+    /**
+     * Get the value, computing it on first access.
+     *
+     * @return The value.
+     */
+    @Override
+    public T get() {
+        if (!this.resolved) {
+            synchronized (this) {
+                if (!this.resolved) {
+                    this.value = this.supplier.get();
+                    this.supplier = null;
+                    this.resolved = true;
+                }
+            }
+        }
+        return this.value;
+    }
+
+    /**
+     * Check if the value was already computed.
+     *
+     * @return true if the value was computed, false otherwise.
+     */
+    public boolean isResolved() {
+        return this.resolved;
+    }
+
+    /**
+     * Get the actual value of a response data value, computing it if it is lazy.
+     *
+     * @param value The response data value.
+     * @return The actual value.
+     */
+    public static Object resolve(Object value) {
+        return value instanceof LazyValue<?> lazyValue ? lazyValue.get() : value;
+    }
+
+    @Override
+    public String toString() {
+        return this.resolved ? String.valueOf(this.value) : "LazyValue[unresolved]";
+    }
+}
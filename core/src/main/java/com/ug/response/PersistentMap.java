@@ -0,0 +1,442 @@
+package com.ug.response;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable map sharing its structure between versions, a hash array mapped trie.
+ * {@link #with(Object, Object)} and {@link #without(Object)} return a new map in O(log32 n), copying only the
+ * path to the changed entry, so a usecase can build several variants of its response data from a common base.
+ * Mutation methods of {@link Map} throw {@link UnsupportedOperationException}. Keys must not be null.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entrySet;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the empty map.
+     *
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Create a persistent map holding the entries of the given map. Nested maps are kept as they are.
+     *
+     * @param map The map to copy, returned as is when already persistent.
+     * @return The persistent map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap) {
+            return (PersistentMap<K, V>) map;
+        }
+        PersistentMap<K, V> result = empty();
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Get a map with the given entry added or replaced.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The new map, or this map when the key is already bound to this same value.
+     */
+    public PersistentMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        boolean[] added = new boolean[1];
+        Node newRoot = this.root.put(0, hash(key), key, value, added);
+        if (newRoot == this.root) {
+            return this;
+        }
+        return new PersistentMap<>(newRoot, added[0] ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Get a map without the given key.
+     *
+     * @param key The key.
+     * @return The new map, or this map when the key is absent.
+     */
+    public PersistentMap<K, V> without(Object key) {
+        if (key == null) {
+            return this;
+        }
+        Node newRoot = this.root.remove(0, hash(key), key);
+        if (newRoot == this.root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, this.size - 1);
+    }
+
+    /**
+     * Get a map with the value at the given dotted path, as read by {@link Response#get(String)}.
+     * Missing or non map intermediate values are replaced by maps, other nested maps are copied into persistent
+     * ones along the path only.
+     *
+     * @param path The dotted path, for example "user.address.city".
+     * @param value The value.
+     * @return The new map.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentMap<K, V> withPath(String path, Object value) {
+        return (PersistentMap<K, V>) withPath((PersistentMap<Object, Object>) (PersistentMap<?, ?>) this, path.split("\\."), 0, value);
+    }
+
+    /**
+     * Get a map without the value at the given dotted path.
+     *
+     * @param path The dotted path, for example "user.address.city".
+     * @return The new map, or this map when the path is absent.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentMap<K, V> withoutPath(String path) {
+        return (PersistentMap<K, V>) withoutPath((PersistentMap<Object, Object>) (PersistentMap<?, ?>) this, path.split("\\."), 0);
+    }
+
+    @Override
+    public V get(Object key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : cast(value);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Object value = find(key);
+        return value == NOT_FOUND ? defaultValue : cast(value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator<>(PersistentMap.this.root);
+                }
+
+                @Override
+                public int size() {
+                    return PersistentMap.this.size;
+                }
+            };
+        }
+        return this.entrySet;
+    }
+
+    private Object find(Object key) {
+        return key == null ? NOT_FOUND : this.root.find(0, hash(key), key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    private static PersistentMap<Object, Object> withPath(PersistentMap<Object, Object> map, String[] keys, int index, Object value) {
+        if (index == keys.length - 1) {
+            return map.with(keys[index], value);
+        }
+        Object child = LazyValue.resolve(map.get(keys[index]));
+        PersistentMap<Object, Object> childMap = child instanceof Map<?, ?> nested ? copyOf(nested) : empty();
+        return map.with(keys[index], withPath(childMap, keys, index + 1, value));
+    }
+
+    private static PersistentMap<Object, Object> withoutPath(PersistentMap<Object, Object> map, String[] keys, int index) {
+        if (index == keys.length - 1) {
+            return map.without(keys[index]);
+        }
+        Object child = LazyValue.resolve(map.get(keys[index]));
+        if (!(child instanceof Map<?, ?> nested)) {
+            return map;
+        }
+        PersistentMap<Object, Object> childMap = copyOf(nested);
+        PersistentMap<Object, Object> newChildMap = withoutPath(childMap, keys, index + 1);
+        return newChildMap == childMap ? map : map.with(keys[index], newChildMap);
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Object[] set(Object[] array, int index, Object value) {
+        Object[] copy = array.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    private static Object[] insertPair(Object[] array, int index, Object key, Object value) {
+        Object[] copy = new Object[array.length + 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        copy[index] = key;
+        copy[index + 1] = value;
+        System.arraycopy(array, index, copy, index + 2, array.length - index);
+        return copy;
+    }
+
+    private static Object[] removePair(Object[] array, int index) {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+        return copy;
+    }
+
+    /**
+     * Trie node, an array of key and value pairs. A null key marks a pair whose value is a child node.
+     */
+    private abstract static class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        abstract Node remove(int shift, int hash, Object key);
+    }
+
+    /**
+     * Node of up to 32 pairs, indexed by 5 bits of the key hash at its depth.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((this.bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = index(bit);
+            Object storedKey = this.array[index];
+            Object storedValue = this.array[index + 1];
+            if (storedKey == null) {
+                return ((Node) storedValue).find(shift + 5, hash, key);
+            }
+            return key.equals(storedKey) ? storedValue : NOT_FOUND;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((this.bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, insertPair(this.array, index, key, value));
+            }
+            Object storedKey = this.array[index];
+            Object storedValue = this.array[index + 1];
+            if (storedKey == null) {
+                Node child = ((Node) storedValue).put(shift + 5, hash, key, value, added);
+                return child == storedValue ? this : new BitmapNode(this.bitmap, set(this.array, index + 1, child));
+            }
+            if (key.equals(storedKey)) {
+                return storedValue == value ? this : new BitmapNode(this.bitmap, set(this.array, index + 1, value));
+            }
+            added[0] = true;
+            Node child = merge(shift + 5, storedKey, storedValue, hash, key, value);
+            Object[] copy = set(this.array, index, null);
+            copy[index + 1] = child;
+            return new BitmapNode(this.bitmap, copy);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((this.bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object storedKey = this.array[index];
+            Object storedValue = this.array[index + 1];
+            if (storedKey == null) {
+                Node child = ((Node) storedValue).remove(shift + 5, hash, key);
+                if (child == storedValue) {
+                    return this;
+                }
+                if (child == null) {
+                    return this.bitmap == bit ? null : new BitmapNode(this.bitmap ^ bit, removePair(this.array, index));
+                }
+                if (child.array.length == 2 && child.array[0] != null) {
+                    Object[] copy = set(this.array, index, child.array[0]);
+                    copy[index + 1] = child.array[1];
+                    return new BitmapNode(this.bitmap, copy);
+                }
+                return new BitmapNode(this.bitmap, set(this.array, index + 1, child));
+            }
+            if (!key.equals(storedKey)) {
+                return this;
+            }
+            return this.bitmap == bit ? null : new BitmapNode(this.bitmap ^ bit, removePair(this.array, index));
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1)) * 2;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+
+        private static Node merge(int shift, Object firstKey, Object firstValue, int hash, Object key, Object value) {
+            int firstHash = hash(firstKey);
+            if (firstHash == hash) {
+                return new CollisionNode(hash, new Object[] {firstKey, firstValue, key, value});
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, firstHash, firstKey, firstValue, added).put(shift, hash, key, value, added);
+        }
+    }
+
+    /**
+     * Leaf node of the keys sharing the same full hash.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : this.array[index + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                Node parent = new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] {null, this});
+                return parent.put(shift, hash, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                return this.array[index + 1] == value ? this : new CollisionNode(hash, set(this.array, index + 1, value));
+            }
+            added[0] = true;
+            return new CollisionNode(hash, insertPair(this.array, this.array.length, key, value));
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            return this.array.length == 2 ? null : new CollisionNode(hash, removePair(this.array, index));
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (key.equals(this.array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Depth first iterator over the trie pairs.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Object[] array;
+        private int position;
+
+        EntryIterator(Node root) {
+            this.array = root.array;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.array != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (this.array == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new SimpleImmutableEntry<>(cast(this.array[this.position]), cast(this.array[this.position + 1]));
+            this.position += 2;
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            while (true) {
+                if (this.position < this.array.length) {
+                    if (this.array[this.position] != null) {
+                        return;
+                    }
+                    this.arrays.push(this.array);
+                    this.positions.push(this.position + 2);
+                    this.array = ((Node) this.array[this.position + 1]).array;
+                    this.position = 0;
+                } else if (this.arrays.isEmpty()) {
+                    this.array = null;
+                    return;
+                } else {
+                    this.array = this.arrays.pop();
+                    this.position = this.positions.pop();
+                }
+            }
+        }
+    }
+}
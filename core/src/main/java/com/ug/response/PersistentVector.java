@@ -0,0 +1,216 @@
+package com.ug.response;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list sharing its structure between versions, a 32-way trie with a tail buffer.
+ * {@link #with(Object)}, {@link #withAt(int, Object)} and {@link #withoutLast()} return a new list in O(log32 n),
+ * copying only the path to the changed element. Mutation methods of {@link java.util.List} throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <E> The element type.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final Object[] EMPTY_NODE = new Object[32];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 5, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Get the empty list.
+     *
+     * @return The empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Create a persistent list holding the elements of the given collection, in iteration order.
+     *
+     * @param elements The elements, returned as is when already a persistent list.
+     * @return The persistent list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentVector) {
+            return (PersistentVector<E>) elements;
+        }
+        PersistentVector<E> result = empty();
+        for (E element : elements) {
+            result = result.with(element);
+        }
+        return result;
+    }
+
+    /**
+     * Get a list with the given element appended.
+     *
+     * @param element The element.
+     * @return The new list.
+     */
+    public PersistentVector<E> with(E element) {
+        if (this.size - tailOffset() < 32) {
+            Object[] newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = element;
+            return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = this.shift;
+        if ((this.size >>> 5) > (1 << this.shift)) {
+            newRoot = new Object[32];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += 5;
+        } else {
+            newRoot = pushTail(this.shift, this.root, this.tail);
+        }
+        return new PersistentVector<>(this.size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Get a list with the element at the given index replaced, or appended when the index is the list size.
+     *
+     * @param index The element index.
+     * @param element The element.
+     * @return The new list.
+     */
+    public PersistentVector<E> withAt(int index, E element) {
+        if (index == this.size) {
+            return with(element);
+        }
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = this.tail.clone();
+            newTail[index & 31] = element;
+            return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+        }
+        return new PersistentVector<>(this.size, this.shift, assoc(this.shift, this.root, index, element), this.tail);
+    }
+
+    /**
+     * Get a list without its last element.
+     *
+     * @return The new list.
+     */
+    public PersistentVector<E> withoutLast() {
+        if (this.size == 0) {
+            throw new IllegalStateException("Can not remove the last element of an empty list");
+        }
+        if (this.size == 1) {
+            return empty();
+        }
+        if (this.size - tailOffset() > 1) {
+            return new PersistentVector<>(this.size - 1, this.shift, this.root, Arrays.copyOf(this.tail, this.tail.length - 1));
+        }
+        Object[] newTail = arrayFor(this.size - 2);
+        Object[] newRoot = popTail(this.shift, this.root);
+        int newShift = this.shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (this.shift > 5 && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= 5;
+        }
+        return new PersistentVector<>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) arrayFor(index)[index & 31];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+    }
+
+    private int tailOffset() {
+        return this.size < 32 ? 0 : ((this.size - 1) >>> 5) << 5;
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset()) {
+            return this.tail;
+        }
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= 5) {
+            node = (Object[]) node[(index >>> level) & 31];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int childIndex = ((this.size - 1) >>> level) & 31;
+        Object[] copy = parent.clone();
+        if (level == 5) {
+            copy[childIndex] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[childIndex];
+            copy[childIndex] = child == null ? newPath(level - 5, tailNode) : pushTail(level - 5, child, tailNode);
+        }
+        return copy;
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int childIndex = ((this.size - 2) >>> level) & 31;
+        if (level > 5) {
+            Object[] newChild = popTail(level - 5, (Object[]) node[childIndex]);
+            if (newChild == null && childIndex == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[childIndex] = newChild;
+            return copy;
+        }
+        if (childIndex == 0) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[childIndex] = null;
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[32];
+        path[0] = newPath(level - 5, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & 31] = element;
+        } else {
+            int childIndex = (index >>> level) & 31;
+            copy[childIndex] = assoc(level - 5, (Object[]) node[childIndex], index, element);
+        }
+        return copy;
+    }
+}
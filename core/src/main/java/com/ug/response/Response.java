@@ -0,0 +1,156 @@
+package com.ug.response;
+
+import com.ug.enums.Status;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class Response implements ResponseInterface {
+    private final boolean success;
+    private final int statusCode;
+    private final String message;
+    private final LazyValue<Map<String, Object>> data;
+    private volatile Boolean lazyBranches;
+
+    public Response(boolean success, int statusCode, String message, Map<String, Object> data) {
+        this(success, statusCode, message, LazyValue.resolved(data));
+    }
+
+    protected Response(boolean success, int statusCode, String message, LazyValue<Map<String, Object>> data) {
+        this.success = success;
+        this.statusCode = statusCode;
+        this.message = message;
+        this.data = data;
+    }
+
+    public static Response create(boolean success, int statusCode, String message, Map<String, Object> data) {
+        return new Response(success, statusCode, message, data);
+    }
+
+    /**
+     * Rebuild a response from its output, as returned by {@link #output()}.
+     *
+     * @param output The response output.
+     * @return The response.
+     */
+    @SuppressWarnings("unchecked")
+    public static Response fromOutput(Map<String, Object> output) {
+        boolean success = Status.SUCCESS.getValue().equals(output.get("status"));
+        Object data = output.get(success ? "data" : "details");
+        return create(
+            success,
+            ((Number) output.get("code")).intValue(),
+            (String) output.get("message"),
+            data == null ? null : (Map<String, Object>) data
+        );
+    }
+
+    /**
+     * Create a response whose data is only built on first access, then memoized.
+     * Until then, {@link #output()} carries a map view of the data, built on first access to its entries.
+     * Like lazy branches, the data is then read as plain maps, lists and scalars.
+     *
+     * @param success The response status.
+     * @param statusCode The response status code.
+     * @param message The response message.
+     * @param data The response data supplier.
+     * @return The response.
+     */
+    public static Response lazy(boolean success, int statusCode, String message, Supplier<Map<String, Object>> data) {
+        return new Response(success, statusCode, message, LazyValue.of(data));
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Get the response data. When it holds lazy branches, a read-only view resolving them on access is returned, so the
+     * data reads as plain maps, lists and scalars.
+     *
+     * @return The response data.
+     */
+    @Override
+    public Map<String, Object> getData() {
+        Map<String, Object> resolved = this.data.get();
+        return resolved != null && this.hasLazyBranches(resolved) ? new LazyDataMap(this.data) : resolved;
+    }
+
+    /**
+     * Check if the response data was already built.
+     *
+     * @return true if the data was built, false otherwise.
+     */
+    public boolean isDataResolved() {
+        return data.isResolved();
+    }
+
+    /**
+     * Get specific field from response. Lazy values are only computed along the given path.
+     *
+     * @param fieldName The name of the field to get.
+     * @return The value of the specified field.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(String fieldName) {
+        Object value = this.data.get();
+        for (String key : fieldName.split("\\.")) {
+            if (!(value instanceof Map)) {
+                return null;
+            }
+            value = LazyValue.resolve(((Map<String, Object>) value).get(key));
+            if (value == null) {
+                return null;
+            }
+        }
+        return LazyDataMap.containsLazy(value) ? LazyDataMap.view(value) : value;
+    }
+
+    @Override
+    public Map<String, Object> output() {
+        Map<String, Object> output = new HashMap<>();
+        output.put("status", status());
+        output.put("code", statusCode);
+        output.put("message", message);
+        putDataKeyAccordingToResponseStatus(output);
+        return output;
+    }
+
+    /**
+     * Check once if the resolved data holds lazy branches, responses being immutable once presented.
+     */
+    private boolean hasLazyBranches(Map<String, Object> resolved) {
+        Boolean found = this.lazyBranches;
+        if (found == null) {
+            found = LazyDataMap.containsLazy(resolved);
+            this.lazyBranches = found;
+        }
+        return found;
+    }
+
+    private String status() {
+        return isSuccess() ? Status.SUCCESS.getValue() : Status.ERROR.getValue();
+    }
+
+    private void putDataKeyAccordingToResponseStatus(Map<String, Object> output) {
+        Map<String, Object> responseData = this.data.isResolved() ? this.getData() : new LazyDataMap(this.data);
+        if (isSuccess()) {
+            output.put("data", responseData);
+        } else {
+            output.put("details", responseData);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.ug.response;
+
+public enum StatusCode {
+    OK(200),
+    CREATED(201),
+    ACCEPTED(202),
+    NO_CONTENT(204),
+    NOT_MODIFIED(304),
+    BAD_REQUEST(400),
+    UNAUTHORIZED(401),
+    FORBIDDEN(403),
+    NOT_FOUND(404),
+    METHOD_NOT_ALLOWED(405),
+    CONFLICT(409),
+    GONE(410),
+    PAYLOAD_TOO_LARGE(413),
+    UNPROCESSABLE_ENTITY(422),
+    TOO_MANY_REQUESTS(429),
+    INTERNAL_SERVER_ERROR(500),
+    NOT_IMPLEMENTED(501),
+    BAD_GATEWAY(502),
+    SERVICE_UNAVAILABLE(503),
+    GATEWAY_TIMEOUT(504);
+
+    private final int value;
+
+    StatusCode(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return value;
+    }
+}
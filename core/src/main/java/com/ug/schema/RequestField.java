@@ -0,0 +1,28 @@
+package com.ug.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare a single request field into a {@link RequestSchema}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({})
+public @interface RequestField {
+    /**
+     * The field name. Use dotted names for nested fields, e.g. "address.city".
+     *
+     * @return The field name.
+     */
+    String name();
+
+    /**
+     * Whether the field is required into the request payload.
+     *
+     * @return true if the field is required, false otherwise.
+     */
+    boolean required() default true;
+}
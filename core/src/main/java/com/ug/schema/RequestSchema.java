@@ -0,0 +1,25 @@
+package com.ug.schema;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare the possible fields of an application request at compile time.
+ * The schema processor generates a {@code <RequestName>Schema} class next to the annotated request,
+ * holding a straight-line validator and field accessors. When this class is present, it is used by
+ * {@link com.ug.request.Request#createFromPayload(java.util.Map)} in place of {@code getRequestPossibleFields()}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface RequestSchema {
+    /**
+     * All possible request fields. Nested fields are declared with dotted names, e.g. "address.city".
+     *
+     * @return The request fields.
+     */
+    RequestField[] value();
+}
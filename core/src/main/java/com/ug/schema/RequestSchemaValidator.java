@@ -0,0 +1,32 @@
+package com.ug.schema;
+
+import java.util.List;
+import java.util.Map;
+
+public interface RequestSchemaValidator {
+    /**
+     * Find unauthorized fields from request.
+     *
+     * @param requestPayload The request payload.
+     * @return A list of unauthorized fields.
+     */
+    List<String> findUnAuthorizedFields(Map<String, Object> requestPayload);
+
+    /**
+     * Find missing fields from request.
+     *
+     * @param requestPayload The request payload.
+     * @return A map of missing fields with their error messages.
+     */
+    Map<String, String> findMissingFields(Map<String, Object> requestPayload);
+
+    /**
+     * Get the declared fields, in the format of {@code Request#getRequestPossibleFields()}: nested objects are maps,
+     * value fields are mapped to whether they are required.
+     *
+     * @return The declared fields.
+     */
+    default Map<String, Object> getFields() {
+        return Map.of();
+    }
+}
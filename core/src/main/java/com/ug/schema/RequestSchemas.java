@@ -0,0 +1,77 @@
+package com.ug.schema;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+public final class RequestSchemas {
+    /**
+     * Suffix appended by the schema processor to the generated class name.
+     */
+    public static final String GENERATED_CLASS_SUFFIX = "Schema";
+
+    private static final ClassValue<Optional<RequestSchemaValidator>> VALIDATORS = new ClassValue<>() {
+        @Override
+        protected Optional<RequestSchemaValidator> computeValue(Class<?> requestClass) {
+            return Optional.ofNullable(loadValidator(requestClass));
+        }
+    };
+
+    private RequestSchemas() {}
+
+    /**
+     * Get the generated validator of the given request class.
+     * The schema of the closest annotated superclass is used when the class itself is not annotated, unless the class
+     * overrides {@code getRequestPossibleFields()}: its fields are then the ones of the override.
+     * The lookup is done once per class, then cached.
+     *
+     * @param requestClass The request class.
+     * @return The generated validator, or null if the request class has no generated schema.
+     */
+    public static RequestSchemaValidator validatorFor(Class<?> requestClass) {
+        return VALIDATORS.get(requestClass).orElse(null);
+    }
+
+    /**
+     * Get the name of the class generated for the given request class.
+     *
+     * @param requestClass The request class.
+     * @return The fully qualified generated class name.
+     */
+    public static String generatedClassName(Class<?> requestClass) {
+        String packageName = requestClass.getPackageName();
+        String binaryName = requestClass.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String simpleName = binaryName.replace('$', '_') + GENERATED_CLASS_SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static RequestSchemaValidator loadValidator(Class<?> requestClass) {
+        Class<?> superClass = requestClass.getSuperclass();
+        RequestSchemaValidator inherited = superClass == null || superClass == Object.class || declaresPossibleFields(requestClass)
+            ? null
+            : validatorFor(superClass);
+        if (requestClass.isAnonymousClass() || requestClass.isLocalClass()) {
+            return inherited;
+        }
+
+        try {
+            Class<?> generatedClass = Class.forName(generatedClassName(requestClass), true, requestClass.getClassLoader());
+            if (!RequestSchemaValidator.class.isAssignableFrom(generatedClass)) {
+                return inherited;
+            }
+            return (RequestSchemaValidator) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException error) {
+            return inherited;
+        } catch (ReflectiveOperationException error) {
+            throw new IllegalStateException("Unable to instantiate schema of " + requestClass.getName(), error);
+        }
+    }
+
+    private static boolean declaresPossibleFields(Class<?> requestClass) {
+        for (Method method : requestClass.getDeclaredMethods()) {
+            if (method.getName().equals("getRequestPossibleFields") && method.getParameterCount() == 0 && !method.isBridge()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,360 @@
+package com.ug.schema.processor;
+
+import com.ug.schema.RequestField;
+import com.ug.schema.RequestSchema;
+import com.ug.schema.RequestSchemas;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generate a straight-line validator and field accessors for each request annotated with {@link RequestSchema}.
+ * The generated code behaves exactly like the map based filter of {@link com.ug.request.RequestFilter},
+ * without building the possible fields map nor walking it at runtime.
+ */
+@SupportedAnnotationTypes("com.ug.schema.RequestSchema")
+public class RequestSchemaProcessor extends AbstractProcessor {
+    private static final String REQUEST_CLASS = "com.ug.request.Request";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RequestSchema.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@RequestSchema can only be applied on request classes.");
+                continue;
+            }
+
+            TypeElement requestElement = (TypeElement) element;
+            if (!isRequest(requestElement)) {
+                error(element, "@RequestSchema can only be applied on subclasses of " + REQUEST_CLASS + ".");
+                continue;
+            }
+
+            Node schema = buildSchema(requestElement);
+            if (schema != null) {
+                writeSchema(requestElement, schema);
+            }
+        }
+        return true;
+    }
+
+    private boolean isRequest(TypeElement element) {
+        TypeElement requestElement = processingEnv.getElementUtils().getTypeElement(REQUEST_CLASS);
+        if (requestElement == null) {
+            return false;
+        }
+        TypeMirror requestType = processingEnv.getTypeUtils().erasure(requestElement.asType());
+        return processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(element.asType()), requestType);
+    }
+
+    private Node buildSchema(TypeElement element) {
+        Node root = new Node("", "");
+        for (RequestField field : element.getAnnotation(RequestSchema.class).value()) {
+            String[] names = field.name().split("\\.", -1);
+            Node node = root;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].isEmpty()) {
+                    error(element, "Invalid request field name \"" + field.name() + "\".");
+                    return null;
+                }
+                if (node.leaf) {
+                    error(element, "Request field \"" + node.path + "\" is declared both as a value and as an object.");
+                    return null;
+                }
+
+                boolean last = i == names.length - 1;
+                Node child = node.children.get(names[i]);
+                if (child == null) {
+                    child = new Node(names[i], node.path.isEmpty() ? names[i] : node.path + "." + names[i]);
+                    child.leaf = last;
+                    child.required = last && field.required();
+                    node.children.put(names[i], child);
+                } else if (last) {
+                    error(element, "Request field \"" + child.path + "\" is declared more than once.");
+                    return null;
+                }
+                node = child;
+            }
+        }
+        return root;
+    }
+
+    private void writeSchema(TypeElement requestElement, Node schema) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(requestElement);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = generatedSimpleName(requestElement);
+
+        List<Node> objects = new ArrayList<>();
+        collectObjects(schema, objects);
+        List<Node> fields = new ArrayList<>();
+        collectFields(schema, fields);
+
+        Set<String> accessors = new HashSet<>();
+        for (Node field : fields) {
+            if (!accessors.add(accessorName(field))) {
+                error(requestElement, "Request field \"" + field.path + "\" collides with another field accessor " + accessorName(field) + "().");
+                return;
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import com.ug.request.RequestInterface;\n")
+            .append("import com.ug.schema.RequestSchemaValidator;\n\n")
+            .append("import java.util.ArrayList;\n")
+            .append("import java.util.HashMap;\n")
+            .append("import java.util.List;\n")
+            .append("import java.util.Map;\n\n")
+            .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("@SuppressWarnings(\"unchecked\")\n")
+            .append("public final class ").append(className).append(" implements RequestSchemaValidator {\n");
+        source.append("    private static final Map<String, Object> FIELDS = ");
+        writeFields(source, schema);
+        source.append(";\n\n");
+
+        source.append("    @Override\n")
+            .append("    public List<String> findUnAuthorizedFields(Map<String, Object> requestPayload) {\n")
+            .append("        List<String> found = unauthorized0(requestPayload, null);\n")
+            .append("        return found == null ? List.of() : found;\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public Map<String, String> findMissingFields(Map<String, Object> requestPayload) {\n")
+            .append("        Map<String, String> found = missing0(requestPayload, null);\n")
+            .append("        return found == null ? Map.of() : found;\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public Map<String, Object> getFields() {\n")
+            .append("        return FIELDS;\n")
+            .append("    }\n");
+
+        for (Node field : fields) {
+            writeAccessor(source, field);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            writeUnauthorized(source, objects, i);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            writeMissing(source, objects, i);
+        }
+
+        source.append("\n    private static List<String> add(List<String> found, String field) {\n")
+            .append("        if (found == null) {\n")
+            .append("            found = new ArrayList<>();\n")
+            .append("        }\n")
+            .append("        found.add(field);\n")
+            .append("        return found;\n")
+            .append("    }\n\n")
+            .append("    private static Map<String, String> put(Map<String, String> found, String field, String error) {\n")
+            .append("        if (found == null) {\n")
+            .append("            found = new HashMap<>();\n")
+            .append("        }\n")
+            .append("        found.put(field, error);\n")
+            .append("        return found;\n")
+            .append("    }\n")
+            .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, requestElement);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException error) {
+            error(requestElement, "Unable to write request schema " + qualifiedName + ": " + error.getMessage());
+        }
+    }
+
+    private void writeAccessor(StringBuilder source, Node field) {
+        String[] names = field.path.split("\\.");
+        source.append("\n    /**\n")
+            .append("     * Get the \"").append(field.path).append("\" field value from the request data.\n")
+            .append("     *\n")
+            .append("     * @param request The request.\n")
+            .append("     * @return The field value, or null if the field is missing.\n")
+            .append("     */\n")
+            .append("    public static Object ").append(accessorName(field)).append("(RequestInterface request) {\n")
+            .append("        Object value = request.toArray().get(").append(literal(names[0])).append(");\n");
+        for (int i = 1; i < names.length; i++) {
+            String name = names[i];
+            source.append("        if (!(value instanceof Map)) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        value = ((Map<String, Object>) value).get(").append(literal(name)).append(");\n");
+        }
+        source.append("        return value;\n")
+            .append("    }\n");
+    }
+
+    private void writeUnauthorized(StringBuilder source, List<Node> objects, int index) {
+        Node object = objects.get(index);
+        String prefix = object.path.isEmpty() ? "" : object.path + ".";
+        source.append("\n    private static List<String> unauthorized").append(index)
+            .append("(Map<String, Object> requestPayload, List<String> found) {\n")
+            .append("        for (Map.Entry<String, Object> entry : requestPayload.entrySet()) {\n")
+            .append("            switch (entry.getKey()) {\n");
+        for (Node child : object.children.values()) {
+            source.append("                case ").append(literal(child.name)).append(":\n");
+            if (!child.leaf) {
+                source.append("                    if (entry.getValue() instanceof Map) {\n")
+                    .append("                        found = unauthorized").append(objects.indexOf(child))
+                    .append("((Map<String, Object>) entry.getValue(), found);\n")
+                    .append("                    }\n");
+            }
+            source.append("                    break;\n");
+        }
+        source.append("                default:\n")
+            .append("                    found = add(found, ")
+            .append(prefix.isEmpty() ? "entry.getKey()" : literal(prefix) + " + entry.getKey()").append(");\n")
+            .append("            }\n")
+            .append("        }\n")
+            .append("        return found;\n")
+            .append("    }\n");
+    }
+
+    private void writeMissing(StringBuilder source, List<Node> objects, int index) {
+        Node object = objects.get(index);
+        source.append("\n    private static Map<String, String> missing").append(index)
+            .append("(Map<String, Object> requestPayload, Map<String, String> found) {\n");
+        for (Node child : object.children.values()) {
+            String name = literal(child.name);
+            if (child.leaf) {
+                if (child.required) {
+                    source.append("        if (!requestPayload.containsKey(").append(name).append(")) {\n")
+                        .append("            found = put(found, ").append(literal(child.path)).append(", \"required\");\n")
+                        .append("        }\n");
+                }
+                continue;
+            }
+            String variable = "value" + objects.indexOf(child);
+            source.append("        Object ").append(variable).append(" = requestPayload.get(").append(name).append(");\n")
+                .append("        if (").append(variable).append(" instanceof Map) {\n")
+                .append("            found = missing").append(objects.indexOf(child))
+                .append("((Map<String, Object>) ").append(variable).append(", found);\n")
+                .append("        } else if (").append(variable).append(" != null || requestPayload.containsKey(").append(name).append(")) {\n")
+                .append("            found = put(found, ").append(literal(child.path)).append(", \"required field type not matching array\");\n")
+                .append("        }\n");
+        }
+        source.append("        return found;\n")
+            .append("    }\n");
+    }
+
+    private static void writeFields(StringBuilder source, Node object) {
+        source.append("Map.ofEntries(");
+        boolean first = true;
+        for (Node child : object.children.values()) {
+            source.append(first ? "" : ", ").append("Map.entry(").append(literal(child.name)).append(", ");
+            if (child.leaf) {
+                source.append(child.required);
+            } else {
+                writeFields(source, child);
+            }
+            source.append(')');
+            first = false;
+        }
+        source.append(')');
+    }
+
+    private static void collectObjects(Node node, List<Node> objects) {
+        objects.add(node);
+        for (Node child : node.children.values()) {
+            if (!child.leaf) {
+                collectObjects(child, objects);
+            }
+        }
+    }
+
+    private static void collectFields(Node node, List<Node> fields) {
+        for (Node child : node.children.values()) {
+            fields.add(child);
+            collectFields(child, fields);
+        }
+    }
+
+    private static String generatedSimpleName(TypeElement element) {
+        StringBuilder name = new StringBuilder(element.getSimpleName());
+        Element enclosing = element.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(RequestSchemas.GENERATED_CLASS_SUFFIX).toString();
+    }
+
+    private static String accessorName(Node field) {
+        StringBuilder name = new StringBuilder("get");
+        boolean upper = true;
+        for (char character : field.path.toCharArray()) {
+            if (!Character.isJavaIdentifierPart(character)) {
+                upper = true;
+            } else if (character == '_') {
+                upper = true;
+            } else {
+                name.append(upper ? Character.toUpperCase(character) : character);
+                upper = false;
+            }
+        }
+        return name.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        literal.append(character);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Node {
+        private final String name;
+        private final String path;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean leaf;
+        private boolean required;
+
+        private Node(String name, String path) {
+            this.name = name;
+            this.path = path;
+        }
+    }
+}
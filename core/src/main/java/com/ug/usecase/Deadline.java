@@ -0,0 +1,101 @@
+package com.ug.usecase;
+
+import com.ug.exception.ErrorCode;
+import com.ug.exception.UsecaseTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Point in time after which a usecase execution result is no longer expected.
+ * Based on {@link System#nanoTime()}, so it is only meaningful inside the current process.
+ */
+public final class Deadline {
+    private final long deadlineNanos;
+    private final long timeoutNanos;
+
+    private Deadline(long deadlineNanos, long timeoutNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Create a deadline expiring after the given timeout.
+     *
+     * @param timeout The timeout, from now.
+     * @return The deadline.
+     */
+    public static Deadline after(Duration timeout) {
+        long timeoutNanos = timeout.toNanos();
+        return new Deadline(System.nanoTime() + timeoutNanos, timeoutNanos);
+    }
+
+    /**
+     * Check if the deadline has passed.
+     *
+     * @return true if the deadline has passed, false otherwise.
+     */
+    public boolean isExpired() {
+        return this.remainingNanos() <= 0;
+    }
+
+    /**
+     * Get the time left before the deadline, negative once it has passed.
+     *
+     * @return The remaining time in nanoseconds.
+     */
+    public long remainingNanos() {
+        return this.deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Get the time left before the deadline.
+     *
+     * @return The remaining time, or zero once the deadline has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, this.remainingNanos()));
+    }
+
+    /**
+     * Get the timeout the deadline was created with.
+     *
+     * @return The timeout.
+     */
+    public Duration getTimeout() {
+        return Duration.ofNanos(this.timeoutNanos);
+    }
+
+    /**
+     * Get the earliest of this deadline and the given one.
+     *
+     * @param other The other deadline, may be null.
+     * @return The earliest deadline.
+     */
+    public Deadline min(Deadline other) {
+        if (other == null || this.deadlineNanos - other.deadlineNanos <= 0) {
+            return this;
+        }
+        return other;
+    }
+
+    /**
+     * Throws an error if the deadline has passed or the current thread was interrupted.
+     *
+     * @throws UsecaseTimeoutException If the deadline has passed.
+     */
+    public void check() throws UsecaseTimeoutException {
+        if (this.isExpired() || Thread.currentThread().isInterrupted()) {
+            throw this.timeoutException();
+        }
+    }
+
+    /**
+     * Create the error raised once the deadline has passed.
+     *
+     * @return The timeout error.
+     */
+    public UsecaseTimeoutException timeoutException() {
+        return new UsecaseTimeoutException(ErrorCode.USECASE_TIMEOUT, Map.of("timeout_ms", this.getTimeout().toMillis()));
+    }
+}
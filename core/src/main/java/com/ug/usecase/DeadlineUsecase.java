@@ -0,0 +1,186 @@
+package com.ug.usecase;
+
+import com.ug.context.RequestContext;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCode;
+import com.ug.exception.UsecaseTimeoutException;
+import com.ug.presenter.PresenterInterface;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Run the decorated usecase on a virtual thread and stop waiting for it once its deadline has passed.
+ * The usecase thread is then interrupted, and a timeout response is sent to the presenter instead of
+ * the usecase one. Without presenter, a {@link UsecaseTimeoutException} is thrown. When the calling thread is
+ * interrupted while waiting, the usecase thread is interrupted too and a {@link CancellationException} is thrown,
+ * the calling thread keeping its interrupted status.
+ * <p>
+ * The decorated usecase is bound to the execution presenter and deadline for the time of the execution only. It can
+ * not be executed again while a timed out execution is still running on it: prefer one instance per execution.
+ */
+public class DeadlineUsecase extends UsecaseDecorator {
+    private final Duration timeout;
+    private Thread abandonedExecution;
+
+    public DeadlineUsecase(UsecaseInterface usecase) {
+        this(usecase, null);
+    }
+
+    /**
+     * @param usecase The decorated usecase.
+     * @param timeout The timeout applied to each execution when no deadline is set.
+     */
+    public DeadlineUsecase(UsecaseInterface usecase, Duration timeout) {
+        super(usecase);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        this.reclaimAbandonedExecution();
+        Deadline executionDeadline = this.deadline;
+        if (executionDeadline == null && this.timeout != null) {
+            executionDeadline = Deadline.after(this.timeout);
+        }
+        if (executionDeadline == null) {
+            this.usecase.execute();
+            return;
+        }
+
+        DeadlinePresenter deadlinePresenter = new DeadlinePresenter(this.presenter);
+        this.usecase.withDeadline(executionDeadline);
+        this.usecase.withPresenter(deadlinePresenter);
+        boolean abandoned = false;
+        try {
+            if (executionDeadline.isExpired()) {
+                this.presentTimeout(deadlinePresenter, executionDeadline);
+                return;
+            }
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread execution = Thread.ofVirtual().name("usecase-deadline").start(RequestContext.wrap(() -> {
+                try {
+                    this.usecase.execute();
+                } catch (Throwable error) {
+                    failure.set(error);
+                }
+            }));
+
+            boolean finished;
+            try {
+                finished = execution.join(executionDeadline.remaining());
+            } catch (InterruptedException error) {
+                execution.interrupt();
+                this.abandonedExecution = execution;
+                abandoned = true;
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Waiting for the usecase execution was interrupted.");
+            }
+            if (!finished) {
+                execution.interrupt();
+                this.abandonedExecution = execution;
+                abandoned = true;
+                this.presentTimeout(deadlinePresenter, executionDeadline);
+                return;
+            }
+
+            Throwable error = failure.get();
+            if (error instanceof UsecaseTimeoutException) {
+                this.presentTimeout(deadlinePresenter, executionDeadline);
+            } else if (error instanceof BaseException baseException) {
+                throw baseException;
+            } else if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (error instanceof Error fatalError) {
+                throw fatalError;
+            } else if (error != null) {
+                throw new UndeclaredThrowableException(error);
+            }
+        } finally {
+            // An abandoned execution keeps its expired presenter, so its late response is dropped.
+            if (!abandoned) {
+                this.restoreBindings();
+            }
+        }
+    }
+
+    /**
+     * Rebind the decorated usecase to this decorator presenter and deadline once its abandoned execution has ended.
+     *
+     * @throws IllegalStateException If a timed out execution of the decorated usecase is still running.
+     */
+    private void reclaimAbandonedExecution() {
+        if (this.abandonedExecution == null) {
+            return;
+        }
+        if (this.abandonedExecution.isAlive()) {
+            throw new IllegalStateException("A timed out execution of the decorated usecase is still running, use a new instance per execution.");
+        }
+        this.abandonedExecution = null;
+        this.restoreBindings();
+    }
+
+    /**
+     * Get the timed out execution still holding the decorated usecase, if any.
+     */
+    Thread getAbandonedExecution() {
+        return this.abandonedExecution;
+    }
+
+    private void restoreBindings() {
+        this.usecase.withPresenter(this.presenter);
+        this.usecase.withDeadline(this.deadline);
+    }
+
+    private void presentTimeout(DeadlinePresenter deadlinePresenter, Deadline executionDeadline) throws UsecaseTimeoutException {
+        if (this.presenter == null) {
+            throw executionDeadline.timeoutException();
+        }
+        deadlinePresenter.expire(Response.create(
+            false,
+            ErrorCode.USECASE_TIMEOUT.getStatusCode().getValue(),
+            ErrorCode.USECASE_TIMEOUT.getMessage(),
+            Map.of("timeout_ms", executionDeadline.getTimeout().toMillis())
+        ));
+    }
+
+    /**
+     * Presenter given to the decorated usecase, dropping the responses sent once the deadline has passed.
+     */
+    private static final class DeadlinePresenter implements PresenterInterface {
+        private final PresenterInterface presenter;
+        private boolean expired;
+
+        private DeadlinePresenter(PresenterInterface presenter) {
+            this.presenter = presenter;
+        }
+
+        @Override
+        public synchronized void present(ResponseInterface response) {
+            if (!this.expired && this.presenter != null) {
+                this.presenter.present(response);
+            }
+        }
+
+        private synchronized void expire(ResponseInterface timeoutResponse) {
+            this.expired = true;
+            this.presenter.present(timeoutResponse);
+        }
+
+        @Override
+        public ResponseInterface getResponse() {
+            return this.presenter == null ? null : this.presenter.getResponse();
+        }
+
+        @Override
+        public Map<String, Object> getFormattedResponse() {
+            return this.presenter == null ? null : this.presenter.getFormattedResponse();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ug.usecase;
+
+import com.ug.exception.UsecaseTimeoutException;
+import com.ug.presenter.PresenterInterface;
+import com.ug.presenter.StreamingPresenterInterface;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+public abstract class Usecase implements UsecaseInterface {
+    protected RequestInterface request;
+    protected PresenterInterface presenter;
+    protected Deadline deadline;
+
+    /**
+     * Set presenter to get usecase response.
+     *
+     * @param presenter The presenter to get usecase response
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withPresenter(PresenterInterface presenter) {
+        this.presenter = presenter;
+        return this;
+    }
+
+    /**
+     * Set applicative request to be processed by usecase.
+     *
+     * @param request The applicative request
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withRequest(RequestInterface request) {
+        this.request = request;
+        return this;
+    }
+
+    /**
+     * Set the deadline after which the usecase result is no longer expected.
+     *
+     * @param deadline The deadline, or null for no deadline
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Transport given response to infrastructure layer.
+     *
+     * @param response The response to transport
+     */
+    protected void presentResponse(ResponseInterface response) {
+        this.presenter.present(response);
+    }
+
+    /**
+     * Transport given response envelope, then its data chunks, to infrastructure layer.
+     * When the presenter cannot stream, chunks are collected under the "items" data key and presented at once.
+     *
+     * @param envelope The response envelope: status, code, message and optional metadata
+     * @param data The data chunks publisher
+     */
+    protected void presentStream(ResponseInterface envelope, Flow.Publisher<?> data) {
+        if (this.presenter instanceof StreamingPresenterInterface streamingPresenter) {
+            streamingPresenter.presentStream(envelope, data);
+            return;
+        }
+
+        List<Object> items = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        data.subscribe(new Flow.Subscriber<Object>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+
+        try {
+            done.get();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(error);
+        } catch (ExecutionException error) {
+            throw new IllegalStateException(error.getCause());
+        }
+
+        Map<String, Object> responseData = envelope.getData() == null ? new HashMap<>() : new HashMap<>(envelope.getData());
+        responseData.put("items", items);
+        this.presentResponse(Response.create(envelope.isSuccess(), envelope.getStatusCode(), envelope.getMessage(), responseData));
+    }
+
+    /**
+     * Get request data.
+     *
+     * @return Map<String, Object>
+     */
+    protected Map<String, Object> getRequestData() {
+        return this.request.toArray();
+    }
+
+    /**
+     * Get application request unique id.
+     */
+    protected String getRequestId() {
+        return this.request.getRequestId();
+    }
+
+    /**
+     * Get the usecase execution deadline.
+     *
+     * @return The deadline, or null if there is none.
+     */
+    protected Deadline getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Check if the usecase execution deadline has passed.
+     *
+     * @return true if the deadline has passed, false otherwise.
+     */
+    protected boolean isDeadlineExceeded() {
+        return this.deadline != null && this.deadline.isExpired();
+    }
+
+    /**
+     * Stop the usecase execution if its deadline has passed or its thread was interrupted.
+     * Call it between expensive steps of long-running usecases.
+     *
+     * @throws UsecaseTimeoutException If the deadline has passed.
+     */
+    protected void checkDeadline() throws UsecaseTimeoutException {
+        if (this.deadline != null) {
+            this.deadline.check();
+        }
+    }
+
+    protected Object getField(String fieldName) {
+        return this.request.get(fieldName);
+    }
+
+    protected Object getField(String fieldName, Object defaultValue) {
+        return this.request.get(fieldName, defaultValue);
+    }
+}
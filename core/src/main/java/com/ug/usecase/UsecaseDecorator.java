@@ -0,0 +1,63 @@
+package com.ug.usecase;
+
+import com.ug.presenter.PresenterInterface;
+import com.ug.request.RequestInterface;
+
+public abstract class UsecaseDecorator implements UsecaseInterface {
+    protected final UsecaseInterface usecase;
+    protected RequestInterface request;
+    protected PresenterInterface presenter;
+    protected Deadline deadline;
+
+    protected UsecaseDecorator(UsecaseInterface usecase) {
+        this.usecase = usecase;
+    }
+
+    /**
+     * Set applicative request to be processed by the decorated usecase.
+     *
+     * @param request The applicative request
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withRequest(RequestInterface request) {
+        this.request = request;
+        this.usecase.withRequest(request);
+        return this;
+    }
+
+    /**
+     * Set presenter to get the decorated usecase response.
+     *
+     * @param presenter The presenter to get usecase response
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withPresenter(PresenterInterface presenter) {
+        this.presenter = presenter;
+        this.usecase.withPresenter(presenter);
+        return this;
+    }
+
+    /**
+     * Set the deadline of the decorated usecase.
+     *
+     * @param deadline The deadline, or null for no deadline
+     * @return this
+     */
+    @Override
+    public UsecaseInterface withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        this.usecase.withDeadline(deadline);
+        return this;
+    }
+
+    /**
+     * Get the decorated usecase.
+     *
+     * @return The decorated usecase.
+     */
+    public UsecaseInterface getUsecase() {
+        return this.usecase;
+    }
+}
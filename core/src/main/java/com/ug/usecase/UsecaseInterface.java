@@ -25,4 +25,15 @@ public interface UsecaseInterface {
      * @return The current instance of the use case.
      */
     UsecaseInterface withPresenter(PresenterInterface presenter);
+
+    /**
+     * Set the deadline after which the usecase result is no longer expected.
+     * Ignored by default, for usecases which do not check their deadline.
+     *
+     * @param deadline The deadline, or null for no deadline.
+     * @return The current instance of the use case.
+     */
+    default UsecaseInterface withDeadline(Deadline deadline) {
+        return this;
+    }
 }
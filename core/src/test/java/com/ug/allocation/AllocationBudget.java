@@ -0,0 +1,23 @@
+package com.ug.allocation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of bytes a measured operation may allocate, on average, once the JIT compiler has warmed it up.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllocationBudget {
+    /**
+     * The measured operation name, as reported.
+     */
+    String operation();
+
+    /**
+     * The allowed allocated bytes per operation.
+     */
+    long bytesPerOperation();
+}
@@ -0,0 +1,81 @@
+package com.ug.allocation;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measure the bytes allocated per operation by the current thread, and fail the test when they exceed the
+ * {@link AllocationBudget} declared on the test method. Each measurement is reported in the test output.
+ */
+public class AllocationBudgetRule implements TestRule {
+    private static final int WARMUP_OPERATIONS = 50_000;
+    private static final int MEASURED_OPERATIONS = 20_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private AllocationBudget budget;
+    private volatile int blackhole;
+
+    /**
+     * Operation whose allocations are measured. Its result is consumed so it cannot be optimized away.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                budget = description.getAnnotation(AllocationBudget.class);
+                assertNotNull("Missing @AllocationBudget on " + description.getMethodName(), budget);
+                assertTrue("Thread allocation measurement is not supported.", threads.isThreadAllocatedMemorySupported());
+                threads.setThreadAllocatedMemoryEnabled(true);
+                base.evaluate();
+            }
+        };
+    }
+
+    /**
+     * Measure the given operation against the budget of the current test.
+     *
+     * @param operation The operation.
+     * @return The allocated bytes per operation.
+     */
+    public double measure(Operation operation) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            sink += System.identityHashCode(operation.run());
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = this.threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_OPERATIONS; i++) {
+            sink += System.identityHashCode(operation.run());
+        }
+        long allocated = this.threads.getThreadAllocatedBytes(threadId) - before;
+        this.blackhole = sink;
+
+        double bytesPerOperation = (double) allocated / MEASURED_OPERATIONS;
+        System.out.println(String.format(
+            Locale.ROOT,
+            "[allocation] %-32s %8.1f B/op (budget %d B/op)",
+            this.budget.operation(),
+            bytesPerOperation,
+            this.budget.bytesPerOperation()
+        ));
+        assertTrue(
+            this.budget.operation() + " allocates " + bytesPerOperation + " B/op, over its budget of " + this.budget.bytesPerOperation() + " B/op",
+            bytesPerOperation <= this.budget.bytesPerOperation()
+        );
+        return bytesPerOperation;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ug.allocation;
+
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * Allocation budgets of the core hot paths. Raise a budget only for a deliberate change of the measured path.
+ */
+public class AllocationBudgetTest {
+    @Rule
+    public AllocationBudgetRule allocations = new AllocationBudgetRule();
+
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of(
+                "firstname", true,
+                "address", Map.of(
+                    "city", true,
+                    "zip_code", false
+                )
+            );
+        }
+    }
+
+    private static final Map<String, Object> PAYLOAD = Map.of(
+        "firstname", "Ulrich",
+        "address", Map.of("city", "Cotonou", "zip_code", "229")
+    );
+
+    @Test
+    @AllocationBudget(operation = "Request.createFromPayload", bytesPerOperation = 2944)
+    public void requestCreateFromPayload() throws Exception {
+        allocations.measure(() -> new CustomRequest().createFromPayload(PAYLOAD));
+    }
+
+    @Test
+    @AllocationBudget(operation = "Request.get", bytesPerOperation = 16)
+    public void requestGet() throws Exception {
+        RequestInterface request = new CustomRequest().createFromPayload(PAYLOAD);
+        allocations.measure(() -> request.get("firstname"));
+    }
+
+    @Test
+    @AllocationBudget(operation = "Request.get nested", bytesPerOperation = 128)
+    public void requestGetNested() throws Exception {
+        RequestInterface request = new CustomRequest().createFromPayload(PAYLOAD);
+        allocations.measure(() -> request.get("address.city"));
+    }
+
+    @Test
+    @AllocationBudget(operation = "Response.output", bytesPerOperation = 352)
+    public void responseOutput() throws Exception {
+        Response response = Response.create(true, StatusCode.OK.getValue(), "success.response", PAYLOAD);
+        allocations.measure(response::output);
+    }
+
+    @Test
+    @AllocationBudget(operation = "Presenter.present", bytesPerOperation = 16)
+    public void presenterPresent() throws Exception {
+        Presenter presenter = new Presenter();
+        Response response = Response.create(true, StatusCode.OK.getValue(), "success.response", PAYLOAD);
+        allocations.measure(() -> {
+            presenter.present(response);
+            return presenter;
+        });
+    }
+}
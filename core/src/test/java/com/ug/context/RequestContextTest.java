@@ -0,0 +1,159 @@
+package com.ug.context;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Deadline;
+import com.ug.usecase.DeadlineUsecase;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class RequestContextTest {
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("field_1", true);
+        }
+    }
+
+    /**
+     * Usecase presenting what a repository down the stack sees from the request context.
+     */
+    static class CustomUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            RequestContext context = RequestContext.current();
+            Map<String, Object> data = new HashMap<>();
+            data.put("context_request_id", context == null ? null : context.getRequestId());
+            data.put("has_deadline", context != null && context.getDeadline() != null);
+            data.put("usecase_request_id", this.getRequestId());
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", data));
+        }
+    }
+
+    private static List<Phase> phases(List<Span> spans) {
+        List<Phase> phases = new ArrayList<>();
+        spans.forEach(span -> phases.add(span.getPhase()));
+        return phases;
+    }
+
+    @Test
+    public void shouldNotBeBoundOutsideOfAScope() throws BadRequestContentException {
+        assertNull(RequestContext.current());
+        assertFalse(RequestContext.isBound());
+        RequestContext.endSpan(Phase.EXECUTE, RequestContext.startSpan(), true);
+
+        RequestInterface first = new CustomRequest().createFromPayload(Map.of("field_1", 1));
+        RequestInterface second = new CustomRequest().createFromPayload(Map.of("field_1", 1));
+        assertNotEquals(first.getRequestId(), second.getRequestId());
+    }
+
+    @Test
+    public void shouldRecordEveryPhaseOfABoundRequest() throws Exception {
+        List<List<Span>> exported = Collections.synchronizedList(new ArrayList<>());
+        Tracer tracer = new Tracer(SpanSampler.ALWAYS, exported::add);
+        RequestContext context = tracer.newContext("request-1", null);
+        Presenter presenter = new Presenter();
+
+        context.call(() -> {
+            RequestInterface request = new CustomRequest().createFromPayload(Map.of("field_1", 1));
+            new RequestContextUsecase(new CustomUsecase()).withRequest(request).withPresenter(presenter).execute();
+            assertTrue(exported.isEmpty());
+            return null;
+        });
+
+        assertNull(RequestContext.current());
+        assertEquals("request-1", presenter.getResponse().getData().get("context_request_id"));
+        assertEquals("request-1", presenter.getResponse().getData().get("usecase_request_id"));
+        assertEquals(1, exported.size());
+        assertEquals(List.of(Phase.FILTER, Phase.CONSTRAINT, Phase.PRESENT, Phase.EXECUTE), phases(exported.get(0)));
+        for (Span span : exported.get(0)) {
+            assertEquals("request-1", span.getRequestId());
+            assertTrue(span.isSuccess());
+            assertFalse(span.getDuration().isNegative());
+        }
+    }
+
+    @Test
+    public void shouldRecordFailedPhases() {
+        List<Span> exported = Collections.synchronizedList(new ArrayList<>());
+        RequestContext context = new Tracer(SpanSampler.ALWAYS, exported::addAll).newContext("request-1", null);
+
+        try {
+            context.call(() -> new CustomRequest().createFromPayload(Map.of("field_2", 1)));
+            fail();
+        } catch (BadRequestContentException ignored) {
+        }
+
+        assertEquals(List.of(Phase.FILTER), phases(exported));
+        assertFalse(exported.get(0).isSuccess());
+    }
+
+    @Test
+    public void shouldCreateAContextAndPropagateItToTheDeadlineThread() throws BaseException {
+        List<Span> exported = Collections.synchronizedList(new ArrayList<>());
+        Presenter presenter = new Presenter();
+        RequestInterface request = new CustomRequest().createFromPayload(Map.of("field_1", 1));
+
+        new RequestContextUsecase(new DeadlineUsecase(new CustomUsecase()), new Tracer(SpanSampler.ALWAYS, exported::addAll))
+            .withRequest(request)
+            .withPresenter(presenter)
+            .withDeadline(Deadline.after(Duration.ofSeconds(5)))
+            .execute();
+
+        assertEquals(request.getRequestId(), presenter.getResponse().getData().get("context_request_id"));
+        assertEquals(true, presenter.getResponse().getData().get("has_deadline"));
+        assertEquals(List.of(Phase.PRESENT, Phase.EXECUTE), phases(exported));
+    }
+
+    @Test
+    public void shouldRestoreNestedBindings() {
+        RequestContext outer = RequestContext.of("outer");
+        RequestContext inner = RequestContext.of("inner");
+
+        outer.run(() -> {
+            inner.run(() -> assertSame(inner, RequestContext.current()));
+            assertSame(outer, RequestContext.current());
+            Runnable wrapped = RequestContext.wrap(() -> assertSame(outer, RequestContext.current()));
+            Thread thread = Thread.ofVirtual().start(wrapped);
+            try {
+                thread.join();
+            } catch (InterruptedException error) {
+                throw new IllegalStateException(error);
+            }
+        });
+        assertNull(RequestContext.current());
+    }
+
+    @Test
+    public void shouldSampleRequestsByTheirId() {
+        SpanSampler half = SpanSampler.ratio(0.5);
+        int sampled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String requestId = UUID.randomUUID().toString();
+            assertEquals(half.sample(requestId), half.sample(requestId));
+            assertFalse(SpanSampler.ratio(0).sample(requestId));
+            assertTrue(SpanSampler.ratio(1).sample(requestId));
+            sampled += half.sample(requestId) ? 1 : 0;
+        }
+        assertEquals(5_000, sampled, 300);
+
+        RequestContext context = new Tracer(SpanSampler.NEVER, spans -> fail()).newContext("request-1", null);
+        assertFalse(context.getSpans().isEnabled());
+        context.run(() -> RequestContext.endSpan(Phase.EXECUTE, RequestContext.startSpan(), true));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ug.presenter;
+
+import com.ug.response.ContentHash;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConditionalPresenterTest {
+    private static Response users() {
+        return Response.create(true, StatusCode.OK.getValue(), "users.found", Map.of("users", List.of("a", "b")));
+    }
+
+    @Test
+    public void shouldPresentResponsesWithTheirEntityTag() {
+        ConditionalPresenter presenter = new ConditionalPresenter(new Presenter(), null);
+        presenter.present(users());
+
+        assertFalse(presenter.isNotModified());
+        assertEquals(ContentHash.entityTag(users()), presenter.getEntityTag());
+        assertEquals(Map.of("users", List.of("a", "b")), presenter.getFormattedResponse().get("data"));
+    }
+
+    @Test
+    public void shouldPresentNotModifiedWhenATagMatches() {
+        String tag = ContentHash.entityTag(users());
+        for (String ifNoneMatch : List.of(tag, "\"other\", W/" + tag, "*")) {
+            ConditionalPresenter presenter = new ConditionalPresenter(new Presenter(), ifNoneMatch);
+            presenter.present(users());
+
+            assertTrue(ifNoneMatch, presenter.isNotModified());
+            assertEquals(tag, presenter.getEntityTag());
+            assertEquals(StatusCode.NOT_MODIFIED.getValue(), presenter.getResponse().getStatusCode());
+            assertEquals("not.modified", presenter.getResponse().getMessage());
+            assertEquals(Map.of(), presenter.getResponse().getData());
+        }
+    }
+
+    @Test
+    public void shouldPresentChangedAndFailedResponses() {
+        ConditionalPresenter presenter = new ConditionalPresenter(new Presenter(), "\"0000000000000000\"");
+        presenter.present(users());
+        assertFalse(presenter.isNotModified());
+        assertEquals(StatusCode.OK.getValue(), presenter.getResponse().getStatusCode());
+
+        ConditionalPresenter failed = new ConditionalPresenter(new Presenter(), "*");
+        failed.present(Response.create(false, StatusCode.BAD_REQUEST.getValue(), "invalid", Map.of()));
+        assertFalse(failed.isNotModified());
+        assertNull(failed.getEntityTag());
+        assertEquals(StatusCode.BAD_REQUEST.getValue(), failed.getResponse().getStatusCode());
+    }
+}
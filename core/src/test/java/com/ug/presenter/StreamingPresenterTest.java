@@ -0,0 +1,141 @@
+package com.ug.presenter;
+
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class StreamingPresenterTest {
+    static class RecordingSink implements ResponseChunkSink {
+        final List<String> events = new ArrayList<>();
+        ResponseInterface envelope;
+        long chunks;
+        RuntimeException writeError;
+
+        @Override
+        public void open(ResponseInterface envelope) {
+            this.envelope = envelope;
+            events.add("open");
+        }
+
+        @Override
+        public void write(Object chunk) {
+            if (writeError != null) {
+                throw writeError;
+            }
+            chunks++;
+        }
+
+        @Override
+        public void close() {
+            events.add("close");
+        }
+
+        @Override
+        public void fail(Throwable error) {
+            events.add("fail");
+        }
+    }
+
+    /**
+     * Generate rows lazily and track how many were pulled ahead of the sink.
+     */
+    static class RowIterator implements Iterator<Map<String, Object>> {
+        private final long rows;
+        private final RecordingSink sink;
+        private long next;
+        long maxAhead;
+
+        RowIterator(long rows, RecordingSink sink) {
+            this.rows = rows;
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < rows;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            maxAhead = Math.max(maxAhead, next - sink.chunks);
+            return Map.of("id", next++);
+        }
+    }
+
+    @Test
+    public void shouldStreamEnvelopeThenChunksWithBackpressure() {
+        RecordingSink sink = new RecordingSink();
+        StreamingPresenter presenter = new StreamingPresenter(sink, 16);
+        RowIterator rows = new RowIterator(100_000, sink);
+
+        presenter.presentStream(
+            Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("total", 100_000)),
+            new IteratorPublisher<>(rows)
+        );
+
+        assertEquals(List.of("open", "close"), sink.events);
+        assertEquals(100_000, sink.chunks);
+        assertTrue(rows.maxAhead <= 1);
+        assertEquals("success.response", sink.envelope.getMessage());
+        assertEquals(Map.of("total", 100_000), presenter.getResponse().getData());
+        assertNull(presenter.getStreamError());
+    }
+
+    @Test
+    public void shouldCancelStreamWhenSinkFails() {
+        RecordingSink sink = new RecordingSink();
+        sink.writeError = new IllegalStateException("client.disconnected");
+        StreamingPresenter presenter = new StreamingPresenter(sink, 16);
+        RowIterator rows = new RowIterator(1_000, sink);
+
+        presenter.presentStream(Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of()), new IteratorPublisher<>(rows));
+
+        assertEquals(List.of("open", "fail"), sink.events);
+        assertSame(sink.writeError, presenter.getStreamError());
+        assertEquals(1, rows.next);
+    }
+
+    @Test
+    public void shouldPresentWholeResponseAsSingleChunk() {
+        RecordingSink sink = new RecordingSink();
+        StreamingPresenter presenter = new StreamingPresenter(sink);
+        presenter.present(Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("field_1", "yes")));
+
+        assertEquals(List.of("open", "close"), sink.events);
+        assertEquals(1, sink.chunks);
+        assertEquals("yes", presenter.getResponse().get("field_1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCollectStreamForNonStreamingPresenter() throws Exception {
+        class StreamingUsecase extends Usecase {
+            @Override
+            public void execute() {
+                this.presentStream(
+                    Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("total", 3)),
+                    IteratorPublisher.of(List.of("a", "b", "c"))
+                );
+            }
+        }
+
+        PresenterInterface presenter = new Presenter();
+        new StreamingUsecase().withPresenter(presenter).execute();
+
+        assertEquals(3, presenter.getResponse().get("total"));
+        assertEquals(List.of("a", "b", "c"), (List<String>) presenter.getResponse().get("items"));
+    }
+}
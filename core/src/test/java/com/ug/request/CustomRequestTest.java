@@ -2,9 +2,13 @@ package com.ug.request;
 
 import com.ug.enums.Status;
 import com.ug.exception.BadRequestContentException;
+import com.ug.exception.ErrorCode;
 import com.ug.response.StatusCode;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -184,6 +188,7 @@ public class CustomRequestTest {
             assertEquals(StatusCode.BAD_REQUEST.getValue(), errorDetails.get("error_code"));
             assertEquals("illegal.fields", errorDetails.get("message"));
             assertEquals(Map.of("unrequired_fields", List.of("field_3")), errorDetails.get("details"));
+            assertEquals(ErrorCode.ILLEGAL_FIELDS, error.getErrorCode());
         }
     }
 
@@ -215,4 +220,74 @@ public class CustomRequestTest {
             assertEquals(Map.of("unrequired_fields", List.of("field_2.field_4")), errorDetails.get("details"));
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepAnImmutableSnapshotOfThePayload() throws BadRequestContentException {
+        class CustomRequest extends Request {
+            public Map<String, Object> getRequestPossibleFields() {
+                return Map.of(
+                    "field_1", true,
+                    "field_2", Map.of("field_3", true, "field_4", false),
+                    "field_5", true
+                );
+            }
+        }
+
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("field_3", new ArrayList<>(List.of(1, 2)));
+        nested.put("field_4", null);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(new String("field_1"), "value");
+        payload.put("field_2", nested);
+        payload.put("field_5", new ArrayList<>());
+
+        RequestInterface request = new CustomRequest().createFromPayload(payload);
+        payload.put("field_1", "changed");
+        nested.put("field_3", List.of());
+
+        assertEquals("value", request.get("field_1"));
+        assertEquals(List.of(1, 2), request.get("field_2.field_3"));
+        assertTrue(((Map<String, Object>) request.get("field_2")).containsKey("field_4"));
+        assertSame("field_1", request.toArray().keySet().stream().filter("field_1"::equals).findFirst().orElseThrow());
+        assertSame(Collections.emptyList(), request.get("field_5"));
+        for (Runnable mutation : List.<Runnable>of(
+            () -> request.toArray().put("field_1", "changed"),
+            () -> ((Map<String, Object>) request.get("field_2")).remove("field_3"),
+            () -> ((List<Object>) request.get("field_2.field_3")).add(3),
+            () -> request.toArray().entrySet().iterator().next().setValue("changed")
+        )) {
+            try {
+                mutation.run();
+                fail();
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+        assertSame(request.toArray(), PayloadSnapshot.of(request.toArray()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldInternOnlyDeclaredPayloadKeys() throws BadRequestContentException {
+        class CustomRequest extends Request {
+            public Map<String, Object> getRequestPossibleFields() {
+                return Map.of("field_1", true, "field_2", false);
+            }
+        }
+
+        Map<Object, Object> free = new HashMap<>();
+        free.put(new String("field_3"), 1);
+        free.put(4, "four");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(new String("field_1"), "value");
+        payload.put(new String("field_2"), free);
+
+        RequestInterface request = new CustomRequest().createFromPayload(payload);
+        assertSame("field_1", request.toArray().keySet().stream().filter("field_1"::equals).findFirst().orElseThrow());
+        Map<Object, Object> nested = (Map<Object, Object>) request.get("field_2");
+        Object key = nested.keySet().stream().filter("field_3"::equals).findFirst().orElseThrow();
+        assertNotSame("field_3", key);
+        assertEquals("four", nested.get(4));
+        assertFalse(nested.containsKey("4"));
+    }
 }
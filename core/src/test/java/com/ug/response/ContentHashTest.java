@@ -0,0 +1,48 @@
+package com.ug.response;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ContentHashTest {
+    @Test
+    public void testContentHashIsIndependentOfMapIterationOrder() {
+        Map<String, Object> ascending = new LinkedHashMap<>();
+        Map<String, Object> descending = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            ascending.put("field_" + i, Map.of("index", i, "tags", List.of("a", "b")));
+            descending.put("field_" + (49 - i), new HashMap<>(Map.of("index", 49 - i, "tags", List.of("a", "b"))));
+        }
+        Response first = Response.create(true, StatusCode.OK.getValue(), "success.response", ascending);
+        Response second = Response.lazy(true, StatusCode.OK.getValue(), "success.response", () -> descending);
+
+        assertEquals(ContentHash.of(first), ContentHash.of(second));
+        assertEquals(ContentHash.entityTag(first), ContentHash.entityTag(second));
+        assertEquals(18, ContentHash.entityTag(first).length());
+        assertEquals(ContentHash.of(Map.of("count", 1)), ContentHash.of(Map.of("count", LazyValue.of(() -> 1L))));
+    }
+
+    @Test
+    public void testContentHashChangesWithContent() {
+        Map<String, Object> data = Map.of("users", List.of("a", "b"), "count", 2);
+        long hash = ContentHash.of(Response.create(true, StatusCode.OK.getValue(), "success.response", data));
+
+        for (Response other : List.of(
+            Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("users", List.of("b", "a"), "count", 2)),
+            Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("users", List.of("a", "b"), "count", "2")),
+            Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("users", List.of("a", "b"), "total", 2)),
+            Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of("users", List.of("a", "b"), "count", 2, "x", Map.of())),
+            Response.create(true, StatusCode.OK.getValue(), "other.response", data),
+            Response.create(true, StatusCode.CREATED.getValue(), "success.response", data),
+            Response.create(false, StatusCode.OK.getValue(), "success.response", data)
+        )) {
+            assertNotEquals(other.getData().toString(), hash, ContentHash.of(other));
+        }
+        assertNotEquals(ContentHash.of(Map.of("a", "b", "c", "d")), ContentHash.of(Map.of("a", "d", "c", "b")));
+    }
+}
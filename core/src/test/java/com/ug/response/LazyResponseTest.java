@@ -0,0 +1,85 @@
+package com.ug.response;
+
+import com.ug.enums.Status;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class LazyResponseTest {
+    @Test
+    public void testLazyResponseIsNotBuiltUntilAccessed() {
+        AtomicInteger builds = new AtomicInteger();
+        Response instanceResponse = Response.lazy(true, StatusCode.OK.getValue(), "success.response", () -> {
+            builds.incrementAndGet();
+            return Map.of("field_1", "yes");
+        });
+
+        Map<String, Object> output = instanceResponse.output();
+        assertEquals(0, builds.get());
+        assertFalse(instanceResponse.isDataResolved());
+        assertEquals(Status.SUCCESS.getValue(), output.get("status"));
+        Map<?, ?> data = (Map<?, ?>) output.get("data");
+        assertEquals(0, builds.get());
+        assertEquals("yes", data.get("field_1"));
+        assertEquals(Map.of("field_1", "yes"), data);
+        assertEquals(Map.of("field_1", "yes"), Response.fromOutput(output).getData());
+        assertEquals(1, builds.get());
+
+        assertEquals("yes", instanceResponse.get("field_1"));
+        assertEquals(Map.of("field_1", "yes"), instanceResponse.getData());
+        assertEquals(Map.of("field_1", "yes"), instanceResponse.output().get("data"));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void testLazyBranchesAreOnlyResolvedAlongThePath() {
+        AtomicInteger usersBuilds = new AtomicInteger();
+        AtomicInteger statsBuilds = new AtomicInteger();
+        LazyValue<Map<String, Object>> stats = LazyValue.of(() -> {
+            statsBuilds.incrementAndGet();
+            return Map.of("count", 2);
+        });
+        Response instanceResponse = Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of(
+            "users", LazyValue.ofStream(() -> {
+                usersBuilds.incrementAndGet();
+                return Stream.of("a", "b");
+            }),
+            "stats", stats
+        ));
+
+        assertEquals(2, instanceResponse.get("stats.count"));
+        assertNull(instanceResponse.get("stats.missing"));
+        assertEquals(1, statsBuilds.get());
+        assertEquals(0, usersBuilds.get());
+
+        assertEquals(List.of("a", "b"), instanceResponse.get("users"));
+        assertEquals(List.of("a", "b"), instanceResponse.get("users"));
+        assertEquals(1, usersBuilds.get());
+        assertTrue(stats.isResolved());
+
+        Map<?, ?> data = (Map<?, ?>) instanceResponse.output().get("data");
+        assertEquals(List.of("a", "b"), (List<?>) data.get("users"));
+        assertEquals(Map.of("count", 2), (Map<?, ?>) instanceResponse.getData().get("stats"));
+        assertEquals(Map.of("users", List.of("a", "b"), "stats", Map.of("count", 2)), Map.copyOf(data));
+    }
+
+    @Test
+    public void testNestedLazyBranchesReadAsPlainData() {
+        Response instanceResponse = Response.lazy(true, StatusCode.OK.getValue(), "success.response", () -> Map.of(
+            "page", LazyValue.of(() -> Map.of("items", List.of(LazyValue.of(() -> Map.of("id", 1)))))
+        ));
+
+        Map<?, ?> data = (Map<?, ?>) instanceResponse.output().get("data");
+        Map<?, ?> page = (Map<?, ?>) data.get("page");
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) page.get("items")).get(0);
+        assertEquals(1, item.get("id"));
+        assertEquals(Map.of("page", Map.of("items", List.of(Map.of("id", 1)))), instanceResponse.getData());
+        assertTrue(instanceResponse.get("page") instanceof Map<?, ?>);
+        assertFalse(instanceResponse.get("page.items") instanceof LazyValue<?>);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ug.response;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PersistentMapTest {
+    private static final class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey key && key.id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id % 7;
+        }
+    }
+
+    @Test
+    public void testPersistentMapBehavesLikeHashMap() {
+        Random random = new Random(42);
+        Map<Object, Integer> expected = new HashMap<>();
+        PersistentMap<Object, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            Object key = random.nextBoolean() ? "key_" + random.nextInt(2_000) : new CollidingKey(random.nextInt(100));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.size(), map.entrySet().stream().count());
+        assertTrue(map.containsKey(new CollidingKey(3)) == expected.containsKey(new CollidingKey(3)));
+        assertNull(map.get(null));
+        assertThrows(UnsupportedOperationException.class, () -> PersistentMap.<String, Object>empty().put("name", "value"));
+    }
+
+    @Test
+    public void testPersistentMapSharesUnchangedVersions() {
+        PersistentMap<String, Object> base = PersistentMap.<String, Object>empty()
+            .with("user", Map.of("name", "Ulrich", "address", Map.of("city", "Cotonou")))
+            .with("roles", PersistentVector.copyOf(List.of("admin")));
+        PersistentMap<String, Object> moved = base.withPath("user.address.city", "Porto-Novo");
+        PersistentMap<String, Object> anonymous = moved.withoutPath("user.name");
+
+        assertSame(base, base.with("roles", base.get("roles")));
+        assertSame(base, base.without("missing"));
+        assertSame(base, base.withoutPath("user.address.zip_code"));
+        assertSame(moved.get("roles"), base.get("roles"));
+        assertEquals(Map.of("city", "Cotonou"), ((Map<?, ?>) base.get("user")).get("address"));
+
+        Response response = Response.create(true, StatusCode.OK.getValue(), "success.response", anonymous);
+        assertEquals("Porto-Novo", response.get("user.address.city"));
+        assertNull(response.get("user.name"));
+        assertEquals("Ulrich", Response.create(true, StatusCode.OK.getValue(), "success.response", moved).get("user.name"));
+        assertEquals(Map.of("address", Map.of("city", "Porto-Novo")), response.output().get("data") instanceof Map<?, ?> data ? data.get("user") : null);
+        assertEquals(
+            ContentHash.of(Map.of("user", Map.of("address", Map.of("city", "Porto-Novo")), "roles", List.of("admin"))),
+            ContentHash.of(anonymous)
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.ug.response;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PersistentVectorTest {
+    @Test
+    public void testPersistentVectorBehavesLikeArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            expected.add(i);
+            vector = vector.with(i);
+            if (i % 1_000 == 0) {
+                versions.add(vector);
+            }
+        }
+        vector = vector.withAt(5, -5).withAt(33_000, -33_000).withAt(39_999, -39_999);
+        expected.set(5, -5);
+        expected.set(33_000, -33_000);
+        expected.set(39_999, -39_999);
+        assertEquals(expected, vector);
+
+        for (int i = 0; i < 39_000; i++) {
+            expected.remove(expected.size() - 1);
+            vector = vector.withoutLast();
+        }
+        assertEquals(expected, vector);
+        assertEquals(1_001, versions.get(1).size());
+        assertEquals(Integer.valueOf(1_000), versions.get(1).get(1_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> versions.get(0).get(1));
+        assertThrows(IllegalStateException.class, () -> PersistentVector.empty().withoutLast());
+    }
+}
@@ -0,0 +1,154 @@
+package com.ug.schema;
+
+import com.ug.enums.Status;
+import com.ug.exception.BadRequestContentException;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.StatusCode;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class RequestSchemaTest {
+    @RequestSchema({
+        @RequestField(name = "field_1"),
+        @RequestField(name = "field_2", required = false),
+        @RequestField(name = "field_3.field_4"),
+        @RequestField(name = "field_3.field_5.field_6")
+    })
+    public static class AnnotatedRequest extends Request {}
+
+    public static class MapRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of(
+                "field_1", true,
+                "field_2", false,
+                "field_3", Map.of(
+                    "field_4", true,
+                    "field_5", Map.of("field_6", true)
+                )
+            );
+        }
+
+        Map<String, Object> filter(Map<String, Object> payload) {
+            return this.requestPayloadFilter(payload);
+        }
+    }
+
+    public static class FilterableAnnotatedRequest extends AnnotatedRequest {
+        Map<String, Object> filter(Map<String, Object> payload) {
+            return this.requestPayloadFilter(payload);
+        }
+    }
+
+    @Test
+    public void shouldGenerateSchemaForAnnotatedRequest() {
+        assertNotNull(RequestSchemas.validatorFor(AnnotatedRequest.class));
+        assertTrue(RequestSchemas.validatorFor(AnnotatedRequest.class) instanceof RequestSchemaTest_AnnotatedRequestSchema);
+        assertNull(RequestSchemas.validatorFor(MapRequest.class));
+        assertEquals(
+            Map.of("field_1", true, "field_2", false, "field_3", Map.of("field_4", true, "field_5", Map.of("field_6", true))),
+            RequestSchemas.validatorFor(AnnotatedRequest.class).getFields()
+        );
+    }
+
+    @Test
+    public void shouldUseTheOverriddenFieldsOfAnnotatedRequestSubclasses() throws BadRequestContentException {
+        AnnotatedRequest request = new AnnotatedRequest() {
+            @Override
+            protected Map<String, Object> getRequestPossibleFields() {
+                return Map.of("other_field", true);
+            }
+        };
+
+        assertNull(RequestSchemas.validatorFor(request.getClass()));
+        assertNotNull(RequestSchemas.validatorFor(new AnnotatedRequest() {}.getClass()));
+        assertEquals(Map.of("other_field", 1), request.createFromPayload(Map.of("other_field", 1)).toArray());
+    }
+
+    @Test
+    public void shouldBeAbleToBuildAnnotatedRequest() throws BadRequestContentException {
+        Map<String, Object> payload = Map.of(
+            "field_1", 1,
+            "field_3", Map.of(
+                "field_4", "yes",
+                "field_5", Map.of("field_6", true)
+            )
+        );
+
+        RequestInterface instanceRequest = new AnnotatedRequest().createFromPayload(payload);
+        assertNotNull(instanceRequest.getRequestId());
+        assertEquals(payload, instanceRequest.toArray());
+        assertEquals(1, RequestSchemaTest_AnnotatedRequestSchema.getField1(instanceRequest));
+        assertEquals("yes", RequestSchemaTest_AnnotatedRequestSchema.getField3Field4(instanceRequest));
+        assertEquals(true, RequestSchemaTest_AnnotatedRequestSchema.getField3Field5Field6(instanceRequest));
+        assertNull(RequestSchemaTest_AnnotatedRequestSchema.getField2(instanceRequest));
+    }
+
+    @Test
+    public void shouldNotBeAbleToBuildAnnotatedRequestWithMissingParameters() {
+        try {
+            new AnnotatedRequest().createFromPayload(Map.of(
+                "field_3", Map.of("field_5", 1)
+            ));
+            fail();
+        } catch (BadRequestContentException error) {
+            Map<String, Object> errorDetails = error.format();
+            assertEquals(Status.ERROR.getValue(), errorDetails.get("status"));
+            assertEquals(StatusCode.BAD_REQUEST.getValue(), errorDetails.get("error_code"));
+            assertEquals("missing.required.fields", errorDetails.get("message"));
+            assertEquals(Map.of("missing_fields", Map.of(
+                "field_1", "required",
+                "field_3.field_4", "required",
+                "field_3.field_5", "required field type not matching array"
+            )), errorDetails.get("details"));
+        }
+    }
+
+    @Test
+    public void shouldNotBeAbleToBuildAnnotatedRequestWithUnrequiredParameters() {
+        try {
+            new AnnotatedRequest().createFromPayload(Map.of(
+                "field_1", 1,
+                "field_3", Map.of(
+                    "field_4", 2,
+                    "field_5", Map.of("field_6", 3, "field_7", 4)
+                )
+            ));
+            fail();
+        } catch (BadRequestContentException error) {
+            Map<String, Object> errorDetails = error.format();
+            assertEquals("illegal.fields", errorDetails.get("message"));
+            assertEquals(Map.of("unrequired_fields", List.of("field_3.field_5.field_7")), errorDetails.get("details"));
+        }
+    }
+
+    @Test
+    public void shouldFilterLikePossibleFieldsMap() {
+        Map<String, Object> nullValue = new HashMap<>();
+        nullValue.put("field_1", 1);
+        nullValue.put("field_3", null);
+
+        List<Map<String, Object>> payloads = List.of(
+            Map.of(),
+            Map.of("field_1", 1, "field_2", 2, "field_9", 9),
+            Map.of("field_3", 1),
+            Map.of("field_3", Map.of()),
+            Map.of("field_3", Map.of("field_4", 1, "field_8", 1, "field_5", Map.of("field_6", 1, "field_7", 1))),
+            Map.of("field_3", Map.of("field_5", 1), "field_2", Map.of("field_10", 1)),
+            nullValue
+        );
+
+        for (Map<String, Object> payload : payloads) {
+            assertEquals(
+                new MapRequest().filter(payload),
+                new FilterableAnnotatedRequest().filter(payload)
+            );
+        }
+    }
+}
@@ -181,4 +181,29 @@ public class CustomUsecaseTest {
             assertEquals(payload, errorDetails.get("details"));
         }
     }
+
+    @Test
+    public void testExecuteCustomUsecaseThrowingImmutableErrors() {
+        Map<String, Object> errors = Map.of(
+            "message", "BadRequestContentError",
+            "details", Map.of("field_1", "yes")
+        );
+        class CustomUsecase extends Usecase {
+            @Override
+            public void execute() throws BadRequestContentException {
+                throw new BadRequestContentException(errors);
+            }
+        }
+
+        try {
+            new CustomUsecase().execute();
+            fail();
+        } catch (BaseException error) {
+            assertEquals("BadRequestContentError", error.getMessage());
+            assertEquals(Map.of("details", Map.of("field_1", "yes")), error.getErrors());
+            assertFalse(error.getErrors().containsKey("message"));
+            assertEquals(Map.of("field_1", "yes"), error.format().get("details"));
+            assertEquals(2, errors.size());
+        }
+    }
 }
@@ -0,0 +1,225 @@
+package com.ug.usecase;
+
+import com.ug.enums.Status;
+import com.ug.exception.BaseException;
+import com.ug.exception.UsecaseTimeoutException;
+import com.ug.presenter.Presenter;
+import com.ug.presenter.PresenterInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class DeadlineUsecaseTest {
+    @Test
+    public void shouldPresentUsecaseResponseBeforeDeadline() throws BaseException {
+        class CustomUsecase extends Usecase {
+            @Override
+            public void execute() throws BaseException {
+                this.checkDeadline();
+                assertFalse(this.isDeadlineExceeded());
+                assertNotNull(this.getDeadline());
+                this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of()));
+            }
+        }
+
+        PresenterInterface presenter = new Presenter();
+        new DeadlineUsecase(new CustomUsecase(), Duration.ofSeconds(10))
+            .withPresenter(presenter)
+            .execute();
+
+        assertTrue(presenter.getResponse().isSuccess());
+        assertEquals(StatusCode.OK.getValue(), presenter.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void shouldInterruptUsecaseAndPresentTimeoutResponse() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch presented = new CountDownLatch(1);
+        class SlowUsecase extends Usecase {
+            @Override
+            public void execute() {
+                try {
+                    Thread.sleep(Duration.ofSeconds(10));
+                } catch (InterruptedException error) {
+                    interrupted.countDown();
+                }
+                this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "late.response", Map.of()));
+                presented.countDown();
+            }
+        }
+
+        PresenterInterface presenter = new Presenter();
+        new DeadlineUsecase(new SlowUsecase())
+            .withDeadline(Deadline.after(Duration.ofMillis(20)))
+            .withPresenter(presenter)
+            .execute();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(presented.await(5, TimeUnit.SECONDS));
+        assertFalse(presenter.getResponse().isSuccess());
+        assertEquals(StatusCode.GATEWAY_TIMEOUT.getValue(), presenter.getResponse().getStatusCode());
+        assertEquals(Map.of(
+            "status", Status.ERROR.getValue(),
+            "code", StatusCode.GATEWAY_TIMEOUT.getValue(),
+            "message", "usecase.timeout",
+            "details", Map.of("timeout_ms", 20L)
+        ), presenter.getFormattedResponse());
+    }
+
+    @Test
+    public void shouldPresentTimeoutResponseWhenUsecaseChecksExpiredDeadline() throws BaseException {
+        class CooperativeUsecase extends Usecase {
+            @Override
+            public void execute() throws BaseException {
+                while (!this.isDeadlineExceeded()) {
+                    Thread.onSpinWait();
+                }
+                this.checkDeadline();
+                this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "late.response", Map.of()));
+            }
+        }
+
+        PresenterInterface presenter = new Presenter();
+        new DeadlineUsecase(new CooperativeUsecase())
+            .withDeadline(Deadline.after(Duration.ofMillis(5)))
+            .withPresenter(presenter)
+            .execute();
+
+        assertEquals(StatusCode.GATEWAY_TIMEOUT.getValue(), presenter.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void shouldThrowTimeoutErrorWithoutPresenter() {
+        class SlowUsecase extends Usecase {
+            @Override
+            public void execute() throws BaseException {
+                while (true) {
+                    this.checkDeadline();
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        try {
+            new DeadlineUsecase(new SlowUsecase(), Duration.ofMillis(10)).execute();
+            fail();
+        } catch (UsecaseTimeoutException error) {
+            Map<String, Object> errorDetails = error.format();
+            assertEquals(Status.ERROR.getValue(), errorDetails.get("status"));
+            assertEquals(StatusCode.GATEWAY_TIMEOUT.getValue(), errorDetails.get("error_code"));
+            assertEquals("usecase.timeout", errorDetails.get("message"));
+        } catch (BaseException error) {
+            fail();
+        }
+    }
+
+    @Test
+    public void shouldRestoreDecoratedUsecaseBindingsAfterEachExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        class StubbornUsecase extends Usecase {
+            @Override
+            public void execute() {
+                boolean stubborn = this.getDeadline() != null;
+                while (stubborn) {
+                    try {
+                        stubborn = !release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException error) {
+                        // Ignore the interruption, as a usecase blocked into uninterruptible I/O would.
+                    }
+                }
+                this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "response", Map.of()));
+            }
+        }
+
+        DeadlineUsecase usecase = new DeadlineUsecase(new StubbornUsecase());
+        PresenterInterface timedOut = new Presenter();
+        usecase.withDeadline(Deadline.after(Duration.ofMillis(20))).withPresenter(timedOut).execute();
+        assertEquals(StatusCode.GATEWAY_TIMEOUT.getValue(), timedOut.getResponse().getStatusCode());
+
+        PresenterInterface next = new Presenter();
+        usecase.withDeadline(null).withPresenter(next);
+        assertThrows(IllegalStateException.class, usecase::execute);
+
+        release.countDown();
+        usecase.getAbandonedExecution().join();
+        assertEquals(StatusCode.GATEWAY_TIMEOUT.getValue(), timedOut.getResponse().getStatusCode());
+        usecase.execute();
+        assertEquals(StatusCode.OK.getValue(), next.getResponse().getStatusCode());
+
+        PresenterInterface last = new Presenter();
+        usecase.withDeadline(Deadline.after(Duration.ofSeconds(10))).withPresenter(last).execute();
+        usecase.withDeadline(null).execute();
+        assertEquals(StatusCode.OK.getValue(), last.getResponse().getStatusCode());
+        assertNull(((StubbornUsecase) usecase.getUsecase()).getDeadline());
+    }
+
+    @Test
+    public void shouldCancelWhenTheCallerIsInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        class SlowUsecase extends Usecase {
+            @Override
+            public void execute() {
+                started.countDown();
+                try {
+                    Thread.sleep(Duration.ofSeconds(10));
+                } catch (InterruptedException error) {
+                    interrupted.countDown();
+                }
+            }
+        }
+
+        PresenterInterface presenter = new Presenter();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                new DeadlineUsecase(new SlowUsecase(), Duration.ofSeconds(10)).withPresenter(presenter).execute();
+            } catch (Throwable error) {
+                failure.set(error);
+                stillInterrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join();
+
+        assertTrue(failure.get() instanceof CancellationException);
+        assertTrue(stillInterrupted.get());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertNull(presenter.getResponse());
+    }
+
+    @Test
+    public void shouldWrapUndeclaredCheckedExceptions() {
+        class SneakyUsecase extends Usecase {
+            @Override
+            public void execute() {
+                DeadlineUsecaseTest.<RuntimeException>sneakyThrow(new IOException("disk.failure"));
+            }
+        }
+
+        UndeclaredThrowableException error = assertThrows(
+            UndeclaredThrowableException.class,
+            () -> new DeadlineUsecase(new SneakyUsecase(), Duration.ofSeconds(10)).withPresenter(new Presenter()).execute()
+        );
+        assertEquals("disk.failure", error.getUndeclaredThrowable().getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable error) throws E {
+        throw (E) error;
+    }
+}
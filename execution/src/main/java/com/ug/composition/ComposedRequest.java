@@ -0,0 +1,45 @@
+package com.ug.composition;
+
+import com.ug.context.RequestContext;
+import com.ug.request.PayloadSnapshot;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Request of a composed usecase step, holding data already validated upstream.
+ * The data map is shared, not copied, and exposed read-only.
+ */
+public class ComposedRequest extends Request {
+    /**
+     * Wrap the given data.
+     *
+     * @param requestId The id of the request the composition was started with.
+     * @param data The validated data.
+     * @return The request.
+     */
+    public static ComposedRequest of(String requestId, Map<String, Object> data) {
+        ComposedRequest request = new ComposedRequest();
+        request.requestId = requestId;
+        request.requestParams = data == null ? Map.of() : Collections.unmodifiableMap(data);
+        return request;
+    }
+
+    /**
+     * Take a snapshot of the given payload, without validation: composed requests carry data which was already
+     * validated by the previous step. The request id is the one of the bound request context, or a new one.
+     *
+     * @param payload The payload.
+     * @return The current instance.
+     */
+    @Override
+    public RequestInterface createFromPayload(Map<String, Object> payload) {
+        RequestContext context = RequestContext.current();
+        this.requestId = context == null ? UUID.randomUUID().toString() : context.getRequestId();
+        this.requestParams = payload == null ? Map.of() : PayloadSnapshot.of(payload);
+        return this;
+    }
+}
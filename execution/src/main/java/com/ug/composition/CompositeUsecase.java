@@ -0,0 +1,46 @@
+package com.ug.composition;
+
+import com.ug.presenter.PresenterInterface;
+import com.ug.request.RequestInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.Deadline;
+import com.ug.usecase.UsecaseInterface;
+
+/**
+ * Usecase made of other usecases. The request, presenter and deadline are kept here and handed
+ * to the composed usecases on execution.
+ */
+public abstract class CompositeUsecase implements UsecaseInterface {
+    protected RequestInterface request;
+    protected PresenterInterface presenter;
+    protected Deadline deadline;
+
+    @Override
+    public UsecaseInterface withRequest(RequestInterface request) {
+        this.request = request;
+        return this;
+    }
+
+    @Override
+    public UsecaseInterface withPresenter(PresenterInterface presenter) {
+        this.presenter = presenter;
+        return this;
+    }
+
+    @Override
+    public UsecaseInterface withDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Send the composed response to the presenter, if any.
+     *
+     * @param response The response.
+     */
+    protected void presentResponse(ResponseInterface response) {
+        if (this.presenter != null && response != null) {
+            this.presenter.present(response);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ug.composition;
+
+import com.ug.context.RequestContext;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.UsecaseInterface;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Execute independent usecases in parallel, each on its own virtual thread, with the same request.
+ * Once every branch has completed, their responses are merged and presented.
+ * <p>
+ * The first branch throwing cancels the others, by interrupting their threads. Its exception is thrown
+ * once every branch thread has ended, so no branch outlives the composed execution.
+ */
+public class ParallelUsecase extends CompositeUsecase {
+    private final Map<String, UsecaseInterface> branches = new LinkedHashMap<>();
+    private ResponseMerger merger = ResponseMerger.BY_BRANCH;
+
+    /**
+     * Add a branch.
+     *
+     * @param name The branch name, unique.
+     * @param usecase The branch usecase.
+     * @return The current instance.
+     */
+    public ParallelUsecase withBranch(String name, UsecaseInterface usecase) {
+        if (this.branches.putIfAbsent(name, usecase) != null) {
+            throw new IllegalArgumentException("Branch " + name + " is already defined.");
+        }
+        return this;
+    }
+
+    /**
+     * Set how branch responses are merged, {@link ResponseMerger#BY_BRANCH} by default.
+     *
+     * @param merger The merger.
+     * @return The current instance.
+     */
+    public ParallelUsecase withMerger(ResponseMerger merger) {
+        this.merger = merger;
+        return this;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        Map<String, ResponseInterface> responses = new LinkedHashMap<>();
+        this.branches.keySet().forEach(name -> responses.put(name, null));
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("parallel-branch-", 0).factory())) {
+            ExecutorCompletionService<Branch> completion = new ExecutorCompletionService<>(executor);
+            List<Future<Branch>> futures = new ArrayList<>(this.branches.size());
+            for (Map.Entry<String, UsecaseInterface> entry : this.branches.entrySet()) {
+                Branch branch = new Branch(entry.getKey(), entry.getValue());
+                futures.add(completion.submit(RequestContext.wrap(branch), branch));
+            }
+
+            Throwable failure = null;
+            for (int i = 0; i < futures.size() && failure == null; i++) {
+                try {
+                    Branch completed = completion.take().get();
+                    if (completed.failure != null) {
+                        failure = completed.failure;
+                    } else {
+                        responses.put(completed.name, completed.presenter.getResponse());
+                    }
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                    failure = this.deadline != null && this.deadline.isExpired()
+                        ? this.deadline.timeoutException()
+                        : new CancellationException("Parallel execution was interrupted.");
+                } catch (ExecutionException error) {
+                    failure = error.getCause();
+                }
+            }
+
+            if (failure != null) {
+                futures.forEach(future -> future.cancel(true));
+                throwUnchecked(failure);
+            }
+        }
+
+        this.presentResponse(this.merger.merge(responses));
+    }
+
+    private static void throwUnchecked(Throwable failure) throws BaseException {
+        if (failure instanceof BaseException baseException) {
+            throw baseException;
+        } else if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    /**
+     * Execution of a branch, keeping its response and failure.
+     */
+    private final class Branch implements Runnable {
+        private final String name;
+        private final UsecaseInterface usecase;
+        private final Presenter presenter = new Presenter();
+        private volatile Throwable failure;
+
+        private Branch(String name, UsecaseInterface usecase) {
+            this.name = name;
+            this.usecase = usecase;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.usecase.withRequest(request).withPresenter(this.presenter).withDeadline(deadline).execute();
+            } catch (Throwable error) {
+                this.failure = error;
+            }
+        }
+    }
+}
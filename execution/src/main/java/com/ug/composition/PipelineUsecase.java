@@ -0,0 +1,92 @@
+package com.ug.composition;
+
+import com.ug.context.RequestContext;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.request.RequestInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.UsecaseInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Execute usecases one after the other. The first step gets the pipeline request, each next one a
+ * {@link ComposedRequest} wrapping the data of the previous step response, without copy nor new validation.
+ * The pipeline stops at the first step presenting a failure response, which is presented as the pipeline one.
+ * Otherwise the last step response is presented. Steps get the id of the pipeline request, or of the bound
+ * {@link RequestContext} when the pipeline has no request.
+ */
+public class PipelineUsecase extends CompositeUsecase {
+    private final List<Step> steps = new ArrayList<>();
+
+    public PipelineUsecase(UsecaseInterface first) {
+        this.steps.add(new Step(first, null));
+    }
+
+    /**
+     * Add a step getting the previous step response data.
+     *
+     * @param usecase The step usecase.
+     * @return The current instance.
+     */
+    public PipelineUsecase withStep(UsecaseInterface usecase) {
+        return this.withStep(usecase, ResponseInterface::getData);
+    }
+
+    /**
+     * Add a step getting data mapped from the previous step response.
+     *
+     * @param usecase The step usecase.
+     * @param mapper Map the previous step response to the step request data.
+     * @return The current instance.
+     */
+    public PipelineUsecase withStep(UsecaseInterface usecase, Function<ResponseInterface, Map<String, Object>> mapper) {
+        this.steps.add(new Step(usecase, mapper));
+        return this;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        RequestInterface stepRequest = this.request;
+        String requestId = this.getRequestId();
+        ResponseInterface response = null;
+        for (Step step : this.steps) {
+            if (step.mapper != null) {
+                stepRequest = ComposedRequest.of(requestId, response == null ? null : step.mapper.apply(response));
+            }
+            Presenter stepPresenter = new Presenter();
+            step.usecase.withRequest(stepRequest).withPresenter(stepPresenter).withDeadline(this.deadline);
+            if (this.deadline != null) {
+                this.deadline.check();
+            }
+            step.usecase.execute();
+
+            response = stepPresenter.getResponse();
+            if (response != null && !response.isSuccess()) {
+                break;
+            }
+        }
+        this.presentResponse(response);
+    }
+
+    private String getRequestId() {
+        if (this.request != null) {
+            return this.request.getRequestId();
+        }
+        RequestContext context = RequestContext.current();
+        return context == null ? null : context.getRequestId();
+    }
+
+    private static final class Step {
+        private final UsecaseInterface usecase;
+        private final Function<ResponseInterface, Map<String, Object>> mapper;
+
+        private Step(UsecaseInterface usecase, Function<ResponseInterface, Map<String, Object>> mapper) {
+            this.usecase = usecase;
+            this.mapper = mapper;
+        }
+    }
+}
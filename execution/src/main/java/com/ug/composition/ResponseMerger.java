@@ -0,0 +1,42 @@
+package com.ug.composition;
+
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+import com.ug.response.StatusCode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Merge the responses of parallel branches into the composed usecase response.
+ */
+@FunctionalInterface
+public interface ResponseMerger {
+    /**
+     * Present the first failure response, in branch order. Otherwise, a success response whose data holds
+     * each branch response data under the branch name.
+     */
+    ResponseMerger BY_BRANCH = responses -> {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (Map.Entry<String, ResponseInterface> entry : responses.entrySet()) {
+            ResponseInterface response = entry.getValue();
+            if (response == null) {
+                continue;
+            }
+            if (!response.isSuccess()) {
+                return response;
+            }
+            data.put(entry.getKey(), response.getData());
+        }
+        return Response.create(true, StatusCode.OK.getValue(), "success.response", data);
+    };
+
+    /**
+     * Merge the branch responses.
+     *
+     * @param responses The response of each branch, by branch name in declaration order. A branch which
+     *                  presented nothing has a null response.
+     * @return The composed response.
+     */
+    ResponseInterface merge(Map<String, ResponseInterface> responses);
+}
@@ -0,0 +1,141 @@
+package com.ug.resilience;
+
+import com.ug.exception.ConcurrencyLimitExceededException;
+import com.ug.exception.ErrorCode;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limit the number of concurrent executions of a usecase to a limit adjusted from the observed execution durations,
+ * by a {@link LimitAlgorithm}. Share one instance per usecase.
+ * <p>
+ * Calls over the limit are shed at once, there is no wait queue: a queue would only add latency to an overloaded
+ * usecase. Taking a slot is a compare-and-set. Completed executions update the limit when no other one is doing it,
+ * otherwise their sample is skipped, so releasing never waits either. A skipped dropped execution is still reported to
+ * the algorithm with the next update, since drops are the strongest overload signal.
+ */
+public class AdaptiveLimiter {
+    private final String name;
+    private final LimitAlgorithm algorithm;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final AtomicBoolean skippedDrop = new AtomicBoolean();
+    private final LongAdder acceptedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private volatile int limit;
+
+    public AdaptiveLimiter(String name, LimitAlgorithm algorithm) {
+        this(name, algorithm, System::nanoTime);
+    }
+
+    /**
+     * @param name The limiter name, usually the usecase name.
+     * @param algorithm The limit algorithm, owned by this limiter.
+     * @param nanoClock The clock timing executions, such as a simulated one.
+     */
+    public AdaptiveLimiter(String name, LimitAlgorithm algorithm, LongSupplier nanoClock) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.nanoClock = nanoClock;
+        this.limit = algorithm.getLimit();
+    }
+
+    /**
+     * Create a limiter with a {@link GradientLimit}, starting at 20 in-flight executions.
+     *
+     * @param name The limiter name, usually the usecase name.
+     * @return The limiter.
+     */
+    public static AdaptiveLimiter of(String name) {
+        return new AdaptiveLimiter(name, GradientLimit.of(20));
+    }
+
+    /**
+     * Take a slot.
+     *
+     * @return The start time, to give to {@link #release(long, boolean)}.
+     * @throws ConcurrencyLimitExceededException If the limit is reached.
+     */
+    public long acquire() throws ConcurrencyLimitExceededException {
+        int current;
+        do {
+            current = this.inFlight.get();
+            if (current >= this.limit) {
+                this.rejectedCalls.increment();
+                throw new ConcurrencyLimitExceededException(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED, Map.of(
+                    "limiter", this.name,
+                    "limit", this.limit
+                ));
+            }
+        } while (!this.inFlight.compareAndSet(current, current + 1));
+        this.acceptedCalls.increment();
+        return this.nanoClock.getAsLong();
+    }
+
+    /**
+     * Release a slot, and update the limit with the execution duration.
+     *
+     * @param start The start time returned by {@link #acquire()}.
+     * @param dropped Whether the execution failed because of an overload, such as a timeout.
+     */
+    public void release(long start, boolean dropped) {
+        long rtt = this.nanoClock.getAsLong() - start;
+        int completedInFlight = this.inFlight.getAndDecrement();
+        if (this.updateLock.tryLock()) {
+            try {
+                boolean anyDropped = this.skippedDrop.getAndSet(false) || dropped;
+                this.limit = this.algorithm.update(rtt, completedInFlight, anyDropped);
+            } finally {
+                this.updateLock.unlock();
+            }
+        } else if (dropped) {
+            this.skippedDrop.set(true);
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the current limit.
+     *
+     * @return The maximum number of in-flight executions.
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Get the number of executions currently holding a slot.
+     *
+     * @return The number of in-flight executions.
+     */
+    public int getInFlightCalls() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Get the number of calls which got a slot since the limiter creation.
+     *
+     * @return The number of accepted calls.
+     */
+    public long getAcceptedCalls() {
+        return this.acceptedCalls.sum();
+    }
+
+    /**
+     * Get the number of calls shed since the limiter creation.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejectedCalls() {
+        return this.rejectedCalls.sum();
+    }
+}
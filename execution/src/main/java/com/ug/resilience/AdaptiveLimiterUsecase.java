@@ -0,0 +1,45 @@
+package com.ug.resilience;
+
+import com.ug.exception.BaseException;
+import com.ug.response.StatusCode;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+public class AdaptiveLimiterUsecase extends UsecaseDecorator {
+    private final AdaptiveLimiter limiter;
+
+    public AdaptiveLimiterUsecase(UsecaseInterface usecase, AdaptiveLimiter limiter) {
+        super(usecase);
+        this.limiter = limiter;
+    }
+
+    /**
+     * Execute the decorated usecase once a slot is taken. Errors signaling an overload, with a 429, 503 or 504
+     * status code, are reported to the limiter as dropped executions.
+     *
+     * @throws BaseException If the limit is reached or the usecase fails.
+     */
+    @Override
+    public void execute() throws BaseException {
+        long start = this.limiter.acquire();
+        boolean dropped = false;
+        try {
+            this.usecase.execute();
+        } catch (BaseException error) {
+            dropped = isOverload(error.getStatusCode());
+            throw error;
+        } finally {
+            this.limiter.release(start, dropped);
+        }
+    }
+
+    private static boolean isOverload(int statusCode) {
+        return statusCode == StatusCode.TOO_MANY_REQUESTS.getValue()
+            || statusCode == StatusCode.SERVICE_UNAVAILABLE.getValue()
+            || statusCode == StatusCode.GATEWAY_TIMEOUT.getValue();
+    }
+
+    public AdaptiveLimiter getLimiter() {
+        return this.limiter;
+    }
+}
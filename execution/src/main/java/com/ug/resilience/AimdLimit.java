@@ -0,0 +1,63 @@
+package com.ug.resilience;
+
+import java.time.Duration;
+
+/**
+ * Additive increase, multiplicative decrease, once per round trip: the limit grows by one after a round trip of fast
+ * executions which used at least half of it, and is cut by the backoff ratio after a round trip whose average duration
+ * is over the latency threshold, or with a dropped execution. Simple and predictable, but the threshold must be tuned
+ * to the usecase.
+ */
+public class AimdLimit implements LimitAlgorithm {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final SampleWindow window = new SampleWindow();
+    private int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must verify 1 <= minLimit <= initialLimit <= maxLimit.");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Create an AIMD limit between 1 and 1000, backing off by 10%.
+     *
+     * @param initialLimit The initial limit.
+     * @param latencyThreshold The execution duration from which the limit is decreased.
+     * @return The algorithm.
+     */
+    public static AimdLimit of(int initialLimit, Duration latencyThreshold) {
+        return new AimdLimit(initialLimit, 1, 1000, latencyThreshold, 0.9);
+    }
+
+    @Override
+    public int getLimit() {
+        return this.limit;
+    }
+
+    @Override
+    public int update(long rttNanos, int inFlight, boolean dropped) {
+        this.window.add(rttNanos, inFlight, dropped);
+        if (!this.window.isComplete(this.limit)) {
+            return this.limit;
+        }
+        if (this.window.hasDropped() || this.window.averageRtt() > this.latencyThresholdNanos) {
+            this.limit = Math.max(this.minLimit, (int) (this.limit * this.backoffRatio));
+        } else if (this.window.maxInFlight() * 2 >= this.limit) {
+            this.limit = Math.min(this.maxLimit, this.limit + 1);
+        }
+        this.window.reset();
+        return this.limit;
+    }
+}
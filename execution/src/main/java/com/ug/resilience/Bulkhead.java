@@ -0,0 +1,169 @@
+package com.ug.resilience;
+
+import com.ug.exception.BulkheadFullException;
+import com.ug.exception.ErrorCode;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit the number of concurrent executions of a usecase.
+ * Share one instance per usecase. Acquiring a free slot is a single compare-and-set, callers only park
+ * when every slot is taken and the bounded wait queue still has room.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxWaitingCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waitingCalls = new AtomicInteger();
+    private final LongAdder acceptedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrentCalls, int maxWaitingCalls, Duration maxWaitDuration) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be greater than 0.");
+        }
+        if (maxWaitingCalls < 0) {
+            throw new IllegalArgumentException("maxWaitingCalls must not be negative.");
+        }
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWaitNanos = maxWaitDuration.toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Create a bulkhead which rejects calls as soon as every slot is taken.
+     *
+     * @param name The bulkhead name, usually the usecase name.
+     * @param maxConcurrentCalls The maximum number of in-flight executions.
+     * @return The bulkhead.
+     */
+    public static Bulkhead of(String name, int maxConcurrentCalls) {
+        return new Bulkhead(name, maxConcurrentCalls, 0, Duration.ZERO);
+    }
+
+    /**
+     * Try to take a slot without waiting. Async callers can use it to apply backpressure.
+     *
+     * @return true if a slot was taken, false otherwise.
+     */
+    public boolean tryAcquire() {
+        if (this.permits.tryAcquire()) {
+            this.acceptedCalls.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a slot, waiting into the bounded queue if every slot is taken.
+     *
+     * @throws BulkheadFullException If the queue is full or no slot was released in time.
+     */
+    public void acquire() throws BulkheadFullException {
+        if (this.tryAcquire()) {
+            return;
+        }
+        if (!this.enterQueue()) {
+            this.reject(ErrorCode.BULKHEAD_FULL);
+        }
+
+        boolean acquired;
+        try {
+            acquired = this.permits.tryAcquire(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            this.waitingCalls.decrementAndGet();
+        }
+
+        if (!acquired) {
+            this.reject(ErrorCode.BULKHEAD_WAIT_TIMEOUT);
+        }
+        this.acceptedCalls.increment();
+    }
+
+    /**
+     * Release a slot taken with {@link #acquire()} or {@link #tryAcquire()}.
+     */
+    public void release() {
+        this.permits.release();
+    }
+
+    private boolean enterQueue() {
+        int waiting;
+        do {
+            waiting = this.waitingCalls.get();
+            if (waiting >= this.maxWaitingCalls) {
+                return false;
+            }
+        } while (!this.waitingCalls.compareAndSet(waiting, waiting + 1));
+        return true;
+    }
+
+    private void reject(ErrorCode errorCode) throws BulkheadFullException {
+        this.rejectedCalls.increment();
+        throw new BulkheadFullException(errorCode, Map.of(
+            "bulkhead", this.name,
+            "max_concurrent_calls", this.maxConcurrentCalls,
+            "max_waiting_calls", this.maxWaitingCalls
+        ));
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return this.maxConcurrentCalls;
+    }
+
+    public int getMaxWaitingCalls() {
+        return this.maxWaitingCalls;
+    }
+
+    /**
+     * Get the number of executions currently holding a slot.
+     *
+     * @return The number of in-flight executions.
+     */
+    public int getInFlightCalls() {
+        return this.maxConcurrentCalls - this.permits.availablePermits();
+    }
+
+    /**
+     * Get the number of callers waiting for a slot.
+     *
+     * @return The wait queue depth.
+     */
+    public int getQueueDepth() {
+        return this.waitingCalls.get();
+    }
+
+    /**
+     * Get the number of calls which got a slot since the bulkhead creation.
+     *
+     * @return The number of accepted calls.
+     */
+    public long getAcceptedCalls() {
+        return this.acceptedCalls.sum();
+    }
+
+    /**
+     * Get the number of calls rejected since the bulkhead creation.
+     *
+     * @return The number of rejected calls.
+     */
+    public long getRejectedCalls() {
+        return this.rejectedCalls.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ug.resilience;
+
+import com.ug.exception.BaseException;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+public class BulkheadUsecase extends UsecaseDecorator {
+    private final Bulkhead bulkhead;
+
+    public BulkheadUsecase(UsecaseInterface usecase, Bulkhead bulkhead) {
+        super(usecase);
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * Execute the decorated usecase once a bulkhead slot is taken.
+     *
+     * @throws BaseException If the bulkhead is full or the usecase fails.
+     */
+    @Override
+    public void execute() throws BaseException {
+        this.bulkhead.acquire();
+        try {
+            this.usecase.execute();
+        } finally {
+            this.bulkhead.release();
+        }
+    }
+
+    public Bulkhead getBulkhead() {
+        return this.bulkhead;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ug.resilience;
+
+/**
+ * Adjust the limit once per round trip, from the ratio between the no-load and the recent execution durations,
+ * without any latency threshold to tune. While recent executions are as fast as without load, the limit grows by its
+ * square root, the queue allowance; once they slow down, queueing has started and the limit shrinks proportionally,
+ * down to half at once. A round trip with a dropped execution halves the limit.
+ * <p>
+ * The recent duration is the average of the last round trip. The no-load one is the fastest execution of the last
+ * 10 to 20 seconds, measured in round trip durations, so it adapts when the usecase gets durably slower, such as after a
+ * deployment or a dependency change, instead of shrinking the limit forever. A window that long almost always holds a
+ * round trip without queueing, so queueing does not pass for the new no-load duration. The limit is not increased
+ * while less than half of it is used, since fast executions then say nothing about the capacity.
+ */
+public class GradientLimit implements LimitAlgorithm {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final long NO_LOAD_PERIOD_NANOS = 10_000_000_000L;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final SampleWindow window = new SampleWindow();
+    private double limit;
+    private long noLoadRtt = Long.MAX_VALUE;
+    private long previousMinRtt = Long.MAX_VALUE;
+    private long currentMinRtt = Long.MAX_VALUE;
+    private double periodNanos;
+
+    /**
+     * @param initialLimit The initial limit.
+     * @param minLimit The minimum limit.
+     * @param maxLimit The maximum limit.
+     * @param tolerance How much slower than without load recent executions may be before the limit shrinks, such as 1.5.
+     * @param smoothing The weight of each new limit, between 0 and 1.
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must verify 1 <= minLimit <= initialLimit <= maxLimit.");
+        }
+        if (tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Invalid gradient settings.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Create a gradient limit between 1 and 1000, tolerating recent executions 50% slower than without load.
+     *
+     * @param initialLimit The initial limit.
+     * @return The algorithm.
+     */
+    public static GradientLimit of(int initialLimit) {
+        return new GradientLimit(initialLimit, 1, 1000, 1.5, 0.2);
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    @Override
+    public int update(long rttNanos, int inFlight, boolean dropped) {
+        this.window.add(Math.max(1, rttNanos), inFlight, dropped);
+        if (!this.window.isComplete(this.getLimit())) {
+            return this.getLimit();
+        }
+        this.updateNoLoadRtt(this.window.minRtt(), this.window.averageRtt());
+        double gradient = this.window.hasDropped()
+            ? MIN_GRADIENT
+            : Math.max(MIN_GRADIENT, Math.min(1.0, this.tolerance * this.noLoadRtt / this.window.averageRtt()));
+        if (gradient < 1.0 || this.window.maxInFlight() * 2 >= this.limit) {
+            double newLimit = this.limit * gradient + Math.sqrt(this.limit);
+            this.limit = this.limit * (1 - this.smoothing) + newLimit * this.smoothing;
+            this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, this.limit));
+        }
+        this.window.reset();
+        return this.getLimit();
+    }
+
+    /**
+     * Keep the minimum of the current and previous periods, a round trip lasting about its average duration.
+     */
+    private void updateNoLoadRtt(long minRtt, double averageRtt) {
+        this.currentMinRtt = Math.min(this.currentMinRtt, minRtt);
+        this.periodNanos += averageRtt;
+        if (this.periodNanos >= NO_LOAD_PERIOD_NANOS) {
+            this.previousMinRtt = this.currentMinRtt;
+            this.currentMinRtt = Long.MAX_VALUE;
+            this.periodNanos = 0;
+        }
+        this.noLoadRtt = Math.min(this.previousMinRtt, this.currentMinRtt);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ug.resilience;
+
+/**
+ * Compute the concurrency limit of an {@link AdaptiveLimiter} from the observed executions.
+ * Implementations are stateful and not thread-safe: the limiter calls them from one thread at a time.
+ */
+public interface LimitAlgorithm {
+    /**
+     * Get the current limit.
+     *
+     * @return The maximum number of in-flight executions.
+     */
+    int getLimit();
+
+    /**
+     * Update the limit with a completed execution.
+     *
+     * @param rttNanos The execution duration, in nanoseconds.
+     * @param inFlight The number of in-flight executions when it completed, itself included.
+     * @param dropped Whether the execution failed because of an overload, such as a timeout.
+     * @return The new limit.
+     */
+    int update(long rttNanos, int inFlight, boolean dropped);
+}
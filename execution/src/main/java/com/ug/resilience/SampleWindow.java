@@ -0,0 +1,52 @@
+package com.ug.resilience;
+
+/**
+ * Aggregate the executions completed during a round trip, so limit algorithms react once per round trip
+ * rather than to each execution, whose duration reflects a limit older than the current one.
+ */
+final class SampleWindow {
+    private long rttSum;
+    private long minRtt = Long.MAX_VALUE;
+    private int count;
+    private int maxInFlight;
+    private boolean dropped;
+
+    void add(long rttNanos, int inFlight, boolean dropped) {
+        this.rttSum += rttNanos;
+        this.minRtt = Math.min(this.minRtt, rttNanos);
+        this.count++;
+        this.maxInFlight = Math.max(this.maxInFlight, inFlight);
+        this.dropped |= dropped;
+    }
+
+    /**
+     * Check if the window holds as many executions as the given limit, about one round trip at that limit.
+     */
+    boolean isComplete(int limit) {
+        return this.count >= limit;
+    }
+
+    double averageRtt() {
+        return (double) this.rttSum / this.count;
+    }
+
+    long minRtt() {
+        return this.minRtt;
+    }
+
+    int maxInFlight() {
+        return this.maxInFlight;
+    }
+
+    boolean hasDropped() {
+        return this.dropped;
+    }
+
+    void reset() {
+        this.rttSum = 0;
+        this.minRtt = Long.MAX_VALUE;
+        this.count = 0;
+        this.maxInFlight = 0;
+        this.dropped = false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ug.slowlog;
+
+import com.ug.context.Span;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Usecase execution which took longer than the threshold of a {@link SlowExecutionRecorder}.
+ */
+public final class SlowExecution {
+    private final long sequence;
+    private final Class<?> usecase;
+    private final String requestId;
+    private final String payloadSummary;
+    private final Instant start;
+    private final Duration duration;
+    private final boolean success;
+    private final List<Span> phases;
+
+    public SlowExecution(
+        long sequence,
+        Class<?> usecase,
+        String requestId,
+        String payloadSummary,
+        Instant start,
+        Duration duration,
+        boolean success,
+        List<Span> phases
+    ) {
+        this.sequence = sequence;
+        this.usecase = usecase;
+        this.requestId = requestId;
+        this.payloadSummary = payloadSummary;
+        this.start = start;
+        this.duration = duration;
+        this.success = success;
+        this.phases = phases;
+    }
+
+    /**
+     * Get the recording order of the execution, starting from 0.
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Get the class of the usecase, the innermost one when it is decorated.
+     */
+    public Class<?> getUsecase() {
+        return this.usecase;
+    }
+
+    public String getRequestId() {
+        return this.requestId;
+    }
+
+    public String getPayloadSummary() {
+        return this.payloadSummary;
+    }
+
+    public Instant getStart() {
+        return this.start;
+    }
+
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    public boolean isSuccess() {
+        return this.success;
+    }
+
+    /**
+     * Get the phases recorded by the request context bound during the execution,
+     * empty if none was bound or if the request was not sampled.
+     */
+    public List<Span> getPhases() {
+        return this.phases;
+    }
+
+    @Override
+    public String toString() {
+        return this.usecase.getSimpleName() + " " + this.requestId + " " + this.duration.toNanos() / 1_000_000.0 + "ms"
+            + (this.success ? "" : " failed") + " " + this.phases + " " + this.payloadSummary;
+    }
+}
@@ -0,0 +1,189 @@
+package com.ug.slowlog;
+
+import com.ug.context.RequestContext;
+import com.ug.context.Span;
+import com.ug.request.RequestInterface;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Keep the latest usecase executions which took longer than a threshold into a fixed-size ring buffer.
+ * <p>
+ * Faster executions only cost a comparison. A slow one claims the next slot with a single atomic increment and
+ * publishes its entry with release semantics, overwriting the oldest entry once the buffer is full: writers never
+ * wait for each other nor for readers. {@link #snapshot()} reads the slots without stopping the writers.
+ */
+public class SlowExecutionRecorder {
+    private static final int DEFAULT_SUMMARY_LENGTH = 256;
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowExecution> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private Function<RequestInterface, String> payloadSummarizer = request -> summarize(request, DEFAULT_SUMMARY_LENGTH);
+
+    /**
+     * @param threshold The duration from which executions are recorded.
+     * @param capacity The number of executions kept, rounded up to a power of two.
+     */
+    public SlowExecutionRecorder(Duration threshold, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0.");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.thresholdNanos = threshold.toNanos();
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Set how request payloads are summarized, such as to mask sensitive fields.
+     * By default, payloads are written as text truncated to 256 characters, stopping the rendering there.
+     *
+     * @param payloadSummarizer Build the summary of a request payload.
+     * @return The current instance.
+     */
+    public SlowExecutionRecorder withPayloadSummarizer(Function<RequestInterface, String> payloadSummarizer) {
+        this.payloadSummarizer = payloadSummarizer;
+        return this;
+    }
+
+    /**
+     * Check if an execution of the given duration must be recorded.
+     *
+     * @param durationNanos The execution duration, in nanoseconds.
+     */
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= this.thresholdNanos;
+    }
+
+    /**
+     * Record an execution, if it is slow.
+     *
+     * @param usecase The usecase class.
+     * @param request The request, or null.
+     * @param startNanos The execution start, from {@link System#nanoTime()}.
+     * @param durationNanos The execution duration, in nanoseconds.
+     * @param success Whether the execution completed successfully.
+     */
+    public void record(Class<?> usecase, RequestInterface request, long startNanos, long durationNanos, boolean success) {
+        if (!this.isSlow(durationNanos)) {
+            return;
+        }
+        RequestContext context = RequestContext.current();
+        List<Span> phases = context == null || !context.getSpans().isEnabled() ? List.of() : context.getSpans().getSpans();
+        String requestId = request != null ? request.getRequestId() : context != null ? context.getRequestId() : null;
+        String payloadSummary = request == null ? "" : this.summarizePayload(request);
+        Instant start = Instant.now().minusNanos(System.nanoTime() - startNanos);
+
+        long sequence = this.sequence.getAndIncrement();
+        this.slots.setRelease((int) (sequence & this.mask), new SlowExecution(
+            sequence, usecase, requestId, payloadSummary, start, Duration.ofNanos(durationNanos), success, phases
+        ));
+    }
+
+    private String summarizePayload(RequestInterface request) {
+        try {
+            return this.payloadSummarizer.apply(request);
+        } catch (RuntimeException error) {
+            return "<summary failed: " + error + ">";
+        }
+    }
+
+    /**
+     * Get the recorded executions still into the buffer.
+     *
+     * @return The executions, oldest first.
+     */
+    public List<SlowExecution> snapshot() {
+        long end = this.sequence.get();
+        List<SlowExecution> executions = new ArrayList<>(this.slots.length());
+        for (int i = 0; i < this.slots.length(); i++) {
+            SlowExecution execution = this.slots.getAcquire(i);
+            // Skip entries overwritten by executions claimed after the snapshot started.
+            if (execution != null && execution.getSequence() < end) {
+                executions.add(execution);
+            }
+        }
+        executions.sort(Comparator.comparingLong(SlowExecution::getSequence));
+        return executions;
+    }
+
+    /**
+     * Get the number of slow executions recorded since the creation, including the overwritten ones.
+     */
+    public long getRecordedCount() {
+        return this.sequence.get();
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(this.thresholdNanos);
+    }
+
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    private static String summarize(RequestInterface request, int maxLength) {
+        StringBuilder summary = new StringBuilder(maxLength + 3);
+        return append(summary, request.toArray(), maxLength) ? summary.toString() : summary.append("...").toString();
+    }
+
+    /**
+     * Append the text form of a value, as {@link String#valueOf(Object)} renders maps and collections, without
+     * rendering what exceeds the maximum length.
+     *
+     * @return false if the value was truncated.
+     */
+    private static boolean append(StringBuilder summary, Object value, int maxLength) {
+        if (value instanceof Map<?, ?> map) {
+            if (!appendText(summary, "{", maxLength)) {
+                return false;
+            }
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first && !appendText(summary, ", ", maxLength)
+                    || !append(summary, entry.getKey(), maxLength)
+                    || !appendText(summary, "=", maxLength)
+                    || !append(summary, entry.getValue(), maxLength)) {
+                    return false;
+                }
+                first = false;
+            }
+            return appendText(summary, "}", maxLength);
+        }
+        if (value instanceof Collection<?> collection) {
+            if (!appendText(summary, "[", maxLength)) {
+                return false;
+            }
+            boolean first = true;
+            for (Object item : collection) {
+                if (!first && !appendText(summary, ", ", maxLength) || !append(summary, item, maxLength)) {
+                    return false;
+                }
+                first = false;
+            }
+            return appendText(summary, "]", maxLength);
+        }
+        return appendText(summary, String.valueOf(value), maxLength);
+    }
+
+    private static boolean appendText(StringBuilder summary, String text, int maxLength) {
+        int remaining = maxLength - summary.length();
+        if (text.length() <= remaining) {
+            summary.append(text);
+            return true;
+        }
+        summary.append(text, 0, remaining);
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ug.slowlog;
+
+import com.ug.exception.BaseException;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+public class SlowExecutionUsecase extends UsecaseDecorator {
+    private final SlowExecutionRecorder recorder;
+
+    public SlowExecutionUsecase(UsecaseInterface usecase, SlowExecutionRecorder recorder) {
+        super(usecase);
+        this.recorder = recorder;
+    }
+
+    /**
+     * Execute the decorated usecase, and record the execution if it is slow.
+     *
+     * @throws BaseException If the usecase fails.
+     */
+    @Override
+    public void execute() throws BaseException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            this.usecase.execute();
+            success = true;
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (this.recorder.isSlow(duration)) {
+                this.recorder.record(innermostClass(this.usecase), this.request, start, duration, success);
+            }
+        }
+    }
+
+    private static Class<?> innermostClass(UsecaseInterface usecase) {
+        while (usecase instanceof UsecaseDecorator decorator) {
+            usecase = decorator.getUsecase();
+        }
+        return usecase.getClass();
+    }
+
+    public SlowExecutionRecorder getRecorder() {
+        return this.recorder;
+    }
+}
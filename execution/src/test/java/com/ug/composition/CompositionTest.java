@@ -0,0 +1,227 @@
+package com.ug.composition;
+
+import com.ug.context.RequestContext;
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CompositionTest {
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("user_id", true);
+        }
+    }
+
+    static class GetUserUsecase extends Usecase {
+        private final Map<String, Object> user = new HashMap<>(Map.of("name", "Ulrich", "address", Map.of("city", "Cotonou")));
+
+        @Override
+        public void execute() {
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "user.found", this.user));
+        }
+    }
+
+    static class CaptureUsecase extends Usecase {
+        private final AtomicReference<RequestInterface> captured = new AtomicReference<>();
+        private final boolean success;
+
+        CaptureUsecase(boolean success) {
+            this.success = success;
+        }
+
+        @Override
+        public void execute() {
+            this.captured.set(this.request);
+            this.presentResponse(Response.create(this.success, StatusCode.OK.getValue(), "captured", Map.of("city", this.getField("address.city", "none"))));
+        }
+    }
+
+    static class SleepingUsecase extends Usecase {
+        private final long millis;
+        private final AtomicBoolean interrupted = new AtomicBoolean();
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        SleepingUsecase(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public void execute() {
+            this.started.countDown();
+            try {
+                Thread.sleep(this.millis);
+            } catch (InterruptedException error) {
+                this.interrupted.set(true);
+                return;
+            }
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "slept", Map.of("millis", this.millis)));
+        }
+    }
+
+    static class FailingUsecase extends Usecase {
+        private final CountDownLatch awaited;
+
+        FailingUsecase(CountDownLatch awaited) {
+            this.awaited = awaited;
+        }
+
+        @Override
+        public void execute() throws BaseException {
+            try {
+                this.awaited.await();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            throw new BadRequestContentException(new HashMap<>(Map.of("message", "branch.failed")));
+        }
+    }
+
+    private static RequestInterface request() throws BadRequestContentException {
+        return new CustomRequest().createFromPayload(Map.of("user_id", 1));
+    }
+
+    @Test
+    public void shouldPassStepDataWithoutCopy() throws Exception {
+        GetUserUsecase getUser = new GetUserUsecase();
+        CaptureUsecase capture = new CaptureUsecase(true);
+        RequestInterface request = request();
+        Presenter presenter = new Presenter();
+
+        new PipelineUsecase(getUser).withStep(capture).withRequest(request).withPresenter(presenter).execute();
+
+        RequestInterface stepRequest = capture.captured.get();
+        assertEquals(request.getRequestId(), stepRequest.getRequestId());
+        assertEquals(getUser.user, stepRequest.toArray());
+        getUser.user.put("name", "Updated");
+        assertEquals("Updated", stepRequest.get("name"));
+        try {
+            stepRequest.toArray().put("name", "Other");
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        assertEquals("captured", presenter.getResponse().getMessage());
+        assertEquals(Map.of("city", "Cotonou"), presenter.getResponse().getData());
+    }
+
+    @Test
+    public void shouldRunPipelinesWithoutRequest() throws Exception {
+        CaptureUsecase capture = new CaptureUsecase(true);
+        Presenter presenter = new Presenter();
+
+        new PipelineUsecase(new GetUserUsecase()).withStep(capture).withPresenter(presenter).execute();
+        assertNull(capture.captured.get().getRequestId());
+        assertEquals(Map.of("city", "Cotonou"), presenter.getResponse().getData());
+
+        RequestContext.of("request-1").call(() -> {
+            new PipelineUsecase(new GetUserUsecase()).withStep(capture).withPresenter(new Presenter()).execute();
+            return null;
+        });
+        assertEquals("request-1", capture.captured.get().getRequestId());
+    }
+
+    @Test
+    public void shouldStopPipelineAtFirstFailureResponse() throws Exception {
+        CaptureUsecase failing = new CaptureUsecase(false);
+        CaptureUsecase next = new CaptureUsecase(true);
+        Presenter presenter = new Presenter();
+
+        new PipelineUsecase(new GetUserUsecase())
+            .withStep(failing, response -> Map.of("address", response.get("address")))
+            .withStep(next)
+            .withRequest(request())
+            .withPresenter(presenter)
+            .execute();
+
+        assertFalse(presenter.getResponse().isSuccess());
+        assertEquals(Map.of("city", "Cotonou"), presenter.getResponse().getData());
+        assertNull(next.captured.get());
+    }
+
+    @Test
+    public void shouldRunBranchesInParallelAndMergeTheirResponses() throws Exception {
+        Presenter presenter = new Presenter();
+        long start = System.nanoTime();
+
+        new ParallelUsecase()
+            .withBranch("first", new SleepingUsecase(200))
+            .withBranch("second", new SleepingUsecase(200))
+            .withBranch("user", new GetUserUsecase())
+            .withRequest(request())
+            .withPresenter(presenter)
+            .execute();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 390);
+        assertTrue(presenter.getResponse().isSuccess());
+        assertEquals(List.of("first", "second", "user"), List.copyOf(presenter.getResponse().getData().keySet()));
+        assertEquals(200L, presenter.getResponse().get("first.millis"));
+        assertEquals("Ulrich", presenter.getResponse().get("user.name"));
+    }
+
+    @Test
+    public void shouldCancelSiblingBranchesOnFirstException() throws Exception {
+        SleepingUsecase sibling = new SleepingUsecase(10_000);
+        Presenter presenter = new Presenter();
+        long start = System.nanoTime();
+
+        try {
+            new ParallelUsecase()
+                .withBranch("sibling", sibling)
+                .withBranch("failing", new FailingUsecase(sibling.started))
+                .withRequest(request())
+                .withPresenter(presenter)
+                .execute();
+            fail();
+        } catch (BadRequestContentException error) {
+            assertEquals("branch.failed", error.getMessage());
+        }
+
+        assertTrue(sibling.interrupted.get());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertNull(presenter.getResponse());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldComposeParallelBranchesIntoPipelines() throws Exception {
+        CaptureUsecase capture = new CaptureUsecase(true);
+        Presenter presenter = new Presenter();
+
+        new PipelineUsecase(new ParallelUsecase().withBranch("user", new GetUserUsecase()).withBranch("other", new SleepingUsecase(1)))
+            .withStep(capture, response -> (Map<String, Object>) response.get("user"))
+            .withRequest(request())
+            .withPresenter(presenter)
+            .execute();
+
+        assertEquals("Cotonou", capture.captured.get().get("address.city"));
+        assertEquals(Map.of("city", "Cotonou"), presenter.getResponse().getData());
+    }
+
+    @Test
+    public void shouldSnapshotPayloadsOfComposedRequests() {
+        Map<String, Object> payload = new HashMap<>(Map.of("field", "value"));
+        ComposedRequest request = new ComposedRequest();
+
+        assertSame(request, request.createFromPayload(payload));
+        payload.put("field", "changed");
+
+        assertEquals("value", request.get("field"));
+        assertNotNull(request.getRequestId());
+    }
+}
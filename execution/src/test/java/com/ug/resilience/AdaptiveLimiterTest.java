@@ -0,0 +1,306 @@
+package com.ug.resilience;
+
+import com.ug.enums.Status;
+import com.ug.exception.BaseException;
+import com.ug.exception.ConcurrencyLimitExceededException;
+import com.ug.exception.ErrorCode;
+import com.ug.exception.UsecaseTimeoutException;
+import com.ug.presenter.Presenter;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * Deterministic simulations of an adaptive limiter in front of a synthetic service, on a simulated clock.
+ * The service has a number of workers and a base latency: once more executions are in flight than workers,
+ * they share them and every execution slows down proportionally. Executions slower than the timeout are dropped.
+ */
+public class AdaptiveLimiterTest {
+    private static final long MILLI = 1_000_000;
+    private static final long SECOND = 1_000 * MILLI;
+    private static final long BASE_LATENCY = 10 * MILLI;
+    private static final long TIMEOUT = 100 * MILLI;
+
+    static final class Completion implements Comparable<Completion> {
+        private final long time;
+        private final long sequence;
+        private final long start;
+        private final boolean dropped;
+
+        private Completion(long time, long sequence, long start, boolean dropped) {
+            this.time = time;
+            this.sequence = sequence;
+            this.start = start;
+            this.dropped = dropped;
+        }
+
+        @Override
+        public int compareTo(Completion other) {
+            return this.time != other.time ? Long.compare(this.time, other.time) : Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    static final class Simulation {
+        private final Random random;
+        private final LongFunction<Integer> workers;
+        private final LongToDoubleFunction slowdown;
+        private final PriorityQueue<Completion> completions = new PriorityQueue<>();
+        private final List<Long> latencies = new ArrayList<>();
+        private final List<Integer> limits = new ArrayList<>();
+        private long now;
+        private long sequence;
+        private long accepted;
+        private long rejected;
+        private long dropped;
+
+        /**
+         * @param seed The seed of the arrivals and latency jitter.
+         * @param workers The number of workers of the service, at the given time.
+         * @param slowdown The factor applied to the base latency, at the given time.
+         */
+        Simulation(long seed, LongFunction<Integer> workers, LongToDoubleFunction slowdown) {
+            this.random = new Random(seed);
+            this.workers = workers;
+            this.slowdown = slowdown;
+        }
+
+        LongSupplier clock() {
+            return () -> this.now;
+        }
+
+        /**
+         * Send requests at the given rate, with exponential inter-arrival times, sampling the limit every 100ms.
+         */
+        Simulation run(AdaptiveLimiter limiter, double requestsPerSecond, long duration) {
+            long nextSample = 0;
+            long nextArrival = 0;
+            while (nextArrival < duration) {
+                this.completeUntil(limiter, nextArrival);
+                this.now = nextArrival;
+                while (nextSample <= this.now) {
+                    this.limits.add(limiter.getLimit());
+                    nextSample += 100 * MILLI;
+                }
+
+                try {
+                    long start = limiter.acquire();
+                    this.accepted++;
+                    double load = Math.max(1.0, (double) limiter.getInFlightCalls() / this.workers.apply(this.now));
+                    long latency = (long) (BASE_LATENCY * this.slowdown.applyAsDouble(this.now) * (1 + this.random.nextDouble() * 0.2) * load);
+                    boolean timedOut = latency > TIMEOUT;
+                    this.completions.add(new Completion(this.now + Math.min(latency, TIMEOUT), this.sequence++, start, timedOut));
+                } catch (ConcurrencyLimitExceededException error) {
+                    this.rejected++;
+                }
+                nextArrival += (long) (-Math.log(1 - this.random.nextDouble()) / requestsPerSecond * SECOND);
+            }
+            this.completeUntil(limiter, Long.MAX_VALUE);
+            return this;
+        }
+
+        private void completeUntil(AdaptiveLimiter limiter, long time) {
+            while (!this.completions.isEmpty() && this.completions.peek().time <= time) {
+                Completion completion = this.completions.poll();
+                this.now = completion.time;
+                limiter.release(completion.start, completion.dropped);
+                if (completion.dropped) {
+                    this.dropped++;
+                } else {
+                    this.latencies.add(completion.time - completion.start);
+                }
+            }
+        }
+
+        long percentileLatency(double percentile) {
+            List<Long> sorted = new ArrayList<>(this.latencies);
+            Collections.sort(sorted);
+            return sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+        }
+
+        /**
+         * Get the average limit between the given times.
+         */
+        double averageLimit(long from, long to) {
+            return this.limits.subList((int) (from / (100 * MILLI)), (int) (to / (100 * MILLI))).stream()
+                .mapToInt(Integer::intValue)
+                .average()
+                .orElseThrow();
+        }
+    }
+
+    private static Simulation simulate(long seed, LimitAlgorithm algorithm, LongFunction<Integer> workers, double rate, long duration) {
+        return simulate(seed, algorithm, workers, time -> 1, rate, duration);
+    }
+
+    private static Simulation simulate(long seed, LimitAlgorithm algorithm, LongFunction<Integer> workers, LongToDoubleFunction slowdown, double rate, long duration) {
+        Simulation simulation = new Simulation(seed, workers, slowdown);
+        return simulation.run(new AdaptiveLimiter("simulated", algorithm, simulation.clock()), rate, duration);
+    }
+
+    @Test
+    public void gradientLimitShouldSettleNearCapacityUnderOverload() {
+        // 20 workers at 10ms serve 2000 requests per second, twice as many are sent.
+        Simulation simulation = simulate(1, GradientLimit.of(5), time -> 20, 4_000, 20 * SECOND);
+
+        double limit = simulation.averageLimit(2 * SECOND, 20 * SECOND);
+        assertTrue("limit " + limit, limit >= 20 && limit <= 50);
+        assertTrue(simulation.rejected > 0);
+        assertEquals(0, simulation.dropped);
+        assertTrue("accepted " + simulation.accepted, simulation.accepted >= 20 * 1_800);
+        assertTrue(simulation.percentileLatency(99) <= 3 * BASE_LATENCY);
+    }
+
+    @Test
+    public void aimdLimitShouldSettleNearCapacityUnderOverload() {
+        Simulation simulation = simulate(2, AimdLimit.of(5, Duration.ofMillis(25)), time -> 20, 4_000, 20 * SECOND);
+
+        double limit = simulation.averageLimit(2 * SECOND, 20 * SECOND);
+        assertTrue("limit " + limit, limit >= 20 && limit <= 50);
+        assertTrue(simulation.rejected > 0);
+        assertTrue("accepted " + simulation.accepted, simulation.accepted >= 20 * 1_800);
+        assertTrue(simulation.percentileLatency(99) <= 3 * BASE_LATENCY);
+    }
+
+    @Test
+    public void shouldFollowCapacityDropsAndRecoveries() {
+        // Workers drop from 20 to 5 between 10s and 20s, such as a degraded downstream service.
+        for (LimitAlgorithm algorithm : List.of(GradientLimit.of(5), AimdLimit.of(5, Duration.ofMillis(25)))) {
+            Simulation simulation = simulate(3, algorithm, time -> time >= 10 * SECOND && time < 20 * SECOND ? 5 : 20, 4_000, 30 * SECOND);
+
+            double healthy = simulation.averageLimit(5 * SECOND, 10 * SECOND);
+            double degraded = simulation.averageLimit(12 * SECOND, 20 * SECOND);
+            double recovered = simulation.averageLimit(25 * SECOND, 30 * SECOND);
+            String limits = algorithm.getClass().getSimpleName() + " " + healthy + " " + degraded + " " + recovered;
+            assertTrue(limits, degraded < healthy / 2);
+            assertTrue(limits, degraded <= 15);
+            assertTrue(limits, recovered > healthy * 0.75);
+        }
+    }
+
+    @Test
+    public void shouldNotShedUnderLightLoad() {
+        for (LimitAlgorithm algorithm : List.of(GradientLimit.of(5), AimdLimit.of(5, Duration.ofMillis(25)))) {
+            Simulation simulation = simulate(4, algorithm, time -> 20, 500, 20 * SECOND);
+
+            // Arrivals are bursty, only the very first ones may find the initial limit too low.
+            assertTrue(algorithm.getClass().getSimpleName() + " " + simulation.rejected, simulation.rejected < 10);
+            assertTrue(simulation.percentileLatency(99) <= 2 * BASE_LATENCY);
+        }
+    }
+
+    @Test
+    public void shouldShrinkOnDroppedExecutions() {
+        // A single worker cannot keep up with the initial limit: executions time out until the limit shrinks.
+        Simulation simulation = simulate(5, GradientLimit.of(100), time -> 1, 2_000, 10 * SECOND);
+
+        assertTrue(simulation.dropped > 0);
+        assertTrue(simulation.averageLimit(5 * SECOND, 10 * SECOND) <= 5);
+    }
+
+    @Test
+    public void gradientLimitShouldAdaptToDurablySlowerExecutions() {
+        // Executions get 4 times slower from 5s, such as after a deployment: 20 workers now serve 500 requests per second.
+        Simulation simulation = simulate(7, GradientLimit.of(5), time -> 20, time -> time >= 5 * SECOND ? 4 : 1, 1_000, 60 * SECOND);
+
+        double limit = simulation.averageLimit(40 * SECOND, 60 * SECOND);
+        assertTrue("limit " + limit, limit >= 20 && limit <= 50);
+    }
+
+    @Test
+    public void shouldReportDropsOfSkippedSamples() throws Exception {
+        CountDownLatch updating = new CountDownLatch(1);
+        CountDownLatch skipped = new CountDownLatch(1);
+        List<Boolean> drops = Collections.synchronizedList(new ArrayList<>());
+        AdaptiveLimiter limiter = new AdaptiveLimiter("skipping", new LimitAlgorithm() {
+            @Override
+            public int getLimit() {
+                return 10;
+            }
+
+            @Override
+            public int update(long rttNanos, int inFlight, boolean dropped) {
+                drops.add(dropped);
+                if (drops.size() == 1) {
+                    updating.countDown();
+                    try {
+                        assertTrue(skipped.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException error) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return 10;
+            }
+        });
+        long first = limiter.acquire();
+        long second = limiter.acquire();
+        long third = limiter.acquire();
+        Thread updater = Thread.ofVirtual().start(() -> limiter.release(first, false));
+        assertTrue(updating.await(10, TimeUnit.SECONDS));
+        limiter.release(second, true);
+        skipped.countDown();
+        updater.join();
+        limiter.release(third, false);
+
+        assertEquals(List.of(false, true), drops);
+    }
+
+    @Test
+    public void simulationsShouldBeDeterministic() {
+        Simulation first = simulate(6, GradientLimit.of(5), time -> 20, 4_000, 5 * SECOND);
+        Simulation second = simulate(6, GradientLimit.of(5), time -> 20, 4_000, 5 * SECOND);
+
+        assertEquals(first.limits, second.limits);
+        assertEquals(first.latencies, second.latencies);
+        assertEquals(first.rejected, second.rejected);
+    }
+
+    @Test
+    public void shouldShedWithAFormattableError() throws BaseException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("report", AimdLimit.of(1, Duration.ofSeconds(1)));
+        long start = limiter.acquire();
+        try {
+            new AdaptiveLimiterUsecase(new Usecase() {
+                @Override
+                public void execute() {
+                }
+            }, limiter).withPresenter(new Presenter()).execute();
+            fail();
+        } catch (ConcurrencyLimitExceededException error) {
+            Map<String, Object> formatted = error.format();
+            assertEquals(Status.ERROR.getValue(), formatted.get("status"));
+            assertEquals(StatusCode.SERVICE_UNAVAILABLE.getValue(), formatted.get("error_code"));
+            assertEquals("concurrency.limit.exceeded", formatted.get("message"));
+            assertEquals(Map.of("limiter", "report", "limit", 1), formatted.get("details"));
+        }
+        limiter.release(start, false);
+
+        try {
+            new AdaptiveLimiterUsecase(new Usecase() {
+                @Override
+                public void execute() throws BaseException {
+                    throw new UsecaseTimeoutException(ErrorCode.USECASE_TIMEOUT, Map.of());
+                }
+            }, limiter).withPresenter(new Presenter()).execute();
+            fail();
+        } catch (UsecaseTimeoutException ignored) {
+        }
+        assertEquals(0, limiter.getInFlightCalls());
+        assertEquals(2, limiter.getAcceptedCalls());
+        assertEquals(1, limiter.getRejectedCalls());
+    }
+}
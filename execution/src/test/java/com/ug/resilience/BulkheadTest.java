@@ -0,0 +1,143 @@
+package com.ug.resilience;
+
+import com.ug.enums.Status;
+import com.ug.exception.BaseException;
+import com.ug.exception.BulkheadFullException;
+import com.ug.presenter.Presenter;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class BulkheadTest {
+    static class BlockingUsecase extends Usecase {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingUsecase(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void execute() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            this.presenter.present(Response.create(true, StatusCode.OK.getValue(), "success.response", Map.of()));
+        }
+    }
+
+    @Test
+    public void shouldExecuteUsecaseWhenSlotIsFree() throws BaseException {
+        Bulkhead bulkhead = Bulkhead.of("report", 1);
+        Presenter presenter = new Presenter();
+        new BulkheadUsecase(new BlockingUsecase(new CountDownLatch(1), new CountDownLatch(0)), bulkhead)
+            .withPresenter(presenter)
+            .execute();
+
+        assertTrue(presenter.getResponse().isSuccess());
+        assertEquals(0, bulkhead.getInFlightCalls());
+        assertEquals(1, bulkhead.getAcceptedCalls());
+        assertEquals(0, bulkhead.getRejectedCalls());
+    }
+
+    @Test
+    public void shouldRejectUsecaseWhenBulkheadIsFull() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("report", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread running = Thread.ofVirtual().start(() -> {
+            try {
+                new BulkheadUsecase(new BlockingUsecase(started, release), bulkhead).withPresenter(new Presenter()).execute();
+            } catch (BaseException ignored) {
+            }
+        });
+        started.await();
+        assertEquals(1, bulkhead.getInFlightCalls());
+
+        try {
+            new BulkheadUsecase(new BlockingUsecase(new CountDownLatch(1), new CountDownLatch(0)), bulkhead)
+                .withPresenter(new Presenter())
+                .execute();
+            fail();
+        } catch (BulkheadFullException error) {
+            Map<String, Object> errorDetails = error.format();
+            assertEquals(Status.ERROR.getValue(), errorDetails.get("status"));
+            assertEquals(StatusCode.TOO_MANY_REQUESTS.getValue(), errorDetails.get("error_code"));
+            assertEquals("bulkhead.full", errorDetails.get("message"));
+            assertEquals("report", error.getDetails().get("bulkhead"));
+        }
+
+        release.countDown();
+        running.join();
+        assertEquals(1, bulkhead.getRejectedCalls());
+        assertEquals(0, bulkhead.getInFlightCalls());
+    }
+
+    @Test
+    public void shouldWaitIntoQueueUntilSlotIsReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("report", 1, 1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Presenter> queuedPresenter = new AtomicReference<>(new Presenter());
+
+        Thread running = Thread.ofVirtual().start(() -> {
+            try {
+                new BulkheadUsecase(new BlockingUsecase(started, release), bulkhead).withPresenter(new Presenter()).execute();
+            } catch (BaseException ignored) {
+            }
+        });
+        started.await();
+
+        Thread queued = Thread.ofVirtual().start(() -> {
+            try {
+                new BulkheadUsecase(new BlockingUsecase(new CountDownLatch(1), new CountDownLatch(0)), bulkhead)
+                    .withPresenter(queuedPresenter.get())
+                    .execute();
+            } catch (BaseException ignored) {
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueueDepth() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, bulkhead.getQueueDepth());
+        assertFalse(bulkhead.tryAcquire());
+
+        release.countDown();
+        running.join();
+        queued.join();
+
+        assertNotNull(queuedPresenter.get().getResponse());
+        assertEquals(0, bulkhead.getQueueDepth());
+        assertEquals(2, bulkhead.getAcceptedCalls());
+        assertEquals(0, bulkhead.getRejectedCalls());
+    }
+
+    @Test
+    public void shouldRejectWhenQueuedCallWaitsTooLong() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("report", 1, 1, Duration.ofMillis(10));
+        assertTrue(bulkhead.tryAcquire());
+        try {
+            bulkhead.acquire();
+            fail();
+        } catch (BulkheadFullException error) {
+            assertEquals("bulkhead.wait.timeout", error.getMessage());
+        }
+        bulkhead.release();
+        assertEquals(0, bulkhead.getInFlightCalls());
+        assertEquals(1, bulkhead.getRejectedCalls());
+    }
+}
@@ -0,0 +1,184 @@
+package com.ug.slowlog;
+
+import com.ug.context.Phase;
+import com.ug.context.RequestContext;
+import com.ug.context.RequestContextUsecase;
+import com.ug.context.Span;
+import com.ug.context.SpanExporter;
+import com.ug.context.SpanRecorder;
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCode;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.usecase.Usecase;
+import com.ug.usecase.UsecaseInterface;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class SlowExecutionTest {
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("field_1", true);
+        }
+    }
+
+    static class CustomUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            Object value = this.getField("field_1");
+            if ("fail".equals(value)) {
+                sleep(20);
+                throw new BadRequestContentException(ErrorCode.INVALID_REQUEST_FIELDS, Map.of());
+            }
+            if ("slow".equals(value)) {
+                sleep(20);
+            }
+        }
+    }
+
+    static class NoopUsecase extends Usecase {
+        @Override
+        public void execute() {
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void execute(UsecaseInterface usecase, RequestInterface request) {
+        try {
+            usecase.withRequest(request).withPresenter(new Presenter()).execute();
+        } catch (BaseException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldOnlyRecordExecutionsOverTheThreshold() throws BaseException {
+        SlowExecutionRecorder recorder = new SlowExecutionRecorder(Duration.ofMillis(10), 8);
+        RequestInterface fast = new CustomRequest().createFromPayload(Map.of("field_1", "fast"));
+        RequestInterface slow = new CustomRequest().createFromPayload(Map.of("field_1", "slow"));
+        RequestInterface failing = new CustomRequest().createFromPayload(Map.of("field_1", "fail"));
+
+        execute(new SlowExecutionUsecase(new CustomUsecase(), recorder), fast);
+        execute(new SlowExecutionUsecase(new RequestContextUsecase(new CustomUsecase()), recorder), slow);
+        execute(new SlowExecutionUsecase(new CustomUsecase(), recorder), failing);
+
+        List<SlowExecution> executions = recorder.snapshot();
+        assertEquals(2, executions.size());
+        assertEquals(CustomUsecase.class, executions.get(0).getUsecase());
+        assertEquals(slow.getRequestId(), executions.get(0).getRequestId());
+        assertEquals("{field_1=slow}", executions.get(0).getPayloadSummary());
+        assertTrue(executions.get(0).isSuccess());
+        assertTrue(executions.get(0).getDuration().toMillis() >= 10);
+        assertFalse(executions.get(1).isSuccess());
+        assertEquals(failing.getRequestId(), executions.get(1).getRequestId());
+    }
+
+    @Test
+    public void shouldStopSummarizingPayloadsAtTheMaximumLength() throws BaseException {
+        SlowExecutionRecorder recorder = new SlowExecutionRecorder(Duration.ofMillis(10), 8);
+        Object unrendered = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("Rendered past the maximum length.");
+            }
+        };
+        RequestInterface large = new CustomRequest().createFromPayload(Map.of("field_1", List.of("x".repeat(300), unrendered)));
+        RequestInterface small = new CustomRequest().createFromPayload(Map.of("field_1", List.of(1, Map.of("field_2", "y"))));
+
+        recorder.record(CustomUsecase.class, large, System.nanoTime(), Duration.ofSeconds(1).toNanos(), true);
+        recorder.record(CustomUsecase.class, small, System.nanoTime(), Duration.ofSeconds(1).toNanos(), true);
+
+        List<SlowExecution> executions = recorder.snapshot();
+        assertEquals("{field_1=[" + "x".repeat(246) + "...", executions.get(0).getPayloadSummary());
+        assertEquals("{field_1=[1, {field_2=y}]}", executions.get(1).getPayloadSummary());
+    }
+
+    @Test
+    public void shouldAttachThePhasesOfTheBoundContext() throws BaseException {
+        SlowExecutionRecorder recorder = new SlowExecutionRecorder(Duration.ofMillis(10), 8)
+            .withPayloadSummarizer(request -> request.toArray().keySet().toString());
+        RequestContext context = new RequestContext("request-1", null, new SpanRecorder("request-1", SpanExporter.NOOP));
+        context.call(() -> {
+            RequestInterface request = new CustomRequest().createFromPayload(Map.of("field_1", "slow"));
+            execute(new SlowExecutionUsecase(new RequestContextUsecase(new CustomUsecase()), recorder), request);
+            return null;
+        });
+
+        SlowExecution execution = recorder.snapshot().get(0);
+        assertEquals("request-1", execution.getRequestId());
+        assertEquals("[field_1]", execution.getPayloadSummary());
+        assertEquals(
+            List.of(Phase.FILTER, Phase.CONSTRAINT, Phase.EXECUTE),
+            execution.getPhases().stream().map(Span::getPhase).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void shouldKeepTheLatestExecutionsUnderConcurrentRecording() throws Exception {
+        SlowExecutionRecorder recorder = new SlowExecutionRecorder(Duration.ZERO, 50);
+        assertEquals(64, recorder.getCapacity());
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int writer = 0; writer < 4; writer++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        recorder.record(NoopUsecase.class, null, System.nanoTime(), 1, true);
+                    }
+                });
+            }
+        }
+
+        List<SlowExecution> executions = recorder.snapshot();
+        assertEquals(4_000, recorder.getRecordedCount());
+        assertEquals(64, executions.size());
+        Set<Long> sequences = new HashSet<>();
+        for (int i = 0; i < executions.size(); i++) {
+            assertTrue(sequences.add(executions.get(i).getSequence()));
+            assertTrue(executions.get(i).getSequence() >= 4_000 - 64);
+            if (i > 0) {
+                assertTrue(executions.get(i).getSequence() > executions.get(i - 1).getSequence());
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotAllocateBelowTheThreshold() throws BaseException {
+        SlowExecutionRecorder recorder = new SlowExecutionRecorder(Duration.ofSeconds(10), 8);
+        UsecaseInterface usecase = new SlowExecutionUsecase(new NoopUsecase(), recorder)
+            .withRequest(new CustomRequest().createFromPayload(Map.of("field_1", "fast")))
+            .withPresenter(new Presenter());
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < 50_000; i++) {
+            usecase.execute();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 50_000; i++) {
+            usecase.execute();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Only the allocation counter read itself may show up.
+        assertTrue("allocated " + allocated + " bytes", allocated < 50_000);
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+}
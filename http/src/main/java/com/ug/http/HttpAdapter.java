@@ -0,0 +1,413 @@
+package com.ug.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ug.codec.CodecException;
+import com.ug.codec.ErrorEnvelope;
+import com.ug.codec.JsonReader;
+import com.ug.codec.JsonWriter;
+import com.ug.context.RequestContext;
+import com.ug.context.Tracer;
+import com.ug.exception.BaseException;
+import com.ug.exception.ErrorCode;
+import com.ug.presenter.ConditionalPresenter;
+import com.ug.presenter.Presenter;
+import com.ug.presenter.PresenterInterface;
+import com.ug.request.RequestInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.response.StatusCode;
+import com.ug.usecase.UsecaseInterface;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Expose usecases over HTTP with the JDK embedded server, each exchange being handled on its own virtual thread.
+ * <p>
+ * For each exchange, the JSON body, or the query parameters when there is no body, is parsed while it is received
+ * and given to {@link RequestInterface#createFromPayload(Map)}. The usecase is executed with a {@link Presenter},
+ * whose formatted response is written as JSON straight into the chunked response body, with the response status code.
+ * A {@link BaseException} is written as its formatted content, with its error code as status, and other exceptions are
+ * given to the error handler then answered as internal errors. Headers are only sent once the first
+ * {@value #BODY_BUFFER_SIZE} bytes of the body are serialized, so a body failing to serialize within them, such as one
+ * with a failing lazy value, or an invalid status code, is still answered as an internal error. Past that, the error is
+ * reported and the exchange aborted, so the client never takes a cut off body for a complete one. Successful responses
+ * to {@code GET} requests carry an {@code ETag} header, and a {@code 304} without body when it matches the
+ * {@code If-None-Match} header of the request. A request context is
+ * bound during the exchange, with the id read from the {@value #REQUEST_ID_HEADER} header, or a generated one.
+ */
+public class HttpAdapter implements AutoCloseable {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final long DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+    private static final int BODY_BUFFER_SIZE = 8192;
+
+    private static final System.Logger LOGGER = System.getLogger(HttpAdapter.class.getName());
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Map<String, Route>> routes = new HashMap<>();
+    private Tracer tracer = Tracer.NOOP;
+    private long maxBodySize = DEFAULT_MAX_BODY_SIZE;
+    private Consumer<? super RuntimeException> errorHandler = HttpAdapter::logError;
+
+    /**
+     * Disable Nagle's algorithm on the sockets of the JDK embedded servers, unless the
+     * {@value #NO_DELAY_PROPERTY} system property is already set. Small chunked responses otherwise wait for delayed
+     * acknowledgements, about 40ms each. The property is read once by the JDK, so this must be called before any
+     * server is created, and applies to all the servers of the JVM, including the ones not created by this class.
+     */
+    public static void enableNoDelay() {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    /**
+     * Create an adapter listening on the given address, once started.
+     *
+     * @param address The address, with port 0 for any free port.
+     * @throws IOException If the address cannot be bound.
+     */
+    public HttpAdapter(InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(this.executor);
+    }
+
+    /**
+     * Route the given method and path to a usecase. Paths are matched exactly.
+     *
+     * @param method The HTTP method.
+     * @param path The path.
+     * @param requestFactory Create the empty request of each exchange.
+     * @param usecaseFactory Create the usecase of each exchange.
+     * @return The current instance.
+     */
+    public HttpAdapter withRoute(
+        String method,
+        String path,
+        Supplier<? extends RequestInterface> requestFactory,
+        Supplier<? extends UsecaseInterface> usecaseFactory
+    ) {
+        Map<String, Route> methods = this.routes.get(path);
+        if (methods == null) {
+            methods = new LinkedHashMap<>();
+            this.routes.put(path, methods);
+            Map<String, Route> pathRoutes = methods;
+            this.server.createContext(path, exchange -> this.handle(exchange, path, pathRoutes));
+        }
+        methods.put(method.toUpperCase(), new Route(requestFactory, usecaseFactory));
+        return this;
+    }
+
+    /**
+     * Set the tracer creating the request context of each exchange.
+     *
+     * @param tracer The tracer.
+     * @return The current instance.
+     */
+    public HttpAdapter withTracer(Tracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    /**
+     * Set the maximum request body size, 1 MiB by default.
+     *
+     * @param maxBodySize The size, in bytes.
+     * @return The current instance.
+     */
+    public HttpAdapter withMaxBodySize(long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+        return this;
+    }
+
+    /**
+     * Set the handler of unexpected exceptions, called with the request context bound before an internal error is
+     * answered. They are logged as errors by default.
+     *
+     * @param errorHandler The handler.
+     * @return The current instance.
+     */
+    public HttpAdapter withErrorHandler(Consumer<? super RuntimeException> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    public HttpAdapter start() {
+        this.server.start();
+        return this;
+    }
+
+    public InetSocketAddress getAddress() {
+        return this.server.getAddress();
+    }
+
+    /**
+     * Stop accepting exchanges, and wait up to the given delay for the running ones to complete.
+     *
+     * @param delay The maximum delay.
+     */
+    public void stop(Duration delay) {
+        this.server.stop((int) Math.min(Integer.MAX_VALUE, delay.toSeconds()));
+        this.executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        this.stop(Duration.ZERO);
+    }
+
+    private void handle(HttpExchange exchange, String path, Map<String, Route> pathRoutes) {
+        try {
+            String requestId = exchange.getRequestHeaders().getFirst(REQUEST_ID_HEADER);
+            if (requestId == null || requestId.isBlank()) {
+                requestId = UUID.randomUUID().toString();
+            }
+            exchange.getResponseHeaders().set(REQUEST_ID_HEADER, requestId);
+
+            Route route = pathRoutes.get(exchange.getRequestMethod().toUpperCase());
+            if (!path.equals(exchange.getRequestURI().getPath())) {
+                this.writeError(exchange, ErrorCode.ROUTE_NOT_FOUND, Map.of());
+            } else if (route == null) {
+                exchange.getResponseHeaders().set("Allow", String.join(", ", pathRoutes.keySet()));
+                this.writeError(exchange, ErrorCode.METHOD_NOT_ALLOWED, Map.of());
+            } else {
+                this.tracer.newContext(requestId, null).call(() -> {
+                    this.execute(exchange, route);
+                    return null;
+                });
+            }
+        } catch (ExchangeAbortedException error) {
+            // Left unfinished, so the server closes the connection instead of ending the cut off body.
+            throw error;
+        } catch (IOException | UncheckedIOException ignored) {
+            // The client went away, nothing can be written anymore.
+        }
+        exchange.close();
+    }
+
+    private void execute(HttpExchange exchange, Route route) throws IOException {
+        PresenterInterface presenter = new Presenter();
+        if (exchange.getRequestMethod().equalsIgnoreCase("GET")) {
+            presenter = new ConditionalPresenter(presenter, exchange.getRequestHeaders().getFirst("If-None-Match"));
+        }
+        BaseException failure = null;
+        try {
+            Map<String, Object> payload = this.readPayload(exchange);
+            RequestInterface request = route.requestFactory.get().createFromPayload(payload);
+            route.usecaseFactory.get().withRequest(request).withPresenter(presenter).execute();
+        } catch (BaseException error) {
+            failure = error;
+        } catch (PayloadTooLargeException error) {
+            this.writeError(exchange, ErrorCode.PAYLOAD_TOO_LARGE, Map.of("max_size", this.maxBodySize));
+            return;
+        } catch (CodecException error) {
+            this.writeError(exchange, ErrorCode.INVALID_JSON_PAYLOAD, Map.of("error", error.getMessage()));
+            return;
+        } catch (RuntimeException error) {
+            this.writeInternalError(exchange, error);
+            return;
+        }
+
+        try {
+            if (failure != null) {
+                ErrorEnvelope.write(this.startJson(exchange, failure.getStatusCode()), failure).flush();
+            } else {
+                this.writeResponse(exchange, presenter);
+            }
+        } catch (UncheckedIOException error) {
+            throw error;
+        } catch (RuntimeException error) {
+            this.writeInternalError(exchange, error);
+        }
+    }
+
+    private void writeResponse(HttpExchange exchange, PresenterInterface presenter) throws IOException {
+        ResponseInterface response = presenter.getResponse();
+        if (response == null) {
+            exchange.sendResponseHeaders(StatusCode.NO_CONTENT.getValue(), -1);
+            return;
+        }
+        if (presenter instanceof ConditionalPresenter conditionalPresenter && conditionalPresenter.getEntityTag() != null) {
+            exchange.getResponseHeaders().set("ETag", conditionalPresenter.getEntityTag());
+        }
+        this.write(exchange, response.getStatusCode(), presenter.getFormattedResponse());
+    }
+
+    /**
+     * Report an unexpected exception, then answer an internal error, or abort the exchange if the response headers
+     * are already sent.
+     */
+    private void writeInternalError(HttpExchange exchange, RuntimeException error) throws IOException {
+        try {
+            this.errorHandler.accept(error);
+        } catch (RuntimeException handlerError) {
+            error.addSuppressed(handlerError);
+            logError(error);
+        }
+        if (exchange.getResponseCode() != -1) {
+            throw new ExchangeAbortedException();
+        }
+        exchange.getResponseHeaders().remove("ETag");
+        this.writeError(exchange, ErrorCode.INTERNAL_ERROR, Map.of());
+    }
+
+    private static void logError(RuntimeException error) {
+        RequestContext context = RequestContext.current();
+        LOGGER.log(System.Logger.Level.ERROR, "Unexpected error handling request " + (context == null ? null : context.getRequestId()), error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readPayload(HttpExchange exchange) {
+        Object body = new JsonReader(new LimitedInputStream(exchange.getRequestBody(), this.maxBodySize)).read();
+        if (body == null) {
+            return queryParameters(exchange.getRequestURI().getRawQuery());
+        }
+        if (!(body instanceof Map)) {
+            throw new CodecException("The JSON payload must be an object.");
+        }
+        return (Map<String, Object>) body;
+    }
+
+    private static Map<String, Object> queryParameters(String query) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            if (!name.isEmpty()) {
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private void writeError(HttpExchange exchange, ErrorCode errorCode, Map<String, Object> details) throws IOException {
+        ErrorEnvelope.write(this.startJson(exchange, errorCode.getStatusCode().getValue()), errorCode, details).flush();
+    }
+
+    private void write(HttpExchange exchange, int statusCode, Map<String, Object> body) throws IOException {
+        if (statusCode == StatusCode.NO_CONTENT.getValue() || statusCode == StatusCode.NOT_MODIFIED.getValue()) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+        this.startJson(exchange, statusCode).write(body).flush();
+    }
+
+    private JsonWriter startJson(HttpExchange exchange, int statusCode) {
+        if (statusCode < 100 || statusCode > 599) {
+            throw new IllegalStateException("Invalid response status code " + statusCode + ".");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        return new JsonWriter(new ResponseBodyStream(exchange, statusCode));
+    }
+
+    private static final class Route {
+        private final Supplier<? extends RequestInterface> requestFactory;
+        private final Supplier<? extends UsecaseInterface> usecaseFactory;
+
+        private Route(Supplier<? extends RequestInterface> requestFactory, Supplier<? extends UsecaseInterface> usecaseFactory) {
+            this.requestFactory = requestFactory;
+            this.usecaseFactory = usecaseFactory;
+        }
+    }
+
+    private static final class PayloadTooLargeException extends RuntimeException {
+        private PayloadTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class ExchangeAbortedException extends RuntimeException {
+        private ExchangeAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Response body stream sending the response headers on its first write, once the {@link JsonWriter} buffer of
+     * {@value #BODY_BUFFER_SIZE} bytes is full or flushed.
+     */
+    private static final class ResponseBodyStream extends OutputStream {
+        private final HttpExchange exchange;
+        private final int statusCode;
+        private OutputStream body;
+
+        private ResponseBodyStream(HttpExchange exchange, int statusCode) {
+            this.exchange = exchange;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            this.start().write(value);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            this.start().write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.start().flush();
+        }
+
+        private OutputStream start() throws IOException {
+            if (this.body == null) {
+                this.exchange.sendResponseHeaders(this.statusCode, 0);
+                this.body = this.exchange.getResponseBody();
+            }
+            return this.body;
+        }
+    }
+
+    /**
+     * Request body stream failing once more than the maximum body size is read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0 && --this.remaining < 0) {
+                throw new PayloadTooLargeException();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0 && (this.remaining -= read) < 0) {
+                throw new PayloadTooLargeException();
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.ug.http;
+
+import com.ug.codec.JsonReader;
+import com.ug.context.RequestContext;
+import com.ug.exception.BaseException;
+import com.ug.request.Request;
+import com.ug.response.LazyValue;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class HttpAdapterTest {
+    private HttpAdapter adapter;
+    private final List<RuntimeException> errors = new CopyOnWriteArrayList<>();
+    private final List<String> errorRequestIds = new CopyOnWriteArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    static class CreateUserRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("name", true, "tags", false);
+        }
+    }
+
+    static class CreateUserUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            if ("nobody".equals(this.getField("name"))) {
+                return;
+            }
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "user.created", Map.of(
+                "name", this.getField("name"),
+                "request_id", this.getRequestId(),
+                "context_request_id", RequestContext.current().getRequestId()
+            )));
+        }
+    }
+
+    static class FailingUsecase extends Usecase {
+        @Override
+        public void execute() {
+            throw new IllegalStateException("Unexpected failure.");
+        }
+    }
+
+    static class BrokenResponseUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            LazyValue<Object> failing = LazyValue.of(() -> {
+                throw new IllegalStateException("Lazy failure.");
+            });
+            switch ((String) this.getField("name")) {
+                case "status" -> this.presentResponse(Response.create(true, 42, "broken", Map.of()));
+                case "large" -> this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "broken", Map.of(
+                    "items", List.of("x".repeat(64 * 1024), failing)
+                )));
+                default -> this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "broken", Map.of("item", failing)));
+            }
+        }
+    }
+
+    @Before
+    public void start() throws Exception {
+        this.adapter = new HttpAdapter(new InetSocketAddress("127.0.0.1", 0))
+            .withRoute("POST", "/users", CreateUserRequest::new, CreateUserUsecase::new)
+            .withRoute("GET", "/users", CreateUserRequest::new, CreateUserUsecase::new)
+            .withRoute("POST", "/failures", CreateUserRequest::new, FailingUsecase::new)
+            .withRoute("POST", "/broken", CreateUserRequest::new, BrokenResponseUsecase::new)
+            .withMaxBodySize(1024)
+            .withErrorHandler(error -> {
+                this.errors.add(error);
+                this.errorRequestIds.add(RequestContext.current().getRequestId());
+            })
+            .start();
+    }
+
+    @After
+    public void stop() {
+        this.adapter.close();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + this.adapter.getAddress().getPort() + pathAndQuery));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> json(HttpResponse<String> response) {
+        return (Map<String, Object>) JsonReader.parse(response.body());
+    }
+
+    @Test
+    public void shouldExecuteTheRoutedUsecase() throws Exception {
+        HttpResponse<String> response = this.send(this.request("/users")
+            .header(HttpAdapter.REQUEST_ID_HEADER, "request-1")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"Ulrich é\", \"tags\": [1, 2.5, true, null]}")));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("request-1", response.headers().firstValue(HttpAdapter.REQUEST_ID_HEADER).orElseThrow());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        Map<String, Object> body = json(response);
+        assertEquals("success", body.get("status"));
+        assertEquals("user.created", body.get("message"));
+        assertEquals(Map.of("name", "Ulrich é", "request_id", "request-1", "context_request_id", "request-1"), body.get("data"));
+    }
+
+    @Test
+    public void shouldReadQueryParametersWithoutBody() throws Exception {
+        HttpResponse<String> response = this.send(this.request("/users?name=Jane%20Doe").GET());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("Jane Doe", ((Map<?, ?>) json(response).get("data")).get("name"));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedToMatchingEntityTags() throws Exception {
+        HttpResponse<String> first = this.send(this.request("/users?name=Jane").header(HttpAdapter.REQUEST_ID_HEADER, "request-1").GET());
+        String entityTag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> unchanged = this.send(this.request("/users?name=Jane")
+            .header(HttpAdapter.REQUEST_ID_HEADER, "request-1")
+            .header("If-None-Match", entityTag)
+            .GET());
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+        assertEquals(entityTag, unchanged.headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<String> changed = this.send(this.request("/users?name=John")
+            .header(HttpAdapter.REQUEST_ID_HEADER, "request-1")
+            .header("If-None-Match", entityTag)
+            .GET());
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(entityTag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(this.send(this.request("/users").POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"Jane\"}")))
+            .headers().firstValue("ETag").isEmpty());
+    }
+
+    @Test
+    public void shouldWriteErrorsWithTheirStatusCode() throws Exception {
+        HttpResponse<String> missing = this.send(this.request("/users").POST(HttpRequest.BodyPublishers.ofString("{}")));
+        assertEquals(400, missing.statusCode());
+        assertEquals("missing.required.fields", json(missing).get("message"));
+        assertEquals(400, json(missing).get("error_code"));
+
+        HttpResponse<String> invalid = this.send(this.request("/users").POST(HttpRequest.BodyPublishers.ofString("{\"name\": ")));
+        assertEquals(400, invalid.statusCode());
+        assertEquals("invalid.json.payload", json(invalid).get("message"));
+
+        HttpResponse<String> notObject = this.send(this.request("/users").POST(HttpRequest.BodyPublishers.ofString("[1]")));
+        assertEquals(400, notObject.statusCode());
+
+        HttpResponse<String> tooLarge = this.send(this.request("/users")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"" + "x".repeat(2048) + "\"}")));
+        assertEquals(413, tooLarge.statusCode());
+
+        HttpResponse<String> method = this.send(this.request("/users").DELETE());
+        assertEquals(405, method.statusCode());
+        assertEquals("POST, GET", method.headers().firstValue("Allow").orElseThrow());
+
+        assertEquals(404, this.send(this.request("/users/1").GET()).statusCode());
+        assertEquals(404, this.send(this.request("/other").GET()).statusCode());
+    }
+
+    @Test
+    public void shouldAnswerNoContentWithoutResponse() throws Exception {
+        HttpResponse<String> response = this.send(this.request("/users").POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"nobody\"}")));
+
+        assertEquals(204, response.statusCode());
+        assertEquals("", response.body());
+    }
+
+    @Test
+    public void shouldReportUnexpectedErrorsBeforeAnsweringThem() throws Exception {
+        HttpResponse<String> response = this.send(this.request("/failures")
+            .header(HttpAdapter.REQUEST_ID_HEADER, "request-2")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"Jane\"}")));
+
+        assertEquals(500, response.statusCode());
+        assertEquals(1, this.errors.size());
+        assertEquals("Unexpected failure.", this.errors.get(0).getMessage());
+        assertEquals(List.of("request-2"), this.errorRequestIds);
+    }
+
+    @Test
+    public void shouldAnswerInternalErrorsToResponsesFailingToSerialize() throws Exception {
+        for (String name : List.of("lazy", "status")) {
+            HttpResponse<String> response = this.send(this.request("/broken")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"" + name + "\"}")));
+
+            assertEquals(500, response.statusCode());
+            assertEquals("internal.error", json(response).get("message"));
+        }
+        assertEquals(2, this.errors.size());
+        assertEquals("Lazy failure.", this.errors.get(0).getMessage());
+        assertEquals("Invalid response status code 42.", this.errors.get(1).getMessage());
+    }
+
+    @Test
+    public void shouldAbortExchangesFailingOnceTheirHeadersAreSent() throws Exception {
+        try {
+            this.send(this.request("/broken").POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"large\"}")));
+            fail();
+        } catch (IOException expected) {
+        }
+        assertEquals(1, this.errors.size());
+        assertEquals("Lazy failure.", this.errors.get(0).getMessage());
+    }
+}
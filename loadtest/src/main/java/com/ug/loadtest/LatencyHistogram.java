@@ -0,0 +1,124 @@
+package com.ug.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, with a relative error below 1%.
+ * Values lower than 128 are stored exactly, larger ones in 64 sub-buckets per power of two.
+ * Not thread-safe: record from a single thread, or merge per-thread histograms with {@link #add(LatencyHistogram)}.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+    private double sum;
+
+    /**
+     * Record a single value.
+     *
+     * @param value The value, in nanoseconds.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency must not be negative.");
+        }
+        this.counts[indexOf(value)]++;
+        this.totalCount++;
+        this.sum += value;
+        this.maxValue = Math.max(this.maxValue, value);
+    }
+
+    /**
+     * Record a value measured by a caller expecting a new sample every given interval, and the samples
+     * it missed while waiting for this one. It corrects coordinated omission of closed-loop measurements.
+     *
+     * @param value The value, in nanoseconds.
+     * @param expectedInterval The expected interval between two samples, in nanoseconds.
+     */
+    public void recordWithExpectedInterval(long value, long expectedInterval) {
+        this.record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            this.record(missing);
+        }
+    }
+
+    /**
+     * Add the values of another histogram into this one.
+     *
+     * @param other The other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.totalCount += other.totalCount;
+        this.sum += other.sum;
+        this.maxValue = Math.max(this.maxValue, other.maxValue);
+    }
+
+    /**
+     * Get the value at the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The highest value of the bucket holding the percentile, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (this.totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), this.maxValue);
+            }
+        }
+        return this.maxValue;
+    }
+
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    public long getMaxValue() {
+        return this.maxValue;
+    }
+
+    public double getMean() {
+        return this.totalCount == 0 ? 0 : this.sum / this.totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+        this.totalCount = 0;
+        this.sum = 0;
+        this.maxValue = 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        long subBucket = value >>> shift;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (int) (subBucket - HALF_SUB_BUCKET_COUNT);
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ug.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Result of a measured load: operation counts, throughput and latency distribution.
+ */
+public class LoadReport {
+    private final long operations;
+    private final long errors;
+    private final Duration elapsed;
+    private final LatencyHistogram latencies;
+
+    public LoadReport(long operations, long errors, Duration elapsed, LatencyHistogram latencies) {
+        this.operations = operations;
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.latencies = latencies;
+    }
+
+    public long getOperations() {
+        return this.operations;
+    }
+
+    public long getErrors() {
+        return this.errors;
+    }
+
+    public Duration getElapsed() {
+        return this.elapsed;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return this.latencies;
+    }
+
+    /**
+     * Get the number of completed operations per second.
+     */
+    public double getThroughput() {
+        long nanos = this.elapsed.toNanos();
+        return nanos == 0 ? 0 : this.operations * 1e9 / nanos;
+    }
+
+    /**
+     * Get the latency at the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency.
+     */
+    public Duration getLatency(double percentile) {
+        return Duration.ofNanos(this.latencies.getValueAtPercentile(percentile));
+    }
+
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(this.latencies.getMaxValue());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            Locale.ROOT,
+            "operations=%d errors=%d throughput=%.1f/s p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+            this.operations,
+            this.errors,
+            this.getThroughput(),
+            millis(this.latencies.getValueAtPercentile(50)),
+            millis(this.latencies.getValueAtPercentile(90)),
+            millis(this.latencies.getValueAtPercentile(99)),
+            millis(this.latencies.getValueAtPercentile(99.9)),
+            millis(this.latencies.getMaxValue())
+        );
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,308 @@
+package com.ug.loadtest;
+
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.presenter.PresenterInterface;
+import com.ug.request.RequestInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.UsecaseInterface;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drive a usecase under load, through the normal request creation path, and report its throughput and latencies.
+ * <p>
+ * In the closed model, a fixed number of workers execute operations back to back, or paced at a fixed interval.
+ * In the open model, operations arrive at a fixed rate, whatever the usecase response time, and wait for a free
+ * worker when the concurrency limit is reached. Latencies of scheduled operations are measured from their intended
+ * start time rather than their actual one, so stalls of the usecase are not hidden by the load generator itself
+ * (coordinated omission).
+ * <p>
+ * An operation fails when it throws, or when it presents a response which is not successful.
+ */
+public class LoadTest {
+    private static final int RECORDER_STRIPES = 16;
+
+    private final Supplier<? extends UsecaseInterface> usecaseFactory;
+    private final Supplier<? extends RequestInterface> requestFactory;
+    private final PayloadSource payloadSource;
+    private Supplier<? extends PresenterInterface> presenterFactory = Presenter::new;
+    private boolean openModel = false;
+    private int concurrency = 1;
+    private long intervalNanos = 0;
+    private boolean virtualThreads = true;
+    private Duration warmup = Duration.ZERO;
+    private Duration duration = Duration.ofSeconds(10);
+
+    /**
+     * @param usecaseFactory Create the usecase instance of each operation.
+     * @param requestFactory Create the empty request each payload is loaded into.
+     * @param payloadSource The payloads to send.
+     */
+    public LoadTest(
+        Supplier<? extends UsecaseInterface> usecaseFactory,
+        Supplier<? extends RequestInterface> requestFactory,
+        PayloadSource payloadSource
+    ) {
+        this.usecaseFactory = usecaseFactory;
+        this.requestFactory = requestFactory;
+        this.payloadSource = payloadSource;
+    }
+
+    /**
+     * Use a closed model: the given number of workers execute operations back to back.
+     * Latencies are the usecase response times.
+     *
+     * @param concurrency The number of workers.
+     * @return The current instance.
+     */
+    public LoadTest withClosedModel(int concurrency) {
+        return this.withClosedModel(concurrency, Duration.ZERO);
+    }
+
+    /**
+     * Use a closed model: the given number of workers each start an operation every given interval.
+     * A worker late on its schedule starts its next operation immediately.
+     *
+     * @param concurrency The number of workers.
+     * @param pacing The interval between two operations of a worker.
+     * @return The current instance.
+     */
+    public LoadTest withClosedModel(int concurrency, Duration pacing) {
+        if (concurrency < 1 || pacing.isNegative()) {
+            throw new IllegalArgumentException("Invalid closed model parameters.");
+        }
+        this.openModel = false;
+        this.concurrency = concurrency;
+        this.intervalNanos = pacing.toNanos();
+        return this;
+    }
+
+    /**
+     * Use an open model: operations start at the given rate, on at most the given number of concurrent workers.
+     *
+     * @param ratePerSecond The number of operations started per second.
+     * @param maxConcurrency The maximum number of operations executed at the same time.
+     * @return The current instance.
+     */
+    public LoadTest withOpenModel(double ratePerSecond, int maxConcurrency) {
+        if (ratePerSecond <= 0 || maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid open model parameters.");
+        }
+        this.openModel = true;
+        this.concurrency = maxConcurrency;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        return this;
+    }
+
+    /**
+     * Run the operations on virtual threads, the default, or on platform threads.
+     *
+     * @param virtualThreads Whether to use virtual threads.
+     * @return The current instance.
+     */
+    public LoadTest withVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Run the load for the given duration before measuring, its results are discarded.
+     *
+     * @param warmup The warmup duration.
+     * @return The current instance.
+     */
+    public LoadTest withWarmup(Duration warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * @param duration The measured duration.
+     * @return The current instance.
+     */
+    public LoadTest withDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * @param presenterFactory Create the presenter of each operation.
+     * @return The current instance.
+     */
+    public LoadTest withPresenterFactory(Supplier<? extends PresenterInterface> presenterFactory) {
+        this.presenterFactory = presenterFactory;
+        return this;
+    }
+
+    /**
+     * Run the warmup, then the measured load.
+     *
+     * @return The report of the measured load.
+     * @throws InterruptedException If the current thread is interrupted while waiting for the workers.
+     */
+    public LoadReport run() throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        if (!this.warmup.isZero() && !this.warmup.isNegative()) {
+            this.runPhase(this.warmup, sequence);
+        }
+        return this.runPhase(this.duration, sequence);
+    }
+
+    private LoadReport runPhase(Duration phaseDuration, AtomicLong sequence) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        long end = start + phaseDuration.toNanos();
+        if (this.openModel) {
+            this.runOpen(start, end, sequence, recorder);
+        } else {
+            this.runClosed(start, end, sequence, recorder);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadReport(recorder.operations.sum(), recorder.errors.sum(), elapsed, recorder.merge());
+    }
+
+    private void runClosed(long start, long end, AtomicLong sequence, Recorder recorder) throws InterruptedException {
+        ThreadFactory factory = this.threadFactory();
+        List<Thread> workers = new ArrayList<>(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            Thread worker = factory.newThread(() -> {
+                LatencyHistogram histogram = new LatencyHistogram();
+                long intended = start;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (this.intervalNanos > 0) {
+                        if (intended >= end) {
+                            break;
+                        }
+                        parkUntil(intended);
+                    } else {
+                        if (now >= end) {
+                            break;
+                        }
+                        intended = now;
+                    }
+                    boolean success = this.executeOperation(sequence.getAndIncrement());
+                    histogram.record(System.nanoTime() - intended);
+                    recorder.count(success);
+                    intended += this.intervalNanos;
+                }
+                recorder.add(histogram);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runOpen(long start, long end, AtomicLong sequence, Recorder recorder) throws InterruptedException {
+        Semaphore permits = new Semaphore(this.concurrency);
+        ExecutorService executor = this.virtualThreads
+            ? Executors.newThreadPerTaskExecutor(this.threadFactory())
+            : Executors.newFixedThreadPool(this.concurrency, this.threadFactory());
+        try {
+            for (long intended = start; intended < end; intended += this.intervalNanos) {
+                parkUntil(intended);
+                long scheduled = intended;
+                executor.execute(() -> {
+                    // Waiting for a worker is part of the operation latency.
+                    permits.acquireUninterruptibly();
+                    try {
+                        boolean success = this.executeOperation(sequence.getAndIncrement());
+                        recorder.record(System.nanoTime() - scheduled, success);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean executeOperation(long sequence) {
+        try {
+            RequestInterface request = this.requestFactory.get().createFromPayload(this.payloadSource.next(sequence));
+            PresenterInterface presenter = this.presenterFactory.get();
+            this.usecaseFactory.get().withRequest(request).withPresenter(presenter).execute();
+            ResponseInterface response = presenter.getResponse();
+            return response == null || response.isSuccess();
+        } catch (BaseException | RuntimeException error) {
+            return false;
+        }
+    }
+
+    private ThreadFactory threadFactory() {
+        return this.virtualThreads
+            ? Thread.ofVirtual().name("load-test-", 0).factory()
+            : Thread.ofPlatform().name("load-test-", 0).daemon().factory();
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Latencies recorded concurrently into striped histograms, to limit contention between workers.
+     */
+    private static final class Recorder {
+        private final LatencyHistogram[] stripes = new LatencyHistogram[RECORDER_STRIPES];
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Recorder() {
+            for (int i = 0; i < RECORDER_STRIPES; i++) {
+                this.stripes[i] = new LatencyHistogram();
+            }
+        }
+
+        private void record(long latency, boolean success) {
+            LatencyHistogram stripe = this.stripes[(int) (Thread.currentThread().threadId() & (RECORDER_STRIPES - 1))];
+            synchronized (stripe) {
+                stripe.record(latency);
+            }
+            this.count(success);
+        }
+
+        private void count(boolean success) {
+            this.operations.increment();
+            if (!success) {
+                this.errors.increment();
+            }
+        }
+
+        private void add(LatencyHistogram histogram) {
+            LatencyHistogram stripe = this.stripes[0];
+            synchronized (stripe) {
+                stripe.add(histogram);
+            }
+        }
+
+        private LatencyHistogram merge() {
+            LatencyHistogram merged = new LatencyHistogram();
+            for (LatencyHistogram stripe : this.stripes) {
+                synchronized (stripe) {
+                    merged.add(stripe);
+                }
+            }
+            return merged;
+        }
+    }
+}
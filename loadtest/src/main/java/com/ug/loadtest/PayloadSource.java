@@ -0,0 +1,54 @@
+package com.ug.loadtest;
+
+import com.ug.journal.JournalReader;
+import com.ug.journal.JournalRecord;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of the raw payloads sent to the usecase under load. Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface PayloadSource {
+    /**
+     * Get the payload of the given operation.
+     *
+     * @param sequence The operation sequence number, starting at 0.
+     * @return The payload to create the request from.
+     */
+    Map<String, Object> next(long sequence);
+
+    /**
+     * Cycle over the given payloads, in order.
+     *
+     * @param payloads The payloads.
+     * @return The payload source.
+     */
+    static PayloadSource cycle(List<Map<String, Object>> payloads) {
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("At least one payload is required.");
+        }
+        List<Map<String, Object>> copy = List.copyOf(payloads);
+        return sequence -> copy.get((int) (sequence % copy.size()));
+    }
+
+    /**
+     * Cycle over the payloads recorded into a request journal.
+     *
+     * @param directory The journal directory.
+     * @param usecase The recorded usecase name, or null to replay every record.
+     * @return The payload source.
+     */
+    static PayloadSource fromJournal(Path directory, String usecase) {
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (JournalRecord record : new JournalReader(directory)) {
+            if (usecase == null || usecase.equals(record.getUsecase())) {
+                payloads.add(record.getPayload());
+            }
+        }
+        return cycle(payloads);
+    }
+}
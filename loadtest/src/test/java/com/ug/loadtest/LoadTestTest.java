@@ -0,0 +1,138 @@
+package com.ug.loadtest;
+
+import com.ug.exception.BaseException;
+import com.ug.journal.RequestJournal;
+import com.ug.request.Request;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class LoadTestTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("field_1", true);
+        }
+    }
+
+    static class CustomUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            Object value = this.getField("field_1");
+            if ("stall".equals(value)) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            boolean success = !"fail".equals(value);
+            this.presentResponse(Response.create(success, StatusCode.OK.getValue(), "response", Map.of()));
+        }
+    }
+
+    @Test
+    public void shouldComputePercentilesWithBoundedError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(100_000_000, histogram.getMaxValue());
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 * 0.01);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 * 0.01);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+        for (long value : new long[]{0, 127, 128, 1000, Long.MAX_VALUE}) {
+            long highest = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value && highest - value <= value / 64);
+        }
+    }
+
+    @Test
+    public void shouldRecordMissedSamplesWithExpectedInterval() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.recordWithExpectedInterval(10, 100);
+        }
+        histogram.recordWithExpectedInterval(1000, 100);
+
+        assertEquals(100, histogram.getTotalCount());
+        assertTrue(histogram.getValueAtPercentile(95) >= 500);
+    }
+
+    @Test
+    public void shouldCountErrorsInClosedModel() throws InterruptedException {
+        LoadReport report = new LoadTest(
+            CustomUsecase::new,
+            CustomRequest::new,
+            PayloadSource.cycle(List.of(Map.of("field_1", "ok"), Map.of("field_1", "fail"), Map.of("field_2", "illegal")))
+        )
+            .withClosedModel(4)
+            .withWarmup(Duration.ofMillis(50))
+            .withDuration(Duration.ofMillis(200))
+            .run();
+
+        assertTrue(report.getOperations() > 3);
+        assertEquals(report.getOperations() * 2 / 3.0, report.getErrors(), 4);
+        assertEquals(report.getOperations(), report.getLatencies().getTotalCount());
+        assertTrue(report.getThroughput() > 0);
+    }
+
+    @Test
+    public void shouldIncludeQueueingDelayInOpenModelLatencies() throws InterruptedException {
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+        LoadReport report = new LoadTest(
+            CustomUsecase::new,
+            CustomRequest::new,
+            sequence -> {
+                sequences.add(sequence);
+                return Map.of("field_1", sequence == 5 ? "stall" : "ok");
+            }
+        )
+            .withOpenModel(200, 1)
+            .withVirtualThreads(false)
+            .withDuration(Duration.ofMillis(300))
+            .run();
+
+        assertEquals(60, report.getOperations(), 2);
+        assertEquals(report.getOperations(), sequences.size());
+        assertEquals(0, report.getErrors());
+        // Operations scheduled during the stall waited for it: about 20 of them are late by 5 to 100ms.
+        assertTrue(report.getLatency(90).toMillis() >= 20);
+        assertTrue(report.getMaxLatency().toMillis() >= 100);
+    }
+
+    @Test
+    public void shouldReplayJournalPayloads() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            journal.append("1", "custom", Map.of("field_1", "ok"), null);
+            journal.append("2", "other", Map.of("field_1", "fail"), null);
+            journal.append("3", "custom", Map.of("field_1", "ok"), null);
+        }
+
+        LoadReport report = new LoadTest(CustomUsecase::new, CustomRequest::new, PayloadSource.fromJournal(directory, "custom"))
+            .withOpenModel(1000, 8)
+            .withDuration(Duration.ofMillis(100))
+            .run();
+
+        assertTrue(report.getOperations() > 0);
+        assertEquals(0, report.getErrors());
+    }
+}
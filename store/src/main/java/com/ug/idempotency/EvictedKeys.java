@@ -0,0 +1,168 @@
+package com.ug.idempotency;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Compact index of the keys evicted from the in-memory index of a store, mapping the 64-bit hash of each key to the
+ * file offset of its record. Keys are not kept, so hashes may collide: callers give a predicate checking the key of
+ * the record at an offset, and several records may share a hash.
+ * <p>
+ * The table is open addressed with linear probing, offsets 0 marking free slots since no record starts there.
+ * Removals shift the following slots back, so lookups never go through stale slots.
+ * <p>
+ * The index holds at most {@code maxSize} keys. Once full, the quarter of keys with the lowest offsets are dropped:
+ * records being appended with the same time to live, they are the ones expiring first.
+ */
+final class EvictedKeys {
+    private final int maxSize;
+    private long[] hashes;
+    private long[] offsets;
+    private int size;
+
+    EvictedKeys(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid evicted keys bound.");
+        }
+        this.maxSize = maxSize;
+        this.hashes = new long[16];
+        this.offsets = new long[16];
+    }
+
+    /**
+     * Find the record of a key.
+     *
+     * @param hash The key hash.
+     * @param matches Whether the record at an offset is the one of the key.
+     * @return The record offset, or -1 if the key is not indexed.
+     */
+    long find(long hash, LongPredicate matches) {
+        int slot = this.slotOf(hash, matches);
+        return slot < 0 ? -1 : this.offsets[slot];
+    }
+
+    /**
+     * Remove the record of a key.
+     *
+     * @param hash The key hash.
+     * @param matches Whether the record at an offset is the one of the key.
+     * @return The removed record offset, or -1 if the key was not indexed.
+     */
+    long remove(long hash, LongPredicate matches) {
+        int slot = this.slotOf(hash, matches);
+        if (slot < 0) {
+            return -1;
+        }
+        long offset = this.offsets[slot];
+        int mask = this.offsets.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; this.offsets[next] != 0; next = (next + 1) & mask) {
+            int home = (int) this.hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.hashes[hole] = this.hashes[next];
+                this.offsets[hole] = this.offsets[next];
+                hole = next;
+            }
+        }
+        this.offsets[hole] = 0;
+        this.size--;
+        return offset;
+    }
+
+    /**
+     * Index the record of a key which is not indexed yet, dropping the oldest keys if the index is full.
+     *
+     * @param hash The key hash.
+     * @param offset The record offset.
+     * @return The number of dropped keys.
+     */
+    int add(long hash, long offset) {
+        int dropped = this.size < this.maxSize ? 0 : this.dropOldest();
+        if ((this.size + 1) * 2 > this.offsets.length) {
+            this.resize(this.offsets.length * 2);
+        }
+        this.insert(hash, offset);
+        this.size++;
+        return dropped;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of slots, to iterate over them with {@link #offsetAt(int)} and {@link #hashAt(int)}.
+     */
+    int capacity() {
+        return this.offsets.length;
+    }
+
+    /**
+     * @param slot The slot.
+     * @return The offset of the record in the slot, or 0 if the slot is free.
+     */
+    long offsetAt(int slot) {
+        return this.offsets[slot];
+    }
+
+    long hashAt(int slot) {
+        return this.hashes[slot];
+    }
+
+    private int slotOf(long hash, LongPredicate matches) {
+        int mask = this.offsets.length - 1;
+        for (int slot = (int) hash & mask; this.offsets[slot] != 0; slot = (slot + 1) & mask) {
+            if (this.hashes[slot] == hash && matches.test(this.offsets[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long hash, long offset) {
+        int mask = this.offsets.length - 1;
+        int slot = (int) hash & mask;
+        while (this.offsets[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.hashes[slot] = hash;
+        this.offsets[slot] = offset;
+    }
+
+    private int dropOldest() {
+        long[] live = new long[this.size];
+        int count = 0;
+        for (long offset : this.offsets) {
+            if (offset != 0) {
+                live[count++] = offset;
+            }
+        }
+        Arrays.sort(live);
+        int dropped = Math.max(1, this.size / 4);
+        // Offsets are distinct, the ones below the cutoff are exactly the dropped ones.
+        long cutoff = dropped < this.size ? live[dropped] : Long.MAX_VALUE;
+        long[] oldHashes = this.hashes;
+        long[] oldOffsets = this.offsets;
+        this.hashes = new long[oldOffsets.length];
+        this.offsets = new long[oldOffsets.length];
+        for (int slot = 0; slot < oldOffsets.length; slot++) {
+            if (oldOffsets[slot] >= cutoff) {
+                this.insert(oldHashes[slot], oldOffsets[slot]);
+            }
+        }
+        this.size -= dropped;
+        return dropped;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHashes = this.hashes;
+        long[] oldOffsets = this.offsets;
+        this.hashes = new long[capacity];
+        this.offsets = new long[capacity];
+        for (int slot = 0; slot < oldOffsets.length; slot++) {
+            if (oldOffsets[slot] != 0) {
+                this.insert(oldHashes[slot], oldOffsets[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.ug.idempotency;
+
+import com.ug.codec.BinaryCodec;
+import com.ug.codec.CodecDictionary;
+import com.ug.codec.CodecException;
+import com.ug.response.ContentHash;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Completed usecase responses by idempotency key, kept for a time to live.
+ * <p>
+ * Responses are appended to a local file, and a bounded in-memory index maps each key to its record. Least recently
+ * used keys are evicted from it to a compact index of key hashes, so their responses stay reachable until they
+ * expire, at the cost of a file read to check the key. The compact index holds at most 16 hashes per in-memory entry,
+ * and 2^20 overall, 16 bytes each: past that, the oldest evicted keys are forgotten, and their responses counted as
+ * dropped. The indexes are rebuilt from the file on opening, so responses
+ * survive restarts, and a torn record left by a crash is truncated. Records are laid out as:
+ * <pre>
+ * int length | long expiration (epoch millis) | encoded key and response
+ * </pre>
+ * Once the file has doubled since it was last compacted, it is rewritten with the live records only,
+ * dropping the expired and overwritten ones. The indexes are only updated once the rewritten file replaced the
+ * previous one, so a failed compaction leaves the store as it was.
+ */
+public class IdempotencyStore implements AutoCloseable {
+    static final int MAGIC = 0x55474953;
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 12;
+    static final long MIN_COMPACTION_SIZE = 64 * 1024;
+    static final int EVICTED_KEYS_PER_ENTRY = 16;
+    static final int MAX_EVICTED_KEYS = 1 << 20;
+    static final List<String> RECORD_KEYS = List.of("key", "response", "status", "code", "message", "data", "details");
+
+    private final Path file;
+    private final Duration ttl;
+    private final Clock clock;
+    private final BinaryCodec codec = new BinaryCodec(CodecDictionary.of(RECORD_KEYS));
+    private final LinkedHashMap<String, IndexEntry> index;
+    private final Map<String, CompletableFuture<ResponseInterface>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder droppedResponses = new LongAdder();
+    private final int maxEvictedKeys;
+    private EvictedKeys evicted;
+    private FileChannel channel;
+    private long size;
+    private long compactedSize;
+
+    public IdempotencyStore(Path file, int maxEntries, Duration ttl) throws IOException {
+        this(file, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    /**
+     * Open the store file, creating it if needed.
+     *
+     * @param file The store file.
+     * @param maxEntries The maximum number of keys kept in memory, the others being indexed by hash only.
+     * @param ttl How long a response is kept.
+     * @param clock The clock used to expire responses.
+     * @throws IOException If the file cannot be opened or is not a store file.
+     */
+    public IdempotencyStore(Path file, int maxEntries, Duration ttl, Clock clock) throws IOException {
+        if (maxEntries < 1 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Invalid idempotency store parameters.");
+        }
+        this.file = file;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.maxEvictedKeys = (int) Math.min((long) maxEntries * EVICTED_KEYS_PER_ENTRY, MAX_EVICTED_KEYS);
+        this.evicted = new EvictedKeys(this.maxEvictedKeys);
+        this.index = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndexEntry> eldest) {
+                if (this.size() <= maxEntries) {
+                    return false;
+                }
+                IndexEntry entry = eldest.getValue();
+                if (entry.expiresAt > IdempotencyStore.this.clock.millis()) {
+                    int dropped = IdempotencyStore.this.evicted.add(ContentHash.of(eldest.getKey()), entry.offset);
+                    IdempotencyStore.this.droppedResponses.add(dropped);
+                }
+                return true;
+            }
+        };
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.recover();
+    }
+
+    /**
+     * Get the response stored for the given key.
+     *
+     * @param key The idempotency key.
+     * @return The response, or null if there is none or it has expired.
+     */
+    public ResponseInterface get(String key) {
+        ByteBuffer body;
+        synchronized (this) {
+            IndexEntry entry = this.index.get(key);
+            if (entry == null) {
+                entry = this.reload(key);
+                if (entry == null) {
+                    return null;
+                }
+            }
+            if (entry.expiresAt <= this.clock.millis()) {
+                this.index.remove(key);
+                return null;
+            }
+            body = ByteBuffer.allocate(entry.length);
+            this.readFully(body, entry.offset + RECORD_HEADER_SIZE);
+        }
+        return Response.fromOutput(this.decode(body.flip()).response);
+    }
+
+    /**
+     * Store the response of the given key, replacing the previous one.
+     *
+     * @param key The idempotency key.
+     * @param response The completed response.
+     */
+    public void put(String key, ResponseInterface response) {
+        Map<String, Object> body = new HashMap<>(4);
+        body.put("key", key);
+        body.put("response", response.output());
+        ByteBuffer encoded = this.codec.encode(body);
+        int length = encoded.remaining();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+
+        synchronized (this) {
+            long expiresAt = this.clock.millis() + this.ttl.toMillis();
+            record.putInt(length).putLong(expiresAt).put(encoded).flip();
+            long offset = this.size;
+            this.writeFully(record, offset);
+            this.size += record.capacity();
+            if (this.index.remove(key) == null) {
+                this.forget(key);
+            }
+            this.index.put(key, new IndexEntry(offset, length, expiresAt));
+            if (this.size >= MIN_COMPACTION_SIZE && this.size >= this.compactedSize * 2) {
+                this.compact();
+            }
+        }
+    }
+
+    /**
+     * Register the caller as the one executing the given key, unless another caller already does.
+     *
+     * @param key The idempotency key.
+     * @return null if the caller must execute then call {@link #complete(String, ResponseInterface)},
+     *         otherwise the future response of the caller already executing.
+     */
+    CompletableFuture<ResponseInterface> begin(String key) {
+        return this.inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * End the execution registered with {@link #begin(String)}, storing its response if there is one.
+     * Waiting callers get the response, or null when the execution failed and must be retried.
+     * A response which cannot be stored is counted as dropped, and still given to the waiting callers.
+     *
+     * @param key The idempotency key.
+     * @param response The response, or null.
+     */
+    void complete(String key, ResponseInterface response) {
+        try {
+            if (response != null) {
+                this.put(key, response);
+            }
+        } catch (RuntimeException error) {
+            this.droppedResponses.increment();
+        } finally {
+            this.release(key, response);
+        }
+    }
+
+    /**
+     * End the execution registered with {@link #begin(String)} without storing anything, waiting callers getting
+     * the given response.
+     *
+     * @param key The idempotency key.
+     * @param response The response, or null when waiting callers must retry.
+     */
+    void release(String key, ResponseInterface response) {
+        CompletableFuture<ResponseInterface> execution = this.inFlight.remove(key);
+        if (execution != null) {
+            execution.complete(response);
+        }
+    }
+
+    /**
+     * Rewrite the file with the live records only. The store is left unchanged if the rewrite fails.
+     */
+    public synchronized void compact() {
+        Path compacting = this.file.resolveSibling(this.file.getFileName() + ".compacting");
+        long now = this.clock.millis();
+        Map<IndexEntry, Long> moved = new IdentityHashMap<>();
+        EvictedKeys compacted = new EvictedKeys(this.maxEvictedKeys);
+        long position = FILE_HEADER_SIZE;
+        try {
+            try (FileChannel target = FileChannel.open(compacting, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                target.write(fileHeader(), 0);
+                for (IndexEntry entry : this.index.values()) {
+                    if (entry.expiresAt > now) {
+                        moved.put(entry, position);
+                        position = this.transfer(entry, target, position);
+                    }
+                }
+                for (int slot = 0; slot < this.evicted.capacity(); slot++) {
+                    long offset = this.evicted.offsetAt(slot);
+                    if (offset == 0) {
+                        continue;
+                    }
+                    IndexEntry entry = this.entryAt(offset);
+                    if (entry.expiresAt > now) {
+                        compacted.add(this.evicted.hashAt(slot), position);
+                        position = this.transfer(entry, target, position);
+                    }
+                }
+                target.force(true);
+            }
+            this.channel.close();
+            try {
+                this.replaceFile(compacting);
+            } finally {
+                // The compacted file, or the previous one if it could not be replaced.
+                this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+
+        Iterator<IndexEntry> entries = this.index.values().iterator();
+        while (entries.hasNext()) {
+            IndexEntry entry = entries.next();
+            Long offset = moved.get(entry);
+            if (offset == null) {
+                entries.remove();
+            } else {
+                entry.offset = offset;
+            }
+        }
+        this.evicted = compacted;
+        this.size = position;
+        this.compactedSize = position;
+    }
+
+    /**
+     * Replace the store file with the compacted one.
+     *
+     * @param compacted The compacted file.
+     * @throws IOException If the file cannot be replaced.
+     */
+    void replaceFile(Path compacted) throws IOException {
+        Files.move(compacted, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Flush the stored responses to the storage device.
+     */
+    public synchronized void flush() {
+        try {
+            this.channel.force(false);
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    /**
+     * Get the number of indexed keys, including the expired ones not yet dropped.
+     */
+    public synchronized int size() {
+        return this.index.size() + this.evicted.size();
+    }
+
+    /**
+     * Get the number of responses which could not be stored, or were forgotten from a full index of evicted keys,
+     * their requests being executed again on retry.
+     */
+    public long getDroppedResponses() {
+        return this.droppedResponses.sum();
+    }
+
+    /**
+     * Get the store file size, in bytes.
+     */
+    public synchronized long getFileSize() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel.isOpen()) {
+            this.channel.force(false);
+            this.channel.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        long fileSize = this.channel.size();
+        if (fileSize == 0) {
+            this.channel.write(fileHeader(), 0);
+            this.size = FILE_HEADER_SIZE;
+            this.compactedSize = FILE_HEADER_SIZE;
+            return;
+        }
+
+        long now = this.clock.millis();
+        long offset = 0;
+        this.channel.position(0);
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(this.channel));
+        DataInputStream input = new DataInputStream(stream);
+        if (fileSize < FILE_HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException(this.file + " is not an idempotency store file.");
+        }
+        offset = FILE_HEADER_SIZE;
+        while (offset < fileSize) {
+            try {
+                int length = input.readInt();
+                long expiresAt = input.readLong();
+                if (length <= 0 || offset + RECORD_HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                input.readFully(body);
+                String key = this.decode(ByteBuffer.wrap(body)).key;
+                if (this.index.remove(key) == null) {
+                    this.forget(key);
+                }
+                if (expiresAt > now) {
+                    this.index.put(key, new IndexEntry(offset, length, expiresAt));
+                }
+                offset += RECORD_HEADER_SIZE + length;
+            } catch (EOFException | CodecException error) {
+                break;
+            }
+        }
+        if (offset < fileSize) {
+            // Torn record left by a crash while appending.
+            this.channel.truncate(offset);
+        }
+        this.size = offset;
+        this.compactedSize = offset;
+    }
+
+    /**
+     * Move an evicted key back to the in-memory index.
+     *
+     * @return The key entry, or null if the key is not indexed.
+     */
+    private IndexEntry reload(String key) {
+        long offset = this.evicted.remove(ContentHash.of(key), candidate -> this.isRecordOf(candidate, key));
+        if (offset < 0) {
+            return null;
+        }
+        IndexEntry entry = this.entryAt(offset);
+        this.index.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Remove an evicted key, its record being expired or overwritten.
+     */
+    private void forget(String key) {
+        if (this.evicted.size() > 0) {
+            this.evicted.remove(ContentHash.of(key), candidate -> this.isRecordOf(candidate, key));
+        }
+    }
+
+    private boolean isRecordOf(long offset, String key) {
+        IndexEntry entry = this.entryAt(offset);
+        ByteBuffer body = ByteBuffer.allocate(entry.length);
+        this.readFully(body, offset + RECORD_HEADER_SIZE);
+        return key.equals(this.decode(body.flip()).key);
+    }
+
+    private IndexEntry entryAt(long offset) {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        this.readFully(header, offset);
+        header.flip();
+        return new IndexEntry(offset, header.getInt(), header.getLong());
+    }
+
+    /**
+     * Copy a record at the given position of the target file.
+     *
+     * @return The position following the copied record.
+     */
+    private long transfer(IndexEntry entry, FileChannel target, long position) throws IOException {
+        long recordSize = RECORD_HEADER_SIZE + entry.length;
+        long copied = 0;
+        while (copied < recordSize) {
+            copied += this.channel.transferTo(entry.offset + copied, recordSize - copied, target.position(position + copied));
+        }
+        return position + recordSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Record decode(ByteBuffer body) {
+        Object value = this.codec.decode(body);
+        if (!(value instanceof Map<?, ?> map) || !(map.get("key") instanceof String key) || !(map.get("response") instanceof Map<?, ?> response)) {
+            throw new CodecException("Invalid idempotency record.");
+        }
+        return new Record(key, (Map<String, Object>) response);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Truncated idempotency record.");
+                }
+            }
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private static ByteBuffer fileHeader() {
+        return ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    private static final class IndexEntry {
+        private long offset;
+        private final int length;
+        private final long expiresAt;
+
+        private IndexEntry(long offset, int length, long expiresAt) {
+            this.offset = offset;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Record {
+        private final String key;
+        private final Map<String, Object> response;
+
+        private Record(String key, Map<String, Object> response) {
+            this.key = key;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ug.idempotency;
+
+import com.ug.exception.BaseException;
+import com.ug.exception.UsecaseTimeoutException;
+import com.ug.presenter.Presenter;
+import com.ug.presenter.PresenterInterface;
+import com.ug.response.ResponseInterface;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Execute the decorated usecase once per idempotency key, read from a request field.
+ * The presented response is stored, and requests with the same key are answered from the store without executing.
+ * A request arriving while the same key is executing waits for its response. Executions which throw, or present
+ * nothing, are not stored, so they can be retried. A response the store fails to keep is still presented, and
+ * counted by {@link IdempotencyStore#getDroppedResponses()}. Requests without key are executed as usual.
+ */
+public class IdempotentUsecase extends UsecaseDecorator {
+    private final IdempotencyStore store;
+    private final String keyField;
+    private final String usecaseName;
+
+    public IdempotentUsecase(UsecaseInterface usecase, IdempotencyStore store, String keyField) {
+        this(usecase, store, keyField, usecase.getClass().getName());
+    }
+
+    /**
+     * @param usecase The decorated usecase.
+     * @param store The store of completed responses.
+     * @param keyField The request field holding the idempotency key, dotted for nested fields.
+     * @param usecaseName The name keys are scoped by, so usecases sharing a store do not share keys.
+     */
+    public IdempotentUsecase(UsecaseInterface usecase, IdempotencyStore store, String keyField, String usecaseName) {
+        super(usecase);
+        this.store = store;
+        this.keyField = keyField;
+        this.usecaseName = usecaseName;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        Object keyValue = this.request == null ? null : this.request.get(this.keyField);
+        if (keyValue == null) {
+            this.usecase.execute();
+            return;
+        }
+
+        String key = this.usecaseName + ":" + keyValue;
+        while (true) {
+            ResponseInterface stored = this.store.get(key);
+            if (stored != null) {
+                this.present(stored);
+                return;
+            }
+            CompletableFuture<ResponseInterface> running = this.store.begin(key);
+            if (running == null) {
+                // An execution may have completed between the lookup and the registration.
+                stored = this.store.get(key);
+                if (stored == null) {
+                    break;
+                }
+                this.store.release(key, stored);
+                this.present(stored);
+                return;
+            }
+            ResponseInterface response = this.await(running);
+            if (response != null) {
+                this.present(response);
+                return;
+            }
+            // The running execution failed: try to execute this one.
+        }
+
+        PresenterInterface capturingPresenter = this.presenter == null ? new Presenter() : this.presenter;
+        ResponseInterface response = null;
+        try {
+            this.usecase.withPresenter(capturingPresenter);
+            this.usecase.execute();
+            response = capturingPresenter.getResponse();
+        } finally {
+            this.usecase.withPresenter(this.presenter);
+            this.store.complete(key, response);
+        }
+    }
+
+    private void present(ResponseInterface response) {
+        if (this.presenter != null) {
+            this.presenter.present(response);
+        }
+    }
+
+    private ResponseInterface await(CompletableFuture<ResponseInterface> running) throws UsecaseTimeoutException {
+        try {
+            if (this.deadline == null) {
+                return running.get();
+            }
+            return running.get(this.deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException error) {
+            return null;
+        } catch (TimeoutException error) {
+            throw this.deadline.timeoutException();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Waiting for the running execution was interrupted.");
+        }
+    }
+
+    public IdempotencyStore getStore() {
+        return this.store;
+    }
+}
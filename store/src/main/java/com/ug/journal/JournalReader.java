@@ -0,0 +1,145 @@
+package com.ug.journal;
+
+import com.ug.codec.BinaryCodec;
+import com.ug.codec.CodecDictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Iterate over the records of a journal directory, segment after segment, in append order.
+ * Segments are mapped one at a time and records are decoded only when their content is read.
+ * Records not committed by their writer are stepped over, using the size claimed into their header, except in the last
+ * segment, which may still be written: the reader stops at its first record not yet committed, so records are never
+ * read out of order. Records still being written into a segment which was already rolled over are skipped.
+ */
+public class JournalReader implements Iterable<JournalRecord> {
+    private final Path directory;
+    private final BinaryCodec codec;
+
+    public JournalReader(Path directory) {
+        this(directory, new BinaryCodec(CodecDictionary.of(RequestJournal.RECORD_KEYS)));
+    }
+
+    public JournalReader(Path directory, BinaryCodec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    @Override
+    public Iterator<JournalRecord> iterator() {
+        try {
+            return new RecordIterator(listSegments(this.directory));
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(RequestJournal.SEGMENT_PREFIX) && name.endsWith(RequestJournal.SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    static String segmentName(long index) {
+        return RequestJournal.SEGMENT_PREFIX + String.format("%020d", index) + RequestJournal.SEGMENT_SUFFIX;
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(RequestJournal.SEGMENT_PREFIX.length(), name.length() - RequestJournal.SEGMENT_SUFFIX.length()));
+    }
+
+    private final class RecordIterator implements Iterator<JournalRecord> {
+        private final Iterator<Path> segments;
+        private MappedByteBuffer buffer;
+        private boolean last;
+        private int offset;
+        private JournalRecord next;
+
+        private RecordIterator(List<Path> segments) {
+            this.segments = segments.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null) {
+                if (this.buffer == null || !this.readNext()) {
+                    if (!this.segments.hasNext()) {
+                        return false;
+                    }
+                    this.open(this.segments.next());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public JournalRecord next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JournalRecord record = this.next;
+            this.next = null;
+            return record;
+        }
+
+        private boolean readNext() {
+            while (this.offset + RequestJournal.RECORD_HEADER_SIZE <= this.buffer.capacity()) {
+                int length = (int) RequestJournal.INT_HANDLE.getAcquire(this.buffer, this.offset);
+                if (length > 0) {
+                    if (this.offset + RequestJournal.RECORD_HEADER_SIZE + length > this.buffer.capacity()) {
+                        return false;
+                    }
+                    long timestamp = this.buffer.getLong(this.offset + Integer.BYTES * 2);
+                    this.next = new JournalRecord(timestamp, this.buffer.slice(this.offset + RequestJournal.RECORD_HEADER_SIZE, length), codec);
+                    this.offset += (RequestJournal.RECORD_HEADER_SIZE + length + 7) & ~7;
+                    return true;
+                }
+                if (length == RequestJournal.END_OF_SEGMENT || this.last) {
+                    return false;
+                }
+                int claimedSize = (int) RequestJournal.INT_HANDLE.getAcquire(this.buffer, this.offset + Integer.BYTES);
+                if (claimedSize <= 0) {
+                    // Nothing claimed from here, or a claim whose size was never written.
+                    return false;
+                }
+                this.offset += claimedSize;
+            }
+            return false;
+        }
+
+        private void open(Path segment) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException error) {
+                throw new UncheckedIOException(error);
+            }
+            if (this.buffer.capacity() < RequestJournal.SEGMENT_HEADER_SIZE
+                || this.buffer.getInt(0) != RequestJournal.MAGIC
+                || this.buffer.getInt(Integer.BYTES) != RequestJournal.VERSION) {
+                throw new IllegalStateException("Invalid journal segment " + segment + ".");
+            }
+            this.offset = RequestJournal.SEGMENT_HEADER_SIZE;
+            this.last = !this.segments.hasNext();
+        }
+    }
+}
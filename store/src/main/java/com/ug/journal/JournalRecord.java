@@ -0,0 +1,71 @@
+package com.ug.journal;
+
+import com.ug.codec.BinaryCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Single journal record. Its body is only decoded on first access.
+ */
+public class JournalRecord {
+    private final long timestamp;
+    private final ByteBuffer body;
+    private final BinaryCodec codec;
+    private Map<String, Object> decodedBody;
+
+    JournalRecord(long timestamp, ByteBuffer body, BinaryCodec codec) {
+        this.timestamp = timestamp;
+        this.body = body;
+        this.codec = codec;
+    }
+
+    /**
+     * Get the record append time.
+     *
+     * @return The epoch time in milliseconds.
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Get the encoded record body, as written into the journal.
+     *
+     * @return A read-only view of the record body.
+     */
+    public ByteBuffer getEncodedBody() {
+        return this.body.asReadOnlyBuffer();
+    }
+
+    public String getRequestId() {
+        return (String) this.body().get("request_id");
+    }
+
+    public String getUsecase() {
+        return (String) this.body().get("usecase");
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getPayload() {
+        return (Map<String, Object>) this.body().get("payload");
+    }
+
+    /**
+     * Get the recorded response, as returned by ResponseInterface#output().
+     *
+     * @return The response output, or null if no response was presented.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getResponse() {
+        return (Map<String, Object>) this.body().get("response");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> body() {
+        if (this.decodedBody == null) {
+            this.decodedBody = (Map<String, Object>) this.codec.decode(this.body.duplicate());
+        }
+        return this.decodedBody;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ug.journal;
+
+import com.ug.exception.BaseException;
+import com.ug.usecase.UsecaseDecorator;
+import com.ug.usecase.UsecaseInterface;
+
+import java.util.Map;
+
+/**
+ * Record each request processed by the decorated usecase, with the response it presented,
+ * into a {@link RequestJournal}. Errors are recorded with their formatted content.
+ * <p>
+ * Capture never fails the request: a record which can not be appended, for example holding a value the codec does not
+ * support, or when the journal is closed, is counted by {@link RequestJournal#getDroppedCaptures()} and skipped.
+ */
+public class JournalingUsecase extends UsecaseDecorator {
+    private final RequestJournal journal;
+    private final String usecaseName;
+
+    public JournalingUsecase(UsecaseInterface usecase, RequestJournal journal) {
+        this(usecase, journal, usecase.getClass().getName());
+    }
+
+    public JournalingUsecase(UsecaseInterface usecase, RequestJournal journal, String usecaseName) {
+        super(usecase);
+        this.journal = journal;
+        this.usecaseName = usecaseName;
+    }
+
+    @Override
+    public void execute() throws BaseException {
+        try {
+            this.usecase.execute();
+        } catch (BaseException error) {
+            this.record(error.format());
+            throw error;
+        }
+        this.record(this.presenter == null || this.presenter.getResponse() == null ? null : this.presenter.getResponse().output());
+    }
+
+    private void record(Map<String, Object> response) {
+        if (this.request == null) {
+            return;
+        }
+        try {
+            this.journal.append(this.request.getRequestId(), this.usecaseName, this.request.toArray(), response);
+        } catch (RuntimeException error) {
+            this.journal.dropCapture();
+        }
+    }
+}
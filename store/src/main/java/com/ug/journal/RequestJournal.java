@@ -0,0 +1,246 @@
+package com.ug.journal;
+
+import com.ug.codec.BinaryCodec;
+import com.ug.codec.CodecDictionary;
+import com.ug.request.RequestInterface;
+import com.ug.response.ResponseInterface;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only journal of validated request payloads and their responses, stored into memory-mapped segment files.
+ * <p>
+ * Writers encode their record outside the file, claim its space with a single atomic add, write the claimed size into
+ * the record header, copy the record into the mapping, then publish its length with release semantics. A record is
+ * visible to readers once its length is set; the claimed size lets them step over a record whose writer never
+ * committed it, such as one which crashed while copying.
+ * When a claim crosses the end of a segment, its writer marks the segment end and maps the next segment,
+ * other writers park until it is mapped, then retry on it. Records are 8-byte aligned:
+ * <pre>
+ * int length | int claimed size | long timestamp (epoch millis) | encoded body | padding
+ * </pre>
+ * Segments are named {@code journal-<index>.seg} and start with an 8-byte header holding the journal magic and version.
+ */
+public class RequestJournal implements AutoCloseable {
+    static final int MAGIC = 0x55474A4C;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 16;
+    static final int END_OF_SEGMENT = -1;
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final List<String> RECORD_KEYS = List.of(
+        "request_id", "usecase", "payload", "response", "status", "code", "message", "data", "details"
+    );
+
+    static final VarHandle INT_HANDLE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final BinaryCodec codec;
+    private final AtomicReference<Segment> current = new AtomicReference<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final LongAdder droppedCaptures = new LongAdder();
+
+    public RequestJournal(Path directory, int segmentSize) throws IOException {
+        this(directory, segmentSize, new BinaryCodec(CodecDictionary.of(RECORD_KEYS)));
+    }
+
+    /**
+     * Open a journal into the given directory. Writing always starts into a new segment,
+     * after the existing ones.
+     *
+     * @param directory The journal directory, created if needed.
+     * @param segmentSize The size of each segment file, in bytes.
+     * @param codec The codec used to encode record bodies, readers must use the same one.
+     * @throws IOException If the first segment cannot be created.
+     */
+    public RequestJournal(Path directory, int segmentSize, BinaryCodec codec) throws IOException {
+        if (segmentSize < SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize is too small.");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.segmentSize = segmentSize & ~7;
+        this.codec = codec;
+
+        long lastIndex = -1;
+        for (Path segment : JournalReader.listSegments(directory)) {
+            lastIndex = Math.max(lastIndex, JournalReader.segmentIndex(segment));
+        }
+        this.current.set(this.createSegment(lastIndex + 1));
+    }
+
+    /**
+     * Append the given request and the response it produced.
+     *
+     * @param request The validated request.
+     * @param usecase The usecase name.
+     * @param response The response, or null if none was presented.
+     */
+    public void append(RequestInterface request, String usecase, ResponseInterface response) {
+        this.append(request.getRequestId(), usecase, request.toArray(), response == null ? null : response.output());
+    }
+
+    /**
+     * Append a record.
+     *
+     * @param requestId The request unique id.
+     * @param usecase The usecase name.
+     * @param payload The validated request payload.
+     * @param response The response output, or null.
+     */
+    public void append(String requestId, String usecase, Map<String, Object> payload, Map<String, Object> response) {
+        Map<String, Object> body = new HashMap<>(8);
+        body.put("request_id", requestId);
+        body.put("usecase", usecase);
+        body.put("payload", payload);
+        body.put("response", response);
+        this.appendBody(this.codec.encode(body));
+    }
+
+    private void appendBody(ByteBuffer body) {
+        int length = body.remaining();
+        int recordSize = align(RECORD_HEADER_SIZE + length);
+        if (recordSize > this.segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit into a journal segment.");
+        }
+
+        while (true) {
+            if (this.closed.get()) {
+                throw new IllegalStateException("Journal is closed.");
+            }
+            Segment segment = this.current.get();
+            long offset = segment.position.getAndAdd(recordSize);
+            if (offset + recordSize <= this.segmentSize) {
+                this.write(segment.buffer, (int) offset, recordSize, body, length);
+                return;
+            }
+            if (offset <= this.segmentSize) {
+                // First claim which does not fit: mark the segment end and roll over.
+                if (this.segmentSize - offset >= Integer.BYTES) {
+                    INT_HANDLE.setRelease(segment.buffer, (int) offset, END_OF_SEGMENT);
+                }
+                this.rollOver(segment);
+            } else {
+                segment.awaitRollOver();
+            }
+        }
+    }
+
+    private void write(MappedByteBuffer buffer, int offset, int recordSize, ByteBuffer body, int length) {
+        INT_HANDLE.setRelease(buffer, offset + Integer.BYTES, recordSize);
+        buffer.putLong(offset + Integer.BYTES * 2, System.currentTimeMillis());
+        buffer.put(offset + RECORD_HEADER_SIZE, body, body.position(), length);
+        INT_HANDLE.setRelease(buffer, offset, length);
+    }
+
+    private void rollOver(Segment full) {
+        try {
+            this.current.set(this.createSegment(full.index + 1));
+        } catch (IOException error) {
+            this.closed.set(true);
+            throw new UncheckedIOException(error);
+        } finally {
+            full.rolledOver.countDown();
+        }
+        full.buffer.force();
+    }
+
+    private Segment createSegment(long index) throws IOException {
+        Path path = this.directory.resolve(JournalReader.segmentName(index));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, VERSION);
+            return new Segment(index, buffer);
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Flush the current segment to the storage device.
+     */
+    public void flush() {
+        this.current.get().buffer.force();
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public BinaryCodec getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * Get the number of records which could not be appended while capturing executions, see {@link JournalingUsecase}.
+     *
+     * @return The number of dropped captures.
+     */
+    public long getDroppedCaptures() {
+        return this.droppedCaptures.sum();
+    }
+
+    void dropCapture() {
+        this.droppedCaptures.increment();
+    }
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.flush();
+        }
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong position = new AtomicLong(SEGMENT_HEADER_SIZE);
+        private final CountDownLatch rolledOver = new CountDownLatch(1);
+
+        private Segment(long index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Park until the writer which filled this segment has mapped the next one.
+         */
+        private void awaitRollOver() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.rolledOver.await();
+                    break;
+                } catch (InterruptedException error) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.ug.idempotency;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IdempotencyTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("idempotency_key", false, "amount", true);
+        }
+    }
+
+    static class PaymentUsecase extends Usecase {
+        static final AtomicInteger executions = new AtomicInteger();
+        static volatile boolean failing;
+        static volatile long delayMillis;
+
+        @Override
+        public void execute() throws BaseException {
+            int execution = executions.incrementAndGet();
+            if (failing) {
+                throw new BadRequestContentException(new HashMap<>(Map.of("message", "payment.failed")));
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "payment.done", Map.of(
+                "amount", this.getField("amount"),
+                "execution", execution
+            )));
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+
+    private static Presenter pay(IdempotencyStore store, Map<String, Object> payload) throws BaseException {
+        RequestInterface request = new CustomRequest().createFromPayload(payload);
+        Presenter presenter = new Presenter();
+        new IdempotentUsecase(new PaymentUsecase(), store, "idempotency_key").withRequest(request).withPresenter(presenter).execute();
+        return presenter;
+    }
+
+    private static void reset() {
+        PaymentUsecase.executions.set(0);
+        PaymentUsecase.failing = false;
+        PaymentUsecase.delayMillis = 0;
+    }
+
+    @Test
+    public void shouldAnswerDuplicateKeysFromTheStore() throws Exception {
+        reset();
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 100, Duration.ofHours(1))) {
+            Presenter first = pay(store, Map.of("idempotency_key", "key-1", "amount", 10));
+            Presenter duplicate = pay(store, Map.of("idempotency_key", "key-1", "amount", 10));
+            pay(store, Map.of("idempotency_key", "key-2", "amount", 10));
+            pay(store, Map.of("amount", 10));
+            pay(store, Map.of("amount", 10));
+
+            assertEquals(4, PaymentUsecase.executions.get());
+            assertEquals(first.getResponse().output(), duplicate.getResponse().output());
+            assertEquals(1, duplicate.getResponse().get("execution"));
+        }
+    }
+
+    @Test
+    public void shouldSurviveRestartsAndTruncateTornRecords() throws Exception {
+        reset();
+        Path file = folder.newFolder().toPath().resolve("idempotency.store");
+        try (IdempotencyStore store = new IdempotencyStore(file, 100, Duration.ofHours(1))) {
+            pay(store, Map.of("idempotency_key", "key-1", "amount", 10));
+            pay(store, Map.of("idempotency_key", "key-2", "amount", 20));
+        }
+        long size = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (IdempotencyStore store = new IdempotencyStore(file, 100, Duration.ofHours(1))) {
+            assertEquals(size, Files.size(file));
+            assertEquals(2, store.size());
+            assertEquals(20, pay(store, Map.of("idempotency_key", "key-2", "amount", 20)).getResponse().get("amount"));
+            assertEquals(2, PaymentUsecase.executions.get());
+        }
+    }
+
+    @Test
+    public void shouldExpireResponsesAndCompactTheFile() throws Exception {
+        reset();
+        MutableClock clock = new MutableClock();
+        Path file = folder.newFolder().toPath().resolve("idempotency.store");
+        try (IdempotencyStore store = new IdempotencyStore(file, 10_000, Duration.ofMinutes(10), clock)) {
+            for (int i = 0; i < 2_000; i++) {
+                pay(store, Map.of("idempotency_key", "old-" + i, "amount", i));
+            }
+            clock.advance(Duration.ofMinutes(11));
+            pay(store, Map.of("idempotency_key", "new", "amount", 1));
+            pay(store, Map.of("idempotency_key", "old-1", "amount", 1));
+            assertEquals(2_002, PaymentUsecase.executions.get());
+
+            long before = store.getFileSize();
+            store.compact();
+            assertTrue(store.getFileSize() < before / 100);
+            assertEquals(2, store.size());
+            assertNotNull(store.get(PaymentUsecase.class.getName() + ":new"));
+        }
+        try (IdempotencyStore store = new IdempotencyStore(file, 10_000, Duration.ofMinutes(10), clock)) {
+            assertEquals(2, store.size());
+            assertNull(store.get(PaymentUsecase.class.getName() + ":old-2"));
+        }
+    }
+
+    @Test
+    public void shouldBoundTheIndexAndCompactAutomatically() throws Exception {
+        reset();
+        Path file = folder.newFolder().toPath().resolve("idempotency.store");
+        try (IdempotencyStore store = new IdempotencyStore(file, 100, Duration.ofHours(1))) {
+            for (int i = 0; i < 5_000; i++) {
+                store.put("key-" + (i % 300), Response.create(true, StatusCode.OK.getValue(), "done", Map.of("value", i)));
+            }
+            assertEquals(300, store.size());
+            assertEquals(4_800, store.get("key-0").get("value"));
+            assertEquals(4_799, store.get("key-299").get("value"));
+            assertEquals(4_999, store.get("key-199").get("value"));
+            assertTrue(store.getFileSize() < IdempotencyStore.MIN_COMPACTION_SIZE * 2);
+        }
+        try (IdempotencyStore store = new IdempotencyStore(file, 100, Duration.ofHours(1))) {
+            assertEquals(300, store.size());
+            for (int i = 0; i < 300; i++) {
+                assertEquals((i < 200 ? 4_800 : 4_500) + i, store.get("key-" + i).get("value"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepEvictedResponsesUntilTheyExpire() throws Exception {
+        reset();
+        MutableClock clock = new MutableClock();
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 2, Duration.ofMinutes(10), clock)) {
+            for (int i = 0; i < 10; i++) {
+                pay(store, Map.of("idempotency_key", "key-" + i, "amount", i));
+            }
+            store.compact();
+            assertEquals(10, store.size());
+            assertEquals(1, pay(store, Map.of("idempotency_key", "key-0", "amount", 0)).getResponse().get("execution"));
+
+            clock.advance(Duration.ofMinutes(11));
+            store.compact();
+            assertEquals(0, store.size());
+            assertNull(store.get(PaymentUsecase.class.getName() + ":key-1"));
+            assertEquals(11, pay(store, Map.of("idempotency_key", "key-1", "amount", 1)).getResponse().get("execution"));
+        }
+    }
+
+    @Test
+    public void shouldForgetTheOldestEvictedKeysPastTheBound() throws Exception {
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 1, Duration.ofHours(1))) {
+            for (int i = 0; i < 40; i++) {
+                store.put("key-" + i, Response.create(true, StatusCode.OK.getValue(), "done", Map.of("value", i)));
+            }
+            assertTrue(store.size() <= 1 + IdempotencyStore.EVICTED_KEYS_PER_ENTRY);
+            assertEquals(40 - store.size(), store.getDroppedResponses());
+            assertNull(store.get("key-0"));
+            assertEquals(38, store.get("key-38").get("value"));
+            assertEquals(39, store.get("key-39").get("value"));
+        }
+    }
+
+    @Test
+    public void shouldLeaveTheStoreUnchangedWhenCompactionFails() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        Path file = folder.newFolder().toPath().resolve("idempotency.store");
+        try (IdempotencyStore store = new IdempotencyStore(file, 2, Duration.ofHours(1)) {
+            @Override
+            void replaceFile(Path compacted) throws IOException {
+                if (failing.get()) {
+                    throw new IOException("Injected failure.");
+                }
+                super.replaceFile(compacted);
+            }
+        }) {
+            for (int i = 0; i < 10; i++) {
+                store.put("key-" + i, Response.create(true, StatusCode.OK.getValue(), "done", Map.of("value", i)));
+            }
+            store.put("key-0", Response.create(true, StatusCode.OK.getValue(), "done", Map.of("value", 10)));
+            long size = store.getFileSize();
+            try {
+                store.compact();
+                fail();
+            } catch (UncheckedIOException expected) {
+            }
+            assertEquals(size, store.getFileSize());
+            assertEquals(size, Files.size(file));
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i == 0 ? 10 : i, store.get("key-" + i).get("value"));
+            }
+
+            store.put("key-10", Response.create(true, StatusCode.OK.getValue(), "done", Map.of("value", 10)));
+            failing.set(false);
+            long grown = store.getFileSize();
+            store.compact();
+            assertTrue(store.getFileSize() < grown);
+            assertEquals(11, store.size());
+            for (int i = 0; i <= 10; i++) {
+                assertEquals(i == 0 ? 10 : i, store.get("key-" + i).get("value"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldPresentResponsesTheStoreFailsToKeep() throws Exception {
+        reset();
+        IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 100, Duration.ofHours(1));
+        store.close();
+
+        assertEquals(1, pay(store, Map.of("idempotency_key", "key-1", "amount", 10)).getResponse().get("execution"));
+        assertEquals(1, store.getDroppedResponses());
+    }
+
+    @Test
+    public void shouldExecuteConcurrentDuplicatesOnce() throws Exception {
+        reset();
+        PaymentUsecase.delayMillis = 100;
+        List<Presenter> presenters = new ArrayList<>();
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 100, Duration.ofHours(1));
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Presenter>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> pay(store, Map.of("idempotency_key", "key-1", "amount", 10))));
+            }
+            for (Future<Presenter> future : futures) {
+                presenters.add(future.get());
+            }
+        }
+
+        assertEquals(1, PaymentUsecase.executions.get());
+        for (Presenter presenter : presenters) {
+            assertEquals(1, presenter.getResponse().get("execution"));
+        }
+    }
+
+    @Test
+    public void shouldNotStoreFailedExecutions() throws Exception {
+        reset();
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), 100, Duration.ofHours(1))) {
+            PaymentUsecase.failing = true;
+            try {
+                pay(store, Map.of("idempotency_key", "key-1", "amount", 10));
+                fail();
+            } catch (BadRequestContentException ignored) {
+            }
+            PaymentUsecase.failing = false;
+            assertEquals(2, pay(store, Map.of("idempotency_key", "key-1", "amount", 10)).getResponse().get("execution"));
+        }
+    }
+
+    @Test
+    public void shouldFindEvictedKeysSharingAHash() {
+        EvictedKeys keys = new EvictedKeys(1_000);
+        for (long offset = 8; offset < 1_000; offset++) {
+            keys.add(offset % 7, offset);
+        }
+        for (long offset = 8; offset < 1_000; offset += 2) {
+            long removed = offset;
+            assertEquals(removed, keys.remove(removed % 7, candidate -> candidate == removed));
+        }
+
+        assertEquals(496, keys.size());
+        for (long offset = 8; offset < 1_000; offset++) {
+            long found = offset;
+            assertEquals(offset % 2 == 0 ? -1 : offset, keys.find(offset % 7, candidate -> candidate == found));
+        }
+
+        EvictedKeys bounded = new EvictedKeys(8);
+        int dropped = 0;
+        for (long offset = 8; offset < 24; offset++) {
+            dropped += bounded.add(offset, offset);
+        }
+        assertTrue(bounded.size() <= 8);
+        assertEquals(16 - bounded.size(), dropped);
+        assertEquals(-1, bounded.find(8, candidate -> true));
+        assertEquals(23, bounded.find(23, candidate -> true));
+    }
+}
@@ -0,0 +1,201 @@
+package com.ug.journal;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.usecase.Usecase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class RequestJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static class CustomRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("field_1", true);
+        }
+    }
+
+    static class CustomUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            if (Integer.valueOf(-1).equals(this.getField("field_1"))) {
+                throw new BadRequestContentException(new HashMap<>(Map.of("message", "invalid.field")));
+            }
+            if (Integer.valueOf(-2).equals(this.getField("field_1"))) {
+                throw new BadRequestContentException(new HashMap<>(Map.of(
+                    "message", "invalid.field",
+                    "details", Map.of("error", new IllegalStateException("unsupported"))
+                )));
+            }
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", this.getRequestData()));
+        }
+    }
+
+    @Test
+    public void shouldReadBackRecordsInAppendOrder() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append("request-" + i, "CustomUsecase", Map.of("field_1", i), Map.of("code", 200));
+            }
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(directory).forEach(records::add);
+
+        assertEquals(10, records.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("request-" + i, records.get(i).getRequestId());
+            assertEquals("CustomUsecase", records.get(i).getUsecase());
+            assertEquals(Map.of("field_1", i), records.get(i).getPayload());
+            assertEquals(Map.of("code", 200), records.get(i).getResponse());
+            assertTrue(records.get(i).getTimestamp() > 0);
+        }
+    }
+
+    @Test
+    public void shouldStepOverUncommittedRecordsOfRolledOverSegments() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            for (int i = 0; i < 3; i++) {
+                journal.append("request-" + i, "CustomUsecase", Map.of("field_1", i), null);
+            }
+        }
+        // Leave the second record claimed but not committed, as a writer crashing while copying it would.
+        Path segment = JournalReader.listSegments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer firstSize = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(firstSize, RequestJournal.SEGMENT_HEADER_SIZE + Integer.BYTES);
+            channel.write(ByteBuffer.allocate(Integer.BYTES), RequestJournal.SEGMENT_HEADER_SIZE + firstSize.flip().getInt());
+        }
+
+        List<String> live = new ArrayList<>();
+        new JournalReader(directory).forEach(record -> live.add(record.getRequestId()));
+        assertEquals(List.of("request-0"), live);
+
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            journal.append("request-3", "CustomUsecase", Map.of("field_1", 3), null);
+        }
+        List<String> sealed = new ArrayList<>();
+        new JournalReader(directory).forEach(record -> sealed.add(record.getRequestId()));
+        assertEquals(List.of("request-0", "request-2", "request-3"), sealed);
+    }
+
+    @Test
+    public void shouldRollSegmentsOverUnderConcurrentAppends() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        int writers = 16;
+        int recordsPerWriter = 500;
+        try (RequestJournal journal = new RequestJournal(directory, 8192);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int writer = 0; writer < writers; writer++) {
+                int writerId = writer;
+                executor.submit(() -> {
+                    for (int i = 0; i < recordsPerWriter; i++) {
+                        journal.append(writerId + "-" + i, "CustomUsecase", Map.of("field_1", "value-" + i), null);
+                    }
+                });
+            }
+        }
+
+        Set<String> requestIds = new HashSet<>();
+        for (JournalRecord record : new JournalReader(directory)) {
+            assertTrue(requestIds.add(record.getRequestId()));
+            assertEquals("value-" + record.getRequestId().split("-")[1], record.getPayload().get("field_1"));
+            assertNull(record.getResponse());
+        }
+        assertEquals(writers * recordsPerWriter, requestIds.size());
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertTrue(segments.count() > 1);
+        }
+    }
+
+    @Test
+    public void shouldRecordUsecaseExecutionsAndContinueAfterReopening() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        RequestInterface request;
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            request = new CustomRequest().createFromPayload(Map.of("field_1", 1));
+            new JournalingUsecase(new CustomUsecase(), journal).withRequest(request).withPresenter(new Presenter()).execute();
+        }
+        try (RequestJournal journal = new RequestJournal(directory, 4096)) {
+            try {
+                new JournalingUsecase(new CustomUsecase(), journal, "custom")
+                    .withRequest(new CustomRequest().createFromPayload(Map.of("field_1", -1)))
+                    .withPresenter(new Presenter())
+                    .execute();
+                fail();
+            } catch (BadRequestContentException ignored) {
+            }
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(directory).forEach(records::add);
+
+        assertEquals(2, records.size());
+        assertEquals(request.getRequestId(), records.get(0).getRequestId());
+        assertEquals(CustomUsecase.class.getName(), records.get(0).getUsecase());
+        assertEquals(Map.of("field_1", 1), records.get(0).getResponse().get("data"));
+        assertEquals("custom", records.get(1).getUsecase());
+        assertEquals("invalid.field", records.get(1).getResponse().get("message"));
+    }
+
+    @Test
+    public void shouldRejectRecordsLargerThanSegments() throws Exception {
+        try (RequestJournal journal = new RequestJournal(folder.newFolder().toPath(), 64)) {
+            journal.append("request", "CustomUsecase", Map.of("field_1", "x".repeat(100)), null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldNotFailRequestsWhenCaptureFails() throws Exception {
+        RequestJournal journal = new RequestJournal(folder.newFolder().toPath(), 4096);
+        try {
+            new JournalingUsecase(new CustomUsecase(), journal)
+                .withRequest(new CustomRequest().createFromPayload(Map.of("field_1", -2)))
+                .withPresenter(new Presenter())
+                .execute();
+            fail();
+        } catch (BadRequestContentException error) {
+            assertTrue(error.getDetails().get("error") instanceof IllegalStateException);
+        }
+        assertEquals(1, journal.getDroppedCaptures());
+
+        journal.close();
+        Presenter presenter = new Presenter();
+        new JournalingUsecase(new CustomUsecase(), journal)
+            .withRequest(new CustomRequest().createFromPayload(Map.of("field_1", 1)))
+            .withPresenter(presenter)
+            .execute();
+
+        assertTrue(presenter.getResponse().isSuccess());
+        assertEquals(2, journal.getDroppedCaptures());
+    }
+}
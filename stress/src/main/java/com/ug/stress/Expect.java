@@ -0,0 +1,19 @@
+package com.ug.stress;
+
+/**
+ * Classification of a stress test outcome.
+ */
+public enum Expect {
+    /**
+     * The outcome is correct.
+     */
+    ACCEPTABLE,
+    /**
+     * The outcome is allowed, but worth reporting: it shows a documented limitation.
+     */
+    ACCEPTABLE_INTERESTING,
+    /**
+     * The outcome is a bug: the stress test fails when it is observed.
+     */
+    FORBIDDEN
+}
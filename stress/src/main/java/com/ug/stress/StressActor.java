@@ -0,0 +1,18 @@
+package com.ug.stress;
+
+import java.util.SplittableRandom;
+
+/**
+ * Action run concurrently with the other actors of a stress test, on the state of a trial.
+ *
+ * @param <S> The state type.
+ */
+@FunctionalInterface
+public interface StressActor<S> {
+    /**
+     * @param state The trial state, shared with the other actors.
+     * @param random The random of this actor in this trial, derived from the trial seed.
+     * @throws Exception Reported as an outcome of the trial.
+     */
+    void act(S state, SplittableRandom random) throws Exception;
+}
@@ -0,0 +1,150 @@
+package com.ug.stress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcomes observed by a stress test run, with the seed to run it again with the same trial inputs.
+ */
+public class StressResult {
+    private final String name;
+    private final long seed;
+    private final long trials;
+    private final Duration elapsed;
+    private final List<Observation> observations;
+
+    public StressResult(String name, long seed, long trials, Duration elapsed, List<Observation> observations) {
+        this.name = name;
+        this.seed = seed;
+        this.trials = trials;
+        this.elapsed = elapsed;
+        this.observations = Collections.unmodifiableList(new ArrayList<>(observations));
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public long getTrials() {
+        return this.trials;
+    }
+
+    public Duration getElapsed() {
+        return this.elapsed;
+    }
+
+    /**
+     * Get the observed outcomes, most frequent first.
+     *
+     * @return The observations.
+     */
+    public List<Observation> getObservations() {
+        return this.observations;
+    }
+
+    /**
+     * Get the number of trials which gave the given outcome.
+     *
+     * @param outcome The outcome.
+     * @return The number of trials.
+     */
+    public long getCount(String outcome) {
+        for (Observation observation : this.observations) {
+            if (observation.getOutcome().equals(outcome)) {
+                return observation.getCount();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Check that no forbidden outcome was observed.
+     */
+    public boolean isPassed() {
+        return this.observations.stream().noneMatch(observation -> observation.getExpect() == Expect.FORBIDDEN);
+    }
+
+    /**
+     * Check if an interesting outcome was observed.
+     */
+    public boolean isInteresting() {
+        return this.observations.stream().anyMatch(observation -> observation.getExpect() == Expect.ACCEPTABLE_INTERESTING);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+            .append(this.name)
+            .append(" [").append(this.isPassed() ? "PASSED" : "FAILED").append(this.isInteresting() ? ", INTERESTING" : "").append("]")
+            .append(" seed=").append(this.seed)
+            .append(" trials=").append(this.trials)
+            .append(" elapsed=").append(this.elapsed.toMillis()).append("ms");
+        for (Observation observation : this.observations) {
+            builder.append(System.lineSeparator()).append(String.format(
+                "  %10d  %-22s  %-24s  first at %s trial %d  %s",
+                observation.getCount(),
+                observation.getExpect(),
+                observation.getOutcome(),
+                observation.isFirstOnVirtualThreads() ? "virtual" : "platform",
+                observation.getFirstTrial(),
+                observation.getDescription()
+            ));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * An outcome, how many trials gave it, and the first one which did.
+     */
+    public static final class Observation {
+        private final String outcome;
+        private final Expect expect;
+        private final String description;
+        private final long count;
+        private final long firstTrial;
+        private final boolean firstOnVirtualThreads;
+
+        public Observation(String outcome, Expect expect, String description, long count, long firstTrial, boolean firstOnVirtualThreads) {
+            this.outcome = outcome;
+            this.expect = expect;
+            this.description = description;
+            this.count = count;
+            this.firstTrial = firstTrial;
+            this.firstOnVirtualThreads = firstOnVirtualThreads;
+        }
+
+        public String getOutcome() {
+            return this.outcome;
+        }
+
+        public Expect getExpect() {
+            return this.expect;
+        }
+
+        public String getDescription() {
+            return this.description;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Get the index of the first trial giving this outcome, among the trials of its thread kind.
+         * Its inputs are derived from the run seed and this index only.
+         */
+        public long getFirstTrial() {
+            return this.firstTrial;
+        }
+
+        public boolean isFirstOnVirtualThreads() {
+            return this.firstOnVirtualThreads;
+        }
+    }
+}
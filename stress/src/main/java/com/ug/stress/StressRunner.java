@@ -0,0 +1,256 @@
+package com.ug.stress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Run stress tests on platform threads, then on virtual threads.
+ * <p>
+ * Trials are split between several copies of the actor group, run at the same time to load every core. The actors
+ * of a copy go through their trials together: they wait for each other at the start of each trial, spin for a random
+ * jitter, then act, so their actions overlap as closely as possible. Waiting actors park after a short spin, so the
+ * threads started by the actors themselves still get a processor, even with a single carrier thread.
+ * <p>
+ * Each trial state, jitter and actor random are derived from the run seed and the trial index. Running again with
+ * the seed of a failed run replays the same inputs and jitters; the interleaving itself is up to the scheduler, so
+ * a rare outcome reproduces in proportion to its frequency rather than on the first trial.
+ */
+public class StressRunner {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int SPINS_BEFORE_YIELD = 64;
+    private static final int SPINS_BEFORE_PARK = 128;
+    private static final long PARK_NANOS = 10_000;
+
+    private int trials = 10_000;
+    private long seed = new SplittableRandom().nextLong();
+    private int copies = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int maxJitterSpins = 32;
+    private boolean platformThreads = true;
+    private boolean virtualThreads = true;
+
+    /**
+     * @param trials The number of trials on each thread kind.
+     * @return The current instance.
+     */
+    public StressRunner withTrials(int trials) {
+        if (trials < 1) {
+            throw new IllegalArgumentException("The number of trials must be positive.");
+        }
+        this.trials = trials;
+        return this;
+    }
+
+    /**
+     * Use the given seed, for example the one of a failed run to replay its trial inputs. Random by default.
+     *
+     * @param seed The seed.
+     * @return The current instance.
+     */
+    public StressRunner withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param copies The number of actor groups run at the same time, half the available processors by default.
+     * @return The current instance.
+     */
+    public StressRunner withCopies(int copies) {
+        if (copies < 1) {
+            throw new IllegalArgumentException("The number of copies must be positive.");
+        }
+        this.copies = copies;
+        return this;
+    }
+
+    /**
+     * @param maxJitterSpins The maximum number of spins of an actor before acting, 32 by default.
+     * @return The current instance.
+     */
+    public StressRunner withMaxJitterSpins(int maxJitterSpins) {
+        this.maxJitterSpins = Math.max(1, maxJitterSpins);
+        return this;
+    }
+
+    /**
+     * @param platformThreads Whether to run the trials on platform threads.
+     * @param virtualThreads Whether to run the trials on virtual threads.
+     * @return The current instance.
+     */
+    public StressRunner withThreads(boolean platformThreads, boolean virtualThreads) {
+        if (!platformThreads && !virtualThreads) {
+            throw new IllegalArgumentException("At least one thread kind is required.");
+        }
+        this.platformThreads = platformThreads;
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Run the given stress test.
+     *
+     * @param test The stress test.
+     * @return The observed outcomes.
+     * @throws InterruptedException If the current thread is interrupted while waiting for the actors.
+     */
+    public <S> StressResult run(StressTest<S> test) throws InterruptedException {
+        if (test.getActors().isEmpty()) {
+            throw new IllegalStateException("Stress test " + test.getName() + " has no actor.");
+        }
+        long start = System.nanoTime();
+        Map<String, Counter> counters = new LinkedHashMap<>();
+        long total = 0;
+        if (this.platformThreads) {
+            total += this.runOn(test, false, counters);
+        }
+        if (this.virtualThreads) {
+            total += this.runOn(test, true, counters);
+        }
+
+        List<StressResult.Observation> observations = new ArrayList<>(counters.size());
+        counters.forEach((outcome, counter) -> observations.add(new StressResult.Observation(
+            outcome, test.classify(outcome), test.describe(outcome), counter.count, counter.firstTrial, counter.firstOnVirtualThreads
+        )));
+        observations.sort(Comparator.comparingLong(StressResult.Observation::getCount).reversed());
+        return new StressResult(test.getName(), this.seed, total, Duration.ofNanos(System.nanoTime() - start), observations);
+    }
+
+    private <S> long runOn(StressTest<S> test, boolean virtual, Map<String, Counter> counters) throws InterruptedException {
+        List<StressActor<S>> actors = test.getActors();
+        long kindSeed = mix(this.seed + (virtual ? GOLDEN_GAMMA : 0));
+        ThreadFactory factory = virtual
+            ? Thread.ofVirtual().name("stress-virtual-", 0).factory()
+            : Thread.ofPlatform().name("stress-platform-", 0).daemon(true).factory();
+        int perCopy = (this.trials + this.copies - 1) / this.copies;
+
+        List<Copy<S>> copies = new ArrayList<>(this.copies);
+        List<Thread> threads = new ArrayList<>(this.copies * actors.size());
+        for (int first = 0; first < this.trials; first += perCopy) {
+            Copy<S> copy = new Copy<>(test, first, Math.min(perCopy, this.trials - first), kindSeed);
+            copies.add(copy);
+            for (int actor = 0; actor < actors.size(); actor++) {
+                int actorIndex = actor;
+                threads.add(factory.newThread(() -> copy.act(actorIndex, this.maxJitterSpins)));
+            }
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (Copy<S> copy : copies) {
+            for (int trial = 0; trial < copy.count; trial++) {
+                String outcome = copy.outcome(trial);
+                Counter counter = counters.get(outcome);
+                if (counter == null) {
+                    counters.put(outcome, new Counter(copy.first + trial, virtual));
+                } else {
+                    counter.count++;
+                }
+            }
+        }
+        return this.trials;
+    }
+
+    private static long trialSeed(long kindSeed, long trial) {
+        return mix(kindSeed + trial * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Consecutive trials run by one group of actors.
+     */
+    private static final class Copy<S> {
+        private final StressTest<S> test;
+        private final int first;
+        private final int count;
+        private final long kindSeed;
+        private final List<S> states;
+        private final Throwable[] errors;
+        private final AtomicIntegerArray arrivals;
+
+        private Copy(StressTest<S> test, int first, int count, long kindSeed) {
+            this.test = test;
+            this.first = first;
+            this.count = count;
+            this.kindSeed = kindSeed;
+            this.states = new ArrayList<>(count);
+            for (int trial = 0; trial < count; trial++) {
+                this.states.add(test.newState(trialSeed(kindSeed, first + trial)));
+            }
+            this.errors = new Throwable[count * test.getActors().size()];
+            this.arrivals = new AtomicIntegerArray(count);
+        }
+
+        private void act(int actorIndex, int maxJitterSpins) {
+            StressActor<S> actor = this.test.getActors().get(actorIndex);
+            int actorCount = this.test.getActors().size();
+            for (int trial = 0; trial < this.count; trial++) {
+                this.arrivals.incrementAndGet(trial);
+                for (int spins = 1; this.arrivals.get(trial) < actorCount; spins++) {
+                    if (spins > SPINS_BEFORE_PARK) {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    } else if (spins > SPINS_BEFORE_YIELD) {
+                        Thread.yield();
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+
+                long trialSeed = trialSeed(this.kindSeed, this.first + trial);
+                SplittableRandom random = new SplittableRandom(mix(trialSeed + (actorIndex + 1) * GOLDEN_GAMMA));
+                for (int spins = random.nextInt(maxJitterSpins); spins > 0; spins--) {
+                    Thread.onSpinWait();
+                }
+                try {
+                    actor.act(this.states.get(trial), random);
+                } catch (Throwable error) {
+                    this.errors[trial * actorCount + actorIndex] = error;
+                }
+            }
+        }
+
+        private String outcome(int trial) {
+            int actorCount = this.test.getActors().size();
+            for (int actor = 0; actor < actorCount; actor++) {
+                Throwable error = this.errors[trial * actorCount + actor];
+                if (error != null) {
+                    return "exception: " + error.getClass().getName();
+                }
+            }
+            try {
+                return this.test.arbitrate(this.states.get(trial));
+            } catch (RuntimeException error) {
+                return "exception: " + error.getClass().getName();
+            }
+        }
+    }
+
+    private static final class Counter {
+        private final long firstTrial;
+        private final boolean firstOnVirtualThreads;
+        private long count = 1;
+
+        private Counter(long firstTrial, boolean firstOnVirtualThreads) {
+            this.firstTrial = firstTrial;
+            this.firstOnVirtualThreads = firstOnVirtualThreads;
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.ug.stress;
+
+import com.ug.composition.ParallelUsecase;
+import com.ug.context.RequestContext;
+import com.ug.exception.BaseException;
+import com.ug.exception.ConcurrencyLimitExceededException;
+import com.ug.idempotency.IdempotencyStore;
+import com.ug.presenter.Presenter;
+import com.ug.request.Request;
+import com.ug.request.RequestInterface;
+import com.ug.resilience.AdaptiveLimiter;
+import com.ug.resilience.AimdLimit;
+import com.ug.resilience.Bulkhead;
+import com.ug.response.LazyValue;
+import com.ug.response.Response;
+import com.ug.response.ResponseInterface;
+import com.ug.response.StatusCode;
+import com.ug.slowlog.SlowExecution;
+import com.ug.slowlog.SlowExecutionRecorder;
+import com.ug.usecase.Usecase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress tests of the library: request state isolation between concurrent calls, publication of presented
+ * responses, accounting of the concurrency limiters, caches and id generators.
+ * <pre>
+ * java -cp ... com.ug.stress.StressSuite [trials] [seed]
+ * </pre>
+ * Exits with status 1 when a forbidden outcome is observed.
+ */
+public final class StressSuite {
+    private static final int ACTORS = 4;
+    private static final String ISOLATED = "isolated";
+    private static final String LEAKED = "leaked";
+
+    private StressSuite() {
+    }
+
+    /**
+     * Get every stress test of the library.
+     *
+     * @param store The idempotency store to stress, shared by the trials.
+     * @return The stress tests.
+     */
+    public static List<StressTest<?>> all(IdempotencyStore store) {
+        return List.of(
+            usecaseInstancePerCall(),
+            sharedUsecaseInstance(),
+            presenterPublication(),
+            requestContextIsolation(),
+            parallelBranchIsolation(),
+            lazyValueComputedOnce(),
+            bulkheadAccounting(),
+            adaptiveLimiterAccounting(),
+            slowExecutionRecorder(),
+            idempotencyStore(store),
+            requestIds()
+        );
+    }
+
+    /**
+     * Concurrent calls, each with its own usecase instance, as the HTTP adapter and the load test do.
+     */
+    public static StressTest<Calls> usecaseInstancePerCall() {
+        StressTest<Calls> test = new StressTest<>("usecase.instance-per-call", seed -> new Calls(null));
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> state.call(actor, new EchoUsecase(), random));
+        }
+        return test
+            .withArbiter(Calls::outcome)
+            .withOutcome(ISOLATED, Expect.ACCEPTABLE, "Each call presents its own request.")
+            .withOutcome(LEAKED, Expect.FORBIDDEN, "A call presented the request of another one.");
+    }
+
+    /**
+     * Concurrent calls on the same usecase instance. Usecases keep the request and presenter of their call into
+     * fields, so sharing an instance leaks requests between calls: create one instance per call.
+     */
+    public static StressTest<Calls> sharedUsecaseInstance() {
+        StressTest<Calls> test = new StressTest<>("usecase.shared-instance", seed -> new Calls(new EchoUsecase()));
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> state.call(actor, state.shared, random));
+        }
+        return test
+            .withArbiter(Calls::outcome)
+            .withOutcome(ISOLATED, Expect.ACCEPTABLE, "Each call presents its own request.")
+            .withOutcome(LEAKED, Expect.ACCEPTABLE_INTERESTING, "Usecase instances are not thread safe, create one per call.");
+    }
+
+    /**
+     * A response presented on one thread and read from another without synchronization.
+     */
+    public static StressTest<Publication> presenterPublication() {
+        return new StressTest<>("presenter.publication", Publication::new)
+            .withActor((state, random) -> state.presenter.present(
+                Response.create(true, StatusCode.OK.getValue(), state.message, Map.of("value", state.message))
+            ))
+            .withActor((state, random) -> state.read())
+            .withArbiter(state -> state.observed)
+            .withOutcome("not visible", Expect.ACCEPTABLE, "The response was read before it was presented.")
+            .withOutcome("visible", Expect.ACCEPTABLE, "The complete response was read.")
+            .withOutcome("torn", Expect.FORBIDDEN, "The response was read partially built.");
+    }
+
+    /**
+     * Concurrent calls, each bound to its own request context, creating their request inside it.
+     */
+    public static StressTest<Contexts> requestContextIsolation() {
+        StressTest<Contexts> test = new StressTest<>("context.isolation", seed -> new Contexts());
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> {
+                RequestContext context = RequestContext.of("context-" + random.nextLong());
+                RequestInterface request = context.call(() -> EchoRequest.of(random));
+                state.expected[actor] = context.getRequestId();
+                state.seen[actor] = RequestContext.isBound() ? "bound after its scope" : request.getRequestId();
+            });
+        }
+        return test
+            .withArbiter(Contexts::outcome)
+            .withOutcome(ISOLATED, Expect.ACCEPTABLE, "Each request has the id of its own context.")
+            .withOutcome(LEAKED, Expect.FORBIDDEN, "A request got the id of another context, or a context outlived its scope.");
+    }
+
+    /**
+     * Concurrent parallel compositions, whose branches run on their own virtual threads.
+     */
+    public static StressTest<Contexts> parallelBranchIsolation() {
+        StressTest<Contexts> test = new StressTest<>("parallel.branch-isolation", seed -> new Contexts());
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> {
+                RequestContext context = RequestContext.of("context-" + random.nextLong());
+                Presenter presenter = new Presenter();
+                context.call(() -> {
+                    new ParallelUsecase()
+                        .withBranch("first", new EchoUsecase())
+                        .withBranch("second", new EchoUsecase())
+                        .withRequest(EchoRequest.of(random))
+                        .withPresenter(presenter)
+                        .execute();
+                    return null;
+                });
+                ResponseInterface response = presenter.getResponse();
+                state.expected[actor] = context.getRequestId() + "/" + context.getRequestId();
+                state.seen[actor] = response.get("first.context_id") + "/" + response.get("second.request_id");
+            });
+        }
+        return test
+            .withArbiter(Contexts::outcome)
+            .withOutcome(ISOLATED, Expect.ACCEPTABLE, "Every branch sees the context of its composition.")
+            .withOutcome(LEAKED, Expect.FORBIDDEN, "A branch saw the context of another composition.");
+    }
+
+    /**
+     * A lazy response value read by several threads at once.
+     */
+    public static StressTest<Lazy> lazyValueComputedOnce() {
+        StressTest<Lazy> test = new StressTest<>("lazy-value.once", seed -> new Lazy());
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> state.seen[actor] = state.value.get());
+        }
+        return test
+            .withArbiter(Lazy::outcome)
+            .withOutcome("once", Expect.ACCEPTABLE, "The value was computed once and seen by every reader.");
+    }
+
+    /**
+     * Calls racing for the slots of a bulkhead of 2 concurrent calls.
+     */
+    public static StressTest<Limited> bulkheadAccounting() {
+        return new StressTest<>("bulkhead.accounting", seed -> new Limited(Bulkhead.of("stress", 2), null))
+            .withActors(ACTORS, (state, random) -> {
+                if (state.bulkhead.tryAcquire()) {
+                    state.run(random);
+                    state.bulkhead.release();
+                } else {
+                    state.rejections.incrementAndGet();
+                }
+            })
+            .withArbiter(state -> state.outcome(
+                state.bulkhead.getInFlightCalls(),
+                state.bulkhead.getAcceptedCalls(),
+                state.rejections.get(),
+                2
+            ))
+            .withOutcome("balanced", Expect.ACCEPTABLE, "Every slot was released and the limit was never exceeded.");
+    }
+
+    /**
+     * Calls racing for an adaptive limit of 2 concurrent calls.
+     */
+    public static StressTest<Limited> adaptiveLimiterAccounting() {
+        return new StressTest<>("adaptive-limiter.accounting", seed -> new Limited(
+            null, new AdaptiveLimiter("stress", AimdLimit.of(2, Duration.ofSeconds(1)))
+        ))
+            .withActors(ACTORS, (state, random) -> {
+                long start;
+                try {
+                    start = state.limiter.acquire();
+                } catch (ConcurrencyLimitExceededException error) {
+                    state.rejections.incrementAndGet();
+                    return;
+                }
+                state.run(random);
+                state.limiter.release(start, false);
+            })
+            .withArbiter(state -> state.outcome(
+                state.limiter.getInFlightCalls(),
+                state.limiter.getAcceptedCalls(),
+                state.limiter.getRejectedCalls(),
+                ACTORS
+            ))
+            .withOutcome("balanced", Expect.ACCEPTABLE, "Every call was counted once and released.");
+    }
+
+    /**
+     * Executions recorded concurrently into the ring buffer of the slow execution recorder.
+     */
+    public static StressTest<SlowExecutionRecorder> slowExecutionRecorder() {
+        int recordsPerActor = 8;
+        return new StressTest<>("slow-execution.recorder", seed -> new SlowExecutionRecorder(Duration.ZERO, ACTORS * recordsPerActor))
+            .withActors(ACTORS, (recorder, random) -> {
+                for (int i = 0; i < recordsPerActor; i++) {
+                    recorder.record(EchoUsecase.class, null, System.nanoTime(), random.nextInt(1_000), true);
+                }
+            })
+            .withArbiter(recorder -> {
+                List<SlowExecution> executions = recorder.snapshot();
+                Set<Long> sequences = new HashSet<>();
+                executions.forEach(execution -> sequences.add(execution.getSequence()));
+                boolean complete = recorder.getRecordedCount() == ACTORS * recordsPerActor && sequences.size() == ACTORS * recordsPerActor;
+                return complete ? "complete" : "lost " + (ACTORS * recordsPerActor - sequences.size());
+            })
+            .withOutcome("complete", Expect.ACCEPTABLE, "Every execution was recorded with its own sequence.");
+    }
+
+    /**
+     * Concurrent writes and reads of the idempotency store, on keys of their own and on a key they all share.
+     *
+     * @param store The store, shared by the trials which each use their own keys.
+     */
+    public static StressTest<Keys> idempotencyStore(IdempotencyStore store) {
+        StressTest<Keys> test = new StressTest<>("idempotency-store.keys", seed -> new Keys(store, "trial-" + seed));
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> {
+                ResponseInterface response = Response.create(true, StatusCode.OK.getValue(), "actor." + actor, Map.of("value", random.nextLong()));
+                state.store.put(state.prefix + ".shared", response);
+                state.store.put(state.prefix + "." + actor, response);
+                ResponseInterface stored = state.store.get(state.prefix + "." + actor);
+                state.expected[actor] = response.getData().get("value");
+                state.seen[actor] = stored == null ? null : stored.getData().get("value");
+            });
+        }
+        return test
+            .withArbiter(Keys::outcome)
+            .withOutcome("consistent", Expect.ACCEPTABLE, "Every actor read its own write, the shared key holds one of them.");
+    }
+
+    /**
+     * Request ids generated concurrently.
+     */
+    public static StressTest<Ids> requestIds() {
+        int requestsPerActor = 16;
+        StressTest<Ids> test = new StressTest<>("request.ids", seed -> new Ids(ACTORS * requestsPerActor));
+        for (int i = 0; i < ACTORS; i++) {
+            int actor = i;
+            test.withActor((state, random) -> {
+                for (int j = 0; j < requestsPerActor; j++) {
+                    state.ids[actor * requestsPerActor + j] = EchoRequest.of(random).getRequestId();
+                }
+            });
+        }
+        return test
+            .withArbiter(state -> new HashSet<>(Arrays.asList(state.ids)).size() == state.ids.length ? "unique" : "duplicate")
+            .withOutcome("unique", Expect.ACCEPTABLE, "Every request got its own id.");
+    }
+
+    /**
+     * Run every stress test, then print their results.
+     *
+     * @param args The number of trials on each thread kind, 10000 by default, and the seed, random by default.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StressRunner runner = new StressRunner();
+        if (args.length > 0) {
+            runner.withTrials(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            runner.withSeed(Long.parseLong(args[1]));
+        }
+
+        Path file = Files.createTempFile("stress-idempotency", ".log");
+        boolean passed = true;
+        try (IdempotencyStore store = new IdempotencyStore(file, Integer.MAX_VALUE, Duration.ofHours(1))) {
+            for (StressTest<?> test : all(store)) {
+                StressResult result = runner.run(test);
+                passed &= result.isPassed();
+                System.out.println(result);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    static final class EchoRequest extends Request {
+        @Override
+        protected Map<String, Object> getRequestPossibleFields() {
+            return Map.of("value", true);
+        }
+
+        static RequestInterface of(SplittableRandom random) throws BaseException {
+            return new EchoRequest().createFromPayload(Map.of("value", "value-" + random.nextLong()));
+        }
+    }
+
+    /**
+     * Present the request value and id, and the bound context id, after yielding to widen the race window.
+     */
+    static final class EchoUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            Object value = this.getField("value");
+            Thread.yield();
+            RequestContext context = RequestContext.current();
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "echo", Map.of(
+                "value", value,
+                "request_id", this.getRequestId(),
+                "context_id", context == null ? "" : context.getRequestId()
+            )));
+        }
+    }
+
+    static final class Calls {
+        private final Usecase shared;
+        private final String[] expected = new String[ACTORS];
+        private final String[] seen = new String[ACTORS];
+
+        private Calls(Usecase shared) {
+            this.shared = shared;
+        }
+
+        private void call(int actor, Usecase usecase, SplittableRandom random) throws BaseException {
+            RequestInterface request = EchoRequest.of(random);
+            Presenter presenter = new Presenter();
+            usecase.withRequest(request).withPresenter(presenter).execute();
+            ResponseInterface response = presenter.getResponse();
+            this.expected[actor] = request.get("value") + "/" + request.getRequestId();
+            this.seen[actor] = response == null ? null : response.get("value") + "/" + response.get("request_id");
+        }
+
+        private String outcome() {
+            return Arrays.equals(this.expected, this.seen) ? ISOLATED : LEAKED;
+        }
+    }
+
+    static final class Publication {
+        private final Presenter presenter = new Presenter();
+        private final String message;
+        private String observed;
+
+        private Publication(long seed) {
+            this.message = "message." + seed;
+        }
+
+        private void read() {
+            ResponseInterface response = this.presenter.getResponse();
+            if (response == null) {
+                this.observed = "not visible";
+            } else {
+                boolean complete = this.message.equals(response.getMessage()) && this.message.equals(response.getData().get("value"));
+                this.observed = complete ? "visible" : "torn";
+            }
+        }
+    }
+
+    static final class Contexts {
+        private final String[] expected = new String[ACTORS];
+        private final String[] seen = new String[ACTORS];
+
+        private String outcome() {
+            return Arrays.equals(this.expected, this.seen) ? ISOLATED : LEAKED;
+        }
+    }
+
+    static final class Lazy {
+        private final AtomicInteger computations = new AtomicInteger();
+        private final LazyValue<Object> value = LazyValue.of(() -> {
+            this.computations.incrementAndGet();
+            return new Object();
+        });
+        private final Object[] seen = new Object[ACTORS];
+
+        private String outcome() {
+            if (this.computations.get() != 1) {
+                return "computed " + this.computations.get() + " times";
+            }
+            for (Object value : this.seen) {
+                if (value != this.seen[0]) {
+                    return "different values";
+                }
+            }
+            return "once";
+        }
+    }
+
+    static final class Limited {
+        private final Bulkhead bulkhead;
+        private final AdaptiveLimiter limiter;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger rejections = new AtomicInteger();
+
+        private Limited(Bulkhead bulkhead, AdaptiveLimiter limiter) {
+            this.bulkhead = bulkhead;
+            this.limiter = limiter;
+        }
+
+        private void run(SplittableRandom random) {
+            this.calls.incrementAndGet();
+            this.maxActive.accumulateAndGet(this.active.incrementAndGet(), Math::max);
+            for (int spins = random.nextInt(64); spins > 0; spins--) {
+                Thread.onSpinWait();
+            }
+            this.active.decrementAndGet();
+        }
+
+        private String outcome(int inFlight, long accepted, long rejected, int limit) {
+            if (inFlight != 0) {
+                return "in flight " + inFlight;
+            }
+            if (accepted != this.calls.get() || rejected != this.rejections.get() || accepted + rejected != ACTORS) {
+                return "lost update";
+            }
+            return this.maxActive.get() > limit ? "over limit" : "balanced";
+        }
+    }
+
+    static final class Keys {
+        private final IdempotencyStore store;
+        private final String prefix;
+        private final Object[] expected = new Object[ACTORS];
+        private final Object[] seen = new Object[ACTORS];
+
+        private Keys(IdempotencyStore store, String prefix) {
+            this.store = store;
+            this.prefix = prefix;
+        }
+
+        private String outcome() {
+            if (!Arrays.equals(this.expected, this.seen)) {
+                return "lost write";
+            }
+            ResponseInterface shared = this.store.get(this.prefix + ".shared");
+            Object value = shared == null ? null : shared.getData().get("value");
+            for (Object expectedValue : this.expected) {
+                if (Objects.equals(expectedValue, value)) {
+                    return "consistent";
+                }
+            }
+            return "unknown shared value";
+        }
+    }
+
+    static final class Ids {
+        private final String[] ids;
+
+        private Ids(int count) {
+            this.ids = new String[count];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ug.stress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Concurrency stress test, in the jcstress style: a fresh state per trial, actors racing on it, then an arbiter
+ * reducing the state to an outcome, classified as acceptable, interesting or forbidden.
+ * <p>
+ * Outcomes which are not declared are forbidden, unless another default is set. An actor throwing gives the
+ * outcome "exception: " followed by the exception class name.
+ *
+ * @param <S> The state type.
+ */
+public class StressTest<S> {
+    private final String name;
+    private final LongFunction<? extends S> stateFactory;
+    private final List<StressActor<S>> actors = new ArrayList<>();
+    private final Map<String, Outcome> outcomes = new LinkedHashMap<>();
+    private Function<? super S, String> arbiter;
+    private Expect defaultExpect = Expect.FORBIDDEN;
+
+    /**
+     * @param name The test name.
+     * @param stateFactory Create the state of a trial from its seed.
+     */
+    public StressTest(String name, LongFunction<? extends S> stateFactory) {
+        this.name = name;
+        this.stateFactory = stateFactory;
+    }
+
+    /**
+     * Add an actor, run on its own thread.
+     *
+     * @param actor The actor.
+     * @return The current instance.
+     */
+    public StressTest<S> withActor(StressActor<S> actor) {
+        this.actors.add(actor);
+        return this;
+    }
+
+    /**
+     * Add the same actor several times, each one on its own thread.
+     *
+     * @param count The number of actors.
+     * @param actor The actor.
+     * @return The current instance.
+     */
+    public StressTest<S> withActors(int count, StressActor<S> actor) {
+        for (int i = 0; i < count; i++) {
+            this.actors.add(actor);
+        }
+        return this;
+    }
+
+    /**
+     * Set the arbiter, run once every actor of a trial has ended.
+     *
+     * @param arbiter Reduce the trial state to its outcome.
+     * @return The current instance.
+     */
+    public StressTest<S> withArbiter(Function<? super S, String> arbiter) {
+        this.arbiter = arbiter;
+        return this;
+    }
+
+    /**
+     * Declare an outcome.
+     *
+     * @param outcome The outcome, as returned by the arbiter.
+     * @param expect The outcome classification.
+     * @param description What the outcome means.
+     * @return The current instance.
+     */
+    public StressTest<S> withOutcome(String outcome, Expect expect, String description) {
+        this.outcomes.put(outcome, new Outcome(expect, description));
+        return this;
+    }
+
+    /**
+     * @param expect The classification of undeclared outcomes, forbidden by default.
+     * @return The current instance.
+     */
+    public StressTest<S> withDefaultExpect(Expect expect) {
+        this.defaultExpect = expect;
+        return this;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public List<StressActor<S>> getActors() {
+        return Collections.unmodifiableList(this.actors);
+    }
+
+    /**
+     * Classify the given outcome.
+     *
+     * @param outcome The outcome.
+     * @return Its classification.
+     */
+    public Expect classify(String outcome) {
+        Outcome declared = this.outcomes.get(outcome);
+        return declared == null ? this.defaultExpect : declared.expect;
+    }
+
+    /**
+     * Describe the given outcome.
+     *
+     * @param outcome The outcome.
+     * @return Its description, or an empty string if it is not declared.
+     */
+    public String describe(String outcome) {
+        Outcome declared = this.outcomes.get(outcome);
+        return declared == null ? "" : declared.description;
+    }
+
+    S newState(long seed) {
+        return this.stateFactory.apply(seed);
+    }
+
+    String arbitrate(S state) {
+        if (this.arbiter == null) {
+            throw new IllegalStateException("Stress test " + this.name + " has no arbiter.");
+        }
+        return this.arbiter.apply(state);
+    }
+
+    private static final class Outcome {
+        private final Expect expect;
+        private final String description;
+
+        private Outcome(Expect expect, String description) {
+            this.expect = expect;
+            this.description = description;
+        }
+    }
+}
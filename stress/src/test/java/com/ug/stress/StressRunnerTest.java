@@ -0,0 +1,85 @@
+package com.ug.stress;
+
+import com.ug.idempotency.IdempotencyStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class StressRunnerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static final class Inputs {
+        private final long seed;
+        private final long[] values = new long[2];
+
+        Inputs(long seed) {
+            this.seed = seed;
+        }
+    }
+
+    private static StressTest<Inputs> inputsTest() {
+        return new StressTest<>("inputs", Inputs::new)
+            .withActor((state, random) -> state.values[0] = random.nextLong())
+            .withActor((state, random) -> {
+                state.values[1] = random.nextLong();
+                if ((state.seed & 15) == 0) {
+                    throw new IllegalStateException("Failing trial.");
+                }
+            })
+            .withArbiter(state -> Long.toString(Math.floorMod(state.seed ^ state.values[0] ^ state.values[1], 3)))
+            .withOutcome("0", Expect.ACCEPTABLE, "")
+            .withOutcome("1", Expect.ACCEPTABLE, "")
+            .withOutcome("2", Expect.ACCEPTABLE_INTERESTING, "");
+    }
+
+    private static List<String> summary(StressResult result) {
+        return result.getObservations().stream()
+            .map(observation -> observation.getOutcome() + "=" + observation.getCount() + "@" + observation.getFirstTrial() + observation.isFirstOnVirtualThreads())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldClassifyOutcomesAndReportActorExceptions() throws InterruptedException {
+        StressResult result = new StressRunner().withTrials(2_000).withCopies(2).withSeed(42).run(inputsTest());
+
+        assertEquals(4_000, result.getTrials());
+        assertEquals(4_000, result.getObservations().stream().mapToLong(StressResult.Observation::getCount).sum());
+        assertTrue(result.getCount("exception: java.lang.IllegalStateException") > 0);
+        assertFalse(result.isPassed());
+        assertTrue(result.isInteresting());
+        assertTrue(result.toString().contains("FAILED"));
+        assertEquals(Expect.FORBIDDEN, inputsTest().classify("3"));
+    }
+
+    @Test
+    public void shouldReplayTrialInputsFromTheSeed() throws InterruptedException {
+        StressResult first = new StressRunner().withTrials(1_000).withCopies(3).withSeed(7).run(inputsTest());
+        StressResult replay = new StressRunner().withTrials(1_000).withCopies(3).withSeed(7).run(inputsTest());
+        StressResult other = new StressRunner().withTrials(1_000).withCopies(3).withSeed(8).run(inputsTest());
+
+        assertEquals(summary(first), summary(replay));
+        assertNotEquals(summary(first), summary(other));
+        assertEquals(7, first.getSeed());
+    }
+
+    @Test
+    public void shouldIsolateConcurrentCallsOfTheLibrary() throws Exception {
+        StressRunner runner = new StressRunner().withTrials(500).withSeed(20_260_101L);
+        try (IdempotencyStore store = new IdempotencyStore(folder.newFile().toPath(), Integer.MAX_VALUE, Duration.ofHours(1))) {
+            for (StressTest<?> test : StressSuite.all(store)) {
+                StressResult result = runner.run(test);
+
+                assertTrue(result.toString(), result.isPassed());
+                assertEquals(1_000, result.getTrials());
+            }
+        }
+    }
+}
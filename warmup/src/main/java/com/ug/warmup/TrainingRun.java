@@ -0,0 +1,46 @@
+package com.ug.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Entry point of a training run, which warms up the application requests and usecases then exits,
+ * so the JVM can archive the classes it loaded and linked for the next starts.
+ * <p>
+ * With a CDS archive (JDK 13+):
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=app.jsa -cp app.jar com.ug.warmup.TrainingRun [provider classes]
+ * java -XX:SharedArchiveFile=app.jsa -cp app.jar com.example.Main
+ * </pre>
+ * With an AOT cache (JDK 24+), which also keeps linked lambdas and method profiles:
+ * <pre>
+ * java -XX:AOTMode=record -XX:AOTConfiguration=app.aotconf -cp app.jar com.ug.warmup.TrainingRun [provider classes]
+ * java -XX:AOTMode=create -XX:AOTConfiguration=app.aotconf -XX:AOTCache=app.aot -cp app.jar
+ * java -XX:AOTCache=app.aot -cp app.jar com.example.Main
+ * </pre>
+ * CDS only archives classes loaded from jars: the class path must not hold class directories.
+ * Providers are the {@link WarmupProvider} class names given as arguments, or the ones registered as services.
+ */
+public final class TrainingRun {
+    private TrainingRun() {
+    }
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        List<WarmupProvider> providers = new ArrayList<>();
+        for (String className : args) {
+            providers.add((WarmupProvider) Class.forName(className).getDeclaredConstructor().newInstance());
+        }
+        if (providers.isEmpty()) {
+            ServiceLoader.load(WarmupProvider.class).forEach(providers::add);
+        }
+        if (providers.isEmpty()) {
+            System.err.println("No warmup provider given nor registered.");
+            System.exit(1);
+        }
+
+        Warmup warmup = new Warmup();
+        providers.forEach(provider -> provider.configure(warmup));
+        System.out.println("Training run: " + warmup.run());
+    }
+}
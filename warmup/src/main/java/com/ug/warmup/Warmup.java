@@ -0,0 +1,168 @@
+package com.ug.warmup;
+
+import com.ug.codec.JsonWriter;
+import com.ug.exception.BaseException;
+import com.ug.loadtest.PayloadSource;
+import com.ug.presenter.Presenter;
+import com.ug.request.RequestInterface;
+import com.ug.schema.RequestSchemas;
+import com.ug.usecase.UsecaseInterface;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pay the cold-start costs of requests and usecases before the first real request: class loading and initialization,
+ * generated schema resolution, accessor and lambda linkage, and JIT compilation of the validation, execution and
+ * JSON serialization paths.
+ * <p>
+ * Synthetic payloads are run through the registered usecases, so those must be free of side effects, or have their
+ * dependencies stubbed. Invalid payloads are welcome: they warm the error paths, and their errors are only counted.
+ */
+public class Warmup {
+    private static final int DEFAULT_ITERATIONS = 1_000;
+
+    private final Set<Class<?>> requests = new LinkedHashSet<>();
+    private final List<Target> targets = new ArrayList<>();
+    private int iterations = DEFAULT_ITERATIONS;
+
+    /**
+     * Register a request to validate the given payloads with.
+     *
+     * @param requestFactory Create an empty request.
+     * @param payloads The synthetic payloads.
+     * @return The current instance.
+     */
+    public Warmup withRequest(Supplier<? extends RequestInterface> requestFactory, PayloadSource payloads) {
+        return this.withUsecase(requestFactory, null, payloads);
+    }
+
+    /**
+     * Register a usecase to execute with requests created from the given payloads.
+     *
+     * @param requestFactory Create an empty request.
+     * @param usecaseFactory Create the usecase, or null to only create requests.
+     * @param payloads The synthetic payloads.
+     * @return The current instance.
+     */
+    public Warmup withUsecase(
+        Supplier<? extends RequestInterface> requestFactory,
+        Supplier<? extends UsecaseInterface> usecaseFactory,
+        PayloadSource payloads
+    ) {
+        this.requests.add(requestFactory.get().getClass());
+        this.targets.add(new Target(requestFactory, usecaseFactory, payloads));
+        return this;
+    }
+
+    /**
+     * Set the number of iterations run for each usecase, 1000 by default.
+     * Enough iterations get the hot paths compiled by the JIT compiler.
+     *
+     * @param iterations The number of iterations.
+     * @return The current instance.
+     */
+    public Warmup withIterations(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Resolve the request schemas and link their accessors, then run the iterations of every usecase.
+     *
+     * @return The warmup report.
+     */
+    public WarmupReport run() {
+        long start = System.nanoTime();
+        Map<Class<?>, List<Method>> accessors = new HashMap<>();
+        for (Class<?> requestClass : this.requests) {
+            RequestSchemas.validatorFor(requestClass);
+            accessors.put(requestClass, schemaAccessors(requestClass));
+        }
+
+        long errors = 0;
+        long total = 0;
+        JsonWriter json = new JsonWriter(OutputStream.nullOutputStream());
+        for (Target target : this.targets) {
+            for (int i = 0; i < this.iterations; i++) {
+                total++;
+                try {
+                    RequestInterface request = target.requestFactory.get().createFromPayload(target.payloads.next(i));
+                    if (i == 0) {
+                        linkAccessors(accessors.getOrDefault(request.getClass(), List.of()), request);
+                    }
+                    if (target.usecaseFactory == null) {
+                        continue;
+                    }
+                    Presenter presenter = new Presenter();
+                    target.usecaseFactory.get().withRequest(request).withPresenter(presenter).execute();
+                    if (presenter.getResponse() != null) {
+                        json.write(presenter.getFormattedResponse());
+                    }
+                } catch (BaseException error) {
+                    errors++;
+                    json.write(error.format());
+                } catch (RuntimeException error) {
+                    errors++;
+                }
+            }
+        }
+        json.flush();
+        return new WarmupReport(this.targets.size(), total, errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Get the static accessors generated for the given request class, if it has a schema.
+     */
+    private static List<Method> schemaAccessors(Class<?> requestClass) {
+        List<Method> accessors = new ArrayList<>();
+        try {
+            Class<?> generatedClass = Class.forName(RequestSchemas.generatedClassName(requestClass), true, requestClass.getClassLoader());
+            for (Method method : generatedClass.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())
+                    && method.getParameterCount() == 1
+                    && method.getParameterTypes()[0] == RequestInterface.class) {
+                    accessors.add(method);
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError ignored) {
+            // No generated schema.
+        }
+        return accessors;
+    }
+
+    private static void linkAccessors(List<Method> accessors, RequestInterface request) {
+        for (Method accessor : accessors) {
+            try {
+                accessor.invoke(null, request);
+            } catch (ReflectiveOperationException ignored) {
+                // Accessors only read the request data.
+            }
+        }
+    }
+
+    private static final class Target {
+        private final Supplier<? extends RequestInterface> requestFactory;
+        private final Supplier<? extends UsecaseInterface> usecaseFactory;
+        private final PayloadSource payloads;
+
+        private Target(
+            Supplier<? extends RequestInterface> requestFactory,
+            Supplier<? extends UsecaseInterface> usecaseFactory,
+            PayloadSource payloads
+        ) {
+            this.requestFactory = requestFactory;
+            this.usecaseFactory = usecaseFactory;
+            this.payloads = payloads;
+        }
+    }
+}
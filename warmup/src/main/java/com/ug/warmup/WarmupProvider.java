@@ -0,0 +1,14 @@
+package com.ug.warmup;
+
+/**
+ * Register the requests and usecases of an application to warm up, for {@link TrainingRun}.
+ * Providers are listed in {@code META-INF/services/com.ug.warmup.WarmupProvider}, or given to the training run.
+ */
+public interface WarmupProvider {
+    /**
+     * Register the warmup targets.
+     *
+     * @param warmup The warmup to configure.
+     */
+    void configure(Warmup warmup);
+}
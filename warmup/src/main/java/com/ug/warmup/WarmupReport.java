@@ -0,0 +1,44 @@
+package com.ug.warmup;
+
+import java.time.Duration;
+
+/**
+ * Result of a warmup run.
+ */
+public class WarmupReport {
+    private final int targets;
+    private final long iterations;
+    private final long errors;
+    private final Duration elapsed;
+
+    public WarmupReport(int targets, long iterations, long errors, Duration elapsed) {
+        this.targets = targets;
+        this.iterations = iterations;
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    public int getTargets() {
+        return this.targets;
+    }
+
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Get the number of iterations which failed, such as the invalid payloads sent on purpose to warm error paths.
+     */
+    public long getErrors() {
+        return this.errors;
+    }
+
+    public Duration getElapsed() {
+        return this.elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "targets=" + this.targets + " iterations=" + this.iterations + " errors=" + this.errors + " elapsed=" + this.elapsed.toMillis() + "ms";
+    }
+}
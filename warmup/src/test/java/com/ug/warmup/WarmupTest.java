@@ -0,0 +1,88 @@
+package com.ug.warmup;
+
+import com.ug.exception.BadRequestContentException;
+import com.ug.exception.BaseException;
+import com.ug.loadtest.PayloadSource;
+import com.ug.request.Request;
+import com.ug.response.Response;
+import com.ug.response.StatusCode;
+import com.ug.schema.RequestField;
+import com.ug.schema.RequestSchema;
+import com.ug.usecase.Usecase;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WarmupTest {
+    @RequestSchema({
+        @RequestField(name = "name"),
+        @RequestField(name = "address.city"),
+        @RequestField(name = "address.zip_code", required = false)
+    })
+    public static class CustomRequest extends Request {}
+
+    static final AtomicInteger executions = new AtomicInteger();
+
+    public static class CustomUsecase extends Usecase {
+        @Override
+        public void execute() throws BaseException {
+            executions.incrementAndGet();
+            if ("invalid".equals(this.getField("name"))) {
+                throw new BadRequestContentException(new HashMap<>(Map.of("name", "invalid.name")));
+            }
+            this.presentResponse(Response.create(true, StatusCode.OK.getValue(), "success.response", this.getRequestData()));
+        }
+    }
+
+    public static class CustomWarmupProvider implements WarmupProvider {
+        @Override
+        public void configure(Warmup warmup) {
+            warmup.withUsecase(CustomRequest::new, CustomUsecase::new, PayloadSource.cycle(List.of(
+                Map.of("name", "Ulrich", "address", Map.of("city", "Cotonou")),
+                Map.of("name", "invalid", "address", Map.of("city", "Cotonou", "zip_code", "229")),
+                Map.of("address", Map.of())
+            )));
+        }
+    }
+
+    @Test
+    public void shouldRunSyntheticPayloadsThroughUsecasesAndCountErrors() {
+        executions.set(0);
+        Warmup warmup = new Warmup().withIterations(300);
+        new CustomWarmupProvider().configure(warmup);
+        WarmupReport report = warmup.run();
+
+        assertEquals(1, report.getTargets());
+        assertEquals(300, report.getIterations());
+        // One payload out of three is rejected by the schema, another one by the usecase.
+        assertEquals(200, report.getErrors());
+        assertEquals(200, executions.get());
+        assertTrue(report.toString().contains("iterations=300"));
+    }
+
+    @Test
+    public void shouldOnlyValidateRegisteredRequests() {
+        executions.set(0);
+        WarmupReport report = new Warmup()
+            .withRequest(CustomRequest::new, PayloadSource.cycle(List.of(Map.of("name", "Ulrich", "address", Map.of("city", "Cotonou")))))
+            .withIterations(10)
+            .run();
+
+        assertEquals(10, report.getIterations());
+        assertEquals(0, report.getErrors());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void shouldRunTrainingWithGivenProviders() throws Exception {
+        executions.set(0);
+        TrainingRun.main(new String[]{CustomWarmupProvider.class.getName()});
+
+        assertTrue(executions.get() > 0);
+    }
+}